@@ -0,0 +1,174 @@
+package game.benchmark;
+
+import game.GameField;
+import game.board.DirectionRanges;
+import game.enums.Direction;
+import game.enums.PlayerSymbol;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH-сравнение скорости проверки направлений на поле 8х8:
+ * старый способ (выход за край поля определяется по исключению)
+ * и новый (по предвычисленным расстояниям до края поля).
+ * Одна операция - проверка всех направлений от всех ячеек всех заранее заполненных полей.
+ * Запуск: gradle :benchmarks:jmh -Pjmh.include=DirectionScanBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DirectionScanBenchmark {
+
+    /**
+     * Размер игрового поля.
+     */
+    private static final int FIELD_SIZE = 8;
+
+    /**
+     * Количество заранее заполненных полей.
+     */
+    private static final int FIXTURES_COUNT = 64;
+
+    /**
+     * Зерно генератора случайных чисел, чтобы поля были одинаковыми от запуска к запуску.
+     */
+    private static final long SEED = 42;
+
+    /**
+     * Длина выигрышной комбинации.
+     */
+    @Param({"3", "4", "5", "6", "7", "8"})
+    public int winLength;
+
+    /**
+     * Заранее заполненные поля.
+     */
+    private GameField[] fields;
+
+    /**
+     * Расстояния до края поля.
+     */
+    private DirectionRanges ranges;
+
+    /**
+     * Создание случайно заполненных полей.
+     */
+    @Setup
+    public void setUp() {
+        Random random = new Random(SEED + winLength);
+        fields = new GameField[FIXTURES_COUNT];
+        for (int i = 0; i < fields.length; i++) {
+            fields[i] = new GameField(FIELD_SIZE, winLength);
+            for (int row = 1; row <= FIELD_SIZE; row++) {
+                for (int column = 1; column <= FIELD_SIZE; column++) {
+                    int value = random.nextInt(3);
+                    if (value > 0) {
+                        fields[i].setTempSymbol(row, column, PlayerSymbol.values()[value - 1]);
+                    }
+                }
+            }
+        }
+        ranges = DirectionRanges.get(FIELD_SIZE);
+    }
+
+    /**
+     * Проверка всех направлений от всех ячеек старым способом.
+     *
+     * @param blackhole приёмник результатов, чтобы JIT не выбросил вычисления.
+     */
+    @Benchmark
+    public void scanWithExceptions(Blackhole blackhole) {
+        for (GameField field : fields) {
+            for (int row = 1; row <= FIELD_SIZE; row++) {
+                for (int column = 1; column <= FIELD_SIZE; column++) {
+                    for (Direction direction : Direction.values()) {
+                        blackhole.consume(checkWithExceptions(field, row, column, direction));
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Проверка всех направлений от всех ячеек по предвычисленным расстояниям.
+     *
+     * @param blackhole приёмник результатов, чтобы JIT не выбросил вычисления.
+     */
+    @Benchmark
+    public void scanWithRanges(Blackhole blackhole) {
+        for (GameField field : fields) {
+            for (int row = 1; row <= FIELD_SIZE; row++) {
+                for (int column = 1; column <= FIELD_SIZE; column++) {
+                    for (Direction direction : Direction.values()) {
+                        blackhole.consume(checkWithRanges(field, ranges, row, column, direction));
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Проверка направления так, как это делалось раньше: выход за край поля ловится исключением.
+     *
+     * @param field     поле.
+     * @param row       номер строки.
+     * @param column    номер столбца.
+     * @param direction направление.
+     * @return          true, если в направлении возможна выигрышная комбинация.
+     */
+    private static boolean checkWithExceptions(GameField field, int row, int column, Direction direction) {
+        for (int i = 1; i < field.getWinLength(); i++) {
+            row += direction.getRowStep();
+            column += direction.getColumnStep();
+            try {
+                if (field.getSymbolByCoordinates(row, column) == PlayerSymbol.O.getValue()) {
+                    return false;
+                }
+            } catch (Exception e) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Проверка направления по предвычисленному расстоянию до края поля.
+     *
+     * @param field     поле.
+     * @param ranges    расстояния до края поля.
+     * @param row       номер строки.
+     * @param column    номер столбца.
+     * @param direction направление.
+     * @return          true, если в направлении возможна выигрышная комбинация.
+     */
+    private static boolean checkWithRanges(GameField field, DirectionRanges ranges,
+                                           int row, int column, Direction direction) {
+        if (ranges.getReach(row, column, direction) < field.getWinLength() - 1) {
+            return false;
+        }
+        for (int i = 1; i < field.getWinLength(); i++) {
+            row += direction.getRowStep();
+            column += direction.getColumnStep();
+            if (field.getSymbolByCoordinates(row, column) == PlayerSymbol.O.getValue()) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
\ No newline at end of file
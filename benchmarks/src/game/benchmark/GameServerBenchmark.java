@@ -0,0 +1,314 @@
+package game.benchmark;
+
+import game.server.GameServer;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH-бенчмарк игрового сервера на том же компьютере.
+ * idleSessions: сколько памяти занимают простаивающие партии против случайного соперника, которые ждут хода
+ * клиента (состояние AWAITING_MOVE). Память на подключение и на партию выводится счётчиками
+ * bytesPerConnection и bytesPerSession, время - это время открытия всех партий вместе со сборками мусора.
+ * moveRoundTrip: время от отправки хода до следующего "TURN" при игре против случайного соперника.
+ * Поле задаётся параметром field в виде "размер/длина_комбинации".
+ * Запуск: gradle :benchmarks:jmh -Pjmh.include=GameServerBenchmark
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+public class GameServerBenchmark {
+
+    /**
+     * Поле партий: размер и длина выигрышной комбинации через "/".
+     */
+    @Param({"3/3", "8/5"})
+    public String field;
+
+    /**
+     * Количество простаивающих партий.
+     */
+    @Param({"10000"})
+    public int sessions;
+
+    /**
+     * Размер поля.
+     */
+    private int fieldSize;
+
+    /**
+     * Длина выигрышной комбинации.
+     */
+    private int winLength;
+
+    /**
+     * Игровой сервер.
+     */
+    private GameServer server;
+
+    /**
+     * Поток цикла обработки событий сервера.
+     */
+    private Thread serverThread;
+
+    /**
+     * Порт сервера.
+     */
+    private int port;
+
+    /**
+     * Запустить сервер.
+     */
+    @Setup(Level.Trial)
+    public void startServer() throws IOException {
+        String[] values = field.split("/");
+        fieldSize = Integer.parseInt(values[0]);
+        winLength = Integer.parseInt(values[1]);
+
+        server = new GameServer(0, 1);
+        serverThread = new Thread(() -> {
+            try {
+                server.run();
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        });
+        serverThread.start();
+        port = server.getPort();
+    }
+
+    /**
+     * Остановить сервер.
+     */
+    @TearDown(Level.Trial)
+    public void stopServer() throws InterruptedException {
+        server.stop();
+        serverThread.join();
+    }
+
+    /**
+     * Открыть простаивающие партии, замерить занятую ими память и закрыть их.
+     *
+     * @param footprint счётчики памяти.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 0)
+    @Measurement(iterations = 1)
+    public void idleSessions(Footprint footprint) throws Exception {
+        long heapEmpty = usedHeap();
+        List<SocketChannel> clients = new ArrayList<>();
+        for (int i = 0; i < sessions; i++) {
+            clients.add(SocketChannel.open(new InetSocketAddress("localhost", port)));
+        }
+        while (server.getConnectionsCount() < sessions) {
+            Thread.sleep(10);
+        }
+        long heapConnected = usedHeap();
+
+        // Клиент ходит первым, поэтому каждая партия остаётся ждать его хода.
+        byte[] play = ("PLAY " + fieldSize + " " + winLength + " random\n").getBytes(StandardCharsets.US_ASCII);
+        for (SocketChannel client : clients) {
+            client.write(ByteBuffer.wrap(play));
+        }
+        while (server.getSessionsCount() < sessions) {
+            Thread.sleep(10);
+        }
+        long heapPlaying = usedHeap();
+
+        footprint.bytesPerConnection = (heapConnected - heapEmpty) / sessions;
+        footprint.bytesPerSession = (heapPlaying - heapConnected) / sessions;
+
+        for (SocketChannel client : clients) {
+            client.close();
+        }
+        while (server.getConnectionsCount() > 0) {
+            Thread.sleep(10);
+        }
+    }
+
+    /**
+     * Сделать ход и дождаться хода соперника.
+     *
+     * @param client    клиент с идущей партией.
+     * @return          последняя прочитанная строка.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Warmup(iterations = 3, time = 1)
+    @Measurement(iterations = 5, time = 1)
+    public String moveRoundTrip(Client client) throws IOException {
+        return client.move();
+    }
+
+    /**
+     * Занятая память кучи после сборки мусора.
+     *
+     * @return байт.
+     */
+    private static long usedHeap() throws InterruptedException {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(50);
+        }
+        return Runtime.getRuntime().totalMemory() - Runtime.getRuntime().freeMemory();
+    }
+
+    /**
+     * Память, которую занимают простаивающие подключения и партии.
+     */
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Footprint {
+
+        /**
+         * Байт на подключение без партии (сервер и клиент).
+         */
+        public long bytesPerConnection;
+
+        /**
+         * Байт на партию сверх подключения: поле, игроки и сессия.
+         */
+        public long bytesPerSession;
+    }
+
+    /**
+     * Клиент, играющий против случайного соперника: ходит в первую свободную ячейку.
+     */
+    @State(Scope.Thread)
+    public static class Client {
+
+        /**
+         * Подключение к серверу.
+         */
+        private Socket socket;
+
+        /**
+         * Строки от сервера.
+         */
+        private BufferedReader input;
+
+        /**
+         * Строки серверу.
+         */
+        private PrintWriter output;
+
+        /**
+         * Параметры партии для команды PLAY.
+         */
+        private String play;
+
+        /**
+         * Размер поля.
+         */
+        private int fieldSize;
+
+        /**
+         * Занятые ячейки текущей партии.
+         */
+        private boolean[] occupied;
+
+        /**
+         * Идёт ли партия, в которой сервер ждёт хода клиента.
+         */
+        private boolean isPlaying;
+
+        /**
+         * Подключиться к серверу.
+         *
+         * @param benchmark состояние бенчмарка с запущенным сервером.
+         */
+        @Setup(Level.Trial)
+        public void connect(GameServerBenchmark benchmark) throws IOException {
+            socket = new Socket("localhost", benchmark.port);
+            socket.setTcpNoDelay(true);
+            input = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+            output = new PrintWriter(socket.getOutputStream(), true, StandardCharsets.US_ASCII);
+            input.readLine();
+            play = "PLAY " + benchmark.fieldSize + " " + benchmark.winLength + " random";
+            fieldSize = benchmark.fieldSize;
+            occupied = new boolean[fieldSize * fieldSize];
+        }
+
+        /**
+         * Начать новую партию, если предыдущая закончилась (вне замера).
+         */
+        @Setup(Level.Invocation)
+        public void startGame() throws IOException {
+            if (isPlaying) {
+                return;
+            }
+            occupied = new boolean[occupied.length];
+            output.println(play);
+            isPlaying = "TURN".equals(readUntilTurn());
+        }
+
+        /**
+         * Отключиться от сервера.
+         */
+        @TearDown(Level.Trial)
+        public void disconnect() throws IOException {
+            socket.close();
+        }
+
+        /**
+         * Сделать ход в первую свободную ячейку и дождаться следующего "TURN" или конца партии.
+         *
+         * @return последняя прочитанная строка.
+         */
+        String move() throws IOException {
+            int cell = 0;
+            while (occupied[cell]) {
+                cell++;
+            }
+            output.println((cell / fieldSize + 1) + " " + (cell % fieldSize + 1));
+            String line = readUntilTurn();
+            isPlaying = "TURN".equals(line);
+            return line;
+        }
+
+        /**
+         * Читать строки сервера, отмечая ходы, до "TURN" или конца партии.
+         *
+         * @return последняя прочитанная строка, либо null, если сервер отключился.
+         */
+        private String readUntilTurn() throws IOException {
+            String line;
+            while ((line = input.readLine()) != null) {
+                if (line.startsWith("MOVE ")) {
+                    String[] values = line.split(" ");
+                    occupied[(Integer.parseInt(values[2]) - 1) * fieldSize + Integer.parseInt(values[3]) - 1] = true;
+                } else if (line.equals("TURN") || line.startsWith("WIN") || line.equals("DRAW")
+                        || line.startsWith("ERROR") || line.equals("ABORTED")) {
+                    return line;
+                }
+            }
+            return null;
+        }
+    }
+}
\ No newline at end of file
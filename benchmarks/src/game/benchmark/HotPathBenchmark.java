@@ -0,0 +1,241 @@
+package game.benchmark;
+
+import game.GameField;
+import game.engine.GameEngine;
+import game.enums.PlayerSymbol;
+import game.interfaces.Player;
+import game.players.ComputerPlayer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH-бенчмарк основных операций: isWin, setSymbol, isFieldFull, ход ComputerPlayer (без паузы)
+ * и партия ComputerPlayer против ComputerPlayer. Позиции и ходы строятся генератором с фиксированным зерном,
+ * поэтому от запуска к запуску измеряется одна и та же работа. Одна операция - проход по всем позициям
+ * (для setSymbol - заполнение всего поля, для fullGame - одна партия).
+ * Проверяются все поля консольной игры: параметр field - пара "размер/длина_комбинации",
+ * размер от 3 до 8, длина от 3 до размера поля.
+ * Запуск: gradle :benchmarks:jmh (результаты сохраняются в JSON, -rf json)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HotPathBenchmark {
+
+    /**
+     * Количество заранее заполненных позиций.
+     */
+    private static final int FIXTURES_COUNT = 64;
+
+    /**
+     * Зерно генератора случайных чисел, чтобы позиции были одинаковыми от запуска к запуску.
+     */
+    private static final long SEED = 42;
+
+    /**
+     * Поле: размер и длина выигрышной комбинации через "/".
+     */
+    @Param({"3/3", "4/3", "4/4", "5/3", "5/4", "5/5", "6/3", "6/4", "6/5", "6/6", "7/3", "7/4", "7/5", "7/6",
+            "7/7", "8/3", "8/4", "8/5", "8/6", "8/7", "8/8"})
+    public String field;
+
+    /**
+     * Размер игрового поля.
+     */
+    private int size;
+
+    /**
+     * Длина выигрышной комбинации.
+     */
+    private int winLength;
+
+    /**
+     * Заранее заполненные позиции.
+     */
+    private GameField[] fixtures;
+
+    /**
+     * Случайный порядок заполнения поля.
+     */
+    private int[] moveOrder;
+
+    /**
+     * Пустое поле для заполнения через setSymbol.
+     */
+    private GameField emptyField;
+
+    /**
+     * Игроки для позиций: каждый ходит за того, чья очередь в своей позиции.
+     */
+    private ComputerPlayer[] players;
+
+    /**
+     * Поле партии.
+     */
+    private GameField gameField;
+
+    /**
+     * Игровой движок для партии.
+     */
+    private GameEngine engine;
+
+    /**
+     * Построить позиции, порядок ходов и игроков для текущих параметров.
+     */
+    @Setup
+    public void setUp() {
+        String[] values = field.split("/");
+        size = Integer.parseInt(values[0]);
+        winLength = Integer.parseInt(values[1]);
+        fixtures = createFixtures(size, winLength);
+        moveOrder = createMoveOrder(size, winLength);
+        emptyField = new GameField(size, winLength);
+        players = createPlayers(fixtures);
+        gameField = new GameField(size, winLength);
+        engine = new GameEngine(gameField,
+                new ComputerPlayer(PlayerSymbol.X, gameField, 0, SEED),
+                new ComputerPlayer(PlayerSymbol.O, gameField, 0, SEED + 1));
+    }
+
+    /**
+     * Проверка выигрыша обоих игроков во всех позициях.
+     *
+     * @param blackhole приёмник результатов, чтобы JIT не выбросил вычисления.
+     */
+    @Benchmark
+    public void isWin(Blackhole blackhole) {
+        for (GameField position : fixtures) {
+            blackhole.consume(position.isWin(PlayerSymbol.X.getValue()));
+            blackhole.consume(position.isWin(PlayerSymbol.O.getValue()));
+        }
+    }
+
+    /**
+     * Заполнение пустого поля символами через setSymbol, затем очистка.
+     *
+     * @param blackhole приёмник результатов, чтобы JIT не выбросил вычисления.
+     */
+    @Benchmark
+    public void setSymbol(Blackhole blackhole) {
+        PlayerSymbol symbol = PlayerSymbol.X;
+        for (int move : moveOrder) {
+            blackhole.consume(emptyField.setSymbol(symbol, move));
+            symbol = PlayerSymbol.getOpponentSymbol(symbol);
+        }
+        emptyField.initialize();
+    }
+
+    /**
+     * Проверка заполненности всех позиций.
+     *
+     * @param blackhole приёмник результатов, чтобы JIT не выбросил вычисления.
+     */
+    @Benchmark
+    public void isFieldFull(Blackhole blackhole) {
+        for (GameField position : fixtures) {
+            blackhole.consume(position.isFieldFull());
+        }
+    }
+
+    /**
+     * Выбор хода ComputerPlayer во всех позициях (ход не делается, позиции не меняются).
+     *
+     * @param blackhole приёмник результатов, чтобы JIT не выбросил вычисления.
+     */
+    @Benchmark
+    public void computerMove(Blackhole blackhole) {
+        for (ComputerPlayer player : players) {
+            blackhole.consume(player.makeMove());
+        }
+    }
+
+    /**
+     * Партия ComputerPlayer против ComputerPlayer с пустого поля.
+     *
+     * @return победивший игрок, либо null при ничьей.
+     */
+    @Benchmark
+    public Player fullGame() {
+        gameField.initialize();
+        return engine.play();
+    }
+
+    /**
+     * Создание случайных позиций из партии: символы ставятся по очереди в случайные свободные ячейки,
+     * пока не будет занята примерно половина поля или кто-то не выиграет.
+     *
+     * @param size      размер игрового поля.
+     * @param winLength длина выигрышной комбинации.
+     * @return          массив полей.
+     */
+    private static GameField[] createFixtures(int size, int winLength) {
+        Random random = new Random(SEED * 31 + size * 10 + winLength);
+        GameField[] fields = new GameField[FIXTURES_COUNT];
+        for (int i = 0; i < fields.length; i++) {
+            fields[i] = new GameField(size, winLength);
+            int stones = random.nextInt(size * size / 2 + 1);
+            PlayerSymbol symbol = PlayerSymbol.X;
+            for (int stone = 0; stone < stones; stone++) {
+                int move = fields[i].getFreeCell(random.nextInt(fields[i].getFreeCellsCount()));
+                int row = fields[i].getRow(move);
+                int column = fields[i].getColumn(move);
+                if (fields[i].isWinningMove(row, column, symbol)) {
+                    break;
+                }
+                fields[i].setTempSymbol(row, column, symbol);
+                symbol = PlayerSymbol.getOpponentSymbol(symbol);
+            }
+        }
+        return fields;
+    }
+
+    /**
+     * Случайный порядок заполнения поля.
+     *
+     * @param size      размер игрового поля.
+     * @param winLength длина выигрышной комбинации.
+     * @return          перестановка номеров ячеек.
+     */
+    private static int[] createMoveOrder(int size, int winLength) {
+        Random random = new Random(SEED * 17 + size * 10 + winLength);
+        int[] moves = new int[size * size];
+        for (int i = 0; i < moves.length; i++) {
+            int j = random.nextInt(i + 1);
+            moves[i] = moves[j];
+            moves[j] = i;
+        }
+        return moves;
+    }
+
+    /**
+     * Игроки для позиций: каждый ходит за того, чья очередь в своей позиции.
+     *
+     * @param fixtures  позиции.
+     * @return          игроки.
+     */
+    private static ComputerPlayer[] createPlayers(GameField[] fixtures) {
+        ComputerPlayer[] players = new ComputerPlayer[fixtures.length];
+        for (int i = 0; i < fixtures.length; i++) {
+            int stones = fixtures[i].getFieldSize() * fixtures[i].getFieldSize() - fixtures[i].getFreeCellsCount();
+            PlayerSymbol symbol = stones % 2 == 0 ? PlayerSymbol.X : PlayerSymbol.O;
+            players[i] = new ComputerPlayer(symbol, fixtures[i], 0, SEED + i);
+        }
+        return players;
+    }
+}
\ No newline at end of file
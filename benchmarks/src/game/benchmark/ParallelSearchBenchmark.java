@@ -0,0 +1,213 @@
+package game.benchmark;
+
+import game.GameField;
+import game.ai.NegamaxSearch;
+import game.ai.ParallelSearch;
+import game.ai.TranspositionTable;
+import game.enums.PlayerSymbol;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH-сравнение однопоточного NegamaxSearch и параллельного поиска с разным количеством потоков
+ * на полях 7х7 и 8х8. Одна операция - поиск лучшего хода в одной из заранее созданных случайных позиций
+ * (позиции перебираются по кругу, таблица транспозиций перед каждым поиском очищается).
+ * Результат - найденных ходов в секунду, счётчик nodes - просмотренных позиций в секунду.
+ * Запуск: gradle :benchmarks:jmh -Pjmh.include=ParallelSearchBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParallelSearchBenchmark {
+
+    /**
+     * Количество позиций.
+     */
+    private static final int POSITIONS_COUNT = 4;
+
+    /**
+     * Количество символов, расставленных в каждой позиции.
+     */
+    private static final int STONES_COUNT = 6;
+
+    /**
+     * Зерно генератора случайных чисел.
+     */
+    private static final long SEED = 42;
+
+    /**
+     * Размер таблицы транспозиций (логарифм количества записей по основанию 2).
+     */
+    private static final int TABLE_SIZE_BITS = 20;
+
+    /**
+     * Поле: размер и длина выигрышной комбинации через "/".
+     */
+    @Param({"7/4", "8/4", "8/5"})
+    public String field;
+
+    /**
+     * Глубина поиска.
+     */
+    @Param({"5"})
+    public int depth;
+
+    /**
+     * Позиции (ходит X).
+     */
+    private GameField[] positions;
+
+    /**
+     * Однопоточный поиск для каждой позиции.
+     */
+    private NegamaxSearch[] searches;
+
+    /**
+     * Общая таблица транспозиций.
+     */
+    private TranspositionTable table;
+
+    /**
+     * Номер позиции для следующей операции.
+     */
+    private int index;
+
+    /**
+     * Создание случайных позиций.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        String[] values = field.split("/");
+        int fieldSize = Integer.parseInt(values[0]);
+        int winLength = Integer.parseInt(values[1]);
+        Random random = new Random(SEED + fieldSize * 10L + winLength);
+        table = new TranspositionTable(TABLE_SIZE_BITS);
+        positions = new GameField[POSITIONS_COUNT];
+        searches = new NegamaxSearch[POSITIONS_COUNT];
+
+        for (int i = 0; i < positions.length; i++) {
+            positions[i] = new GameField(fieldSize, winLength);
+            int placed = 0;
+            while (placed < STONES_COUNT) {
+                int row = random.nextInt(fieldSize) + 1;
+                int column = random.nextInt(fieldSize) + 1;
+                if (!positions[i].isCellOccupied(row, column)
+                        && !positions[i].isWinningMove(row, column, PlayerSymbol.values()[placed % 2])) {
+                    positions[i].setTempSymbol(row, column, PlayerSymbol.values()[placed % 2]);
+                    placed++;
+                }
+            }
+            searches[i] = new NegamaxSearch(positions[i], table);
+        }
+    }
+
+    /**
+     * Перейти к следующей позиции и очистить таблицу транспозиций (вне замера).
+     */
+    @Setup(Level.Invocation)
+    public void nextPosition() {
+        index = (index + 1) % POSITIONS_COUNT;
+        table.clear();
+    }
+
+    /**
+     * Однопоточный поиск.
+     *
+     * @param counters  счётчики просмотренных позиций.
+     * @return          найденный ход.
+     */
+    @Benchmark
+    public int sequential(Nodes counters) {
+        NegamaxSearch search = searches[index];
+        int move = search.findBestMove(PlayerSymbol.X, depth, Long.MAX_VALUE);
+        counters.nodes += search.getNodes();
+        return move;
+    }
+
+    /**
+     * Параллельный поиск.
+     *
+     * @param pool      параллельные поиски с заданным количеством потоков.
+     * @param counters  счётчики просмотренных позиций.
+     * @return          найденный ход.
+     */
+    @Benchmark
+    public int parallel(Pool pool, Nodes counters) {
+        ParallelSearch search = pool.searches[index];
+        int move = search.findBestMove(PlayerSymbol.X, depth, Long.MAX_VALUE);
+        counters.nodes += search.getNodes();
+        return move;
+    }
+
+    /**
+     * Параллельные поиски для каждой позиции.
+     */
+    @State(Scope.Thread)
+    public static class Pool {
+
+        /**
+         * Количество потоков параллельного поиска.
+         */
+        @Param({"1", "2", "4"})
+        public int threads;
+
+        /**
+         * Параллельный поиск для каждой позиции.
+         */
+        private ParallelSearch[] searches;
+
+        /**
+         * Создать параллельные поиски.
+         *
+         * @param benchmark состояние бенчмарка с позициями.
+         */
+        @Setup(Level.Trial)
+        public void setUp(ParallelSearchBenchmark benchmark) {
+            searches = new ParallelSearch[POSITIONS_COUNT];
+            for (int i = 0; i < searches.length; i++) {
+                searches[i] = new ParallelSearch(benchmark.positions[i], benchmark.table, threads);
+            }
+        }
+
+        /**
+         * Остановить потоки поисков.
+         */
+        @TearDown(Level.Trial)
+        public void shutdown() {
+            for (ParallelSearch search : searches) {
+                search.shutdown();
+            }
+        }
+    }
+
+    /**
+     * Счётчик просмотренных позиций.
+     */
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class Nodes {
+
+        /**
+         * Количество просмотренных позиций.
+         */
+        public long nodes;
+    }
+}
\ No newline at end of file
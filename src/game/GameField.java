@@ -1,9 +1,20 @@
 package game;
 
+import game.board.BitBoard;
+import game.board.BoardSymmetry;
+import game.board.FreeCells;
+import game.board.LineIndex;
+import game.board.CandidateCells;
+import game.board.ThreatTracker;
+import game.board.ZobristKeys;
+import game.enums.MoveResult;
 import game.enums.PlayerSymbol;
+import game.metrics.Metrics;
 
 /**
  * Игровое поле
+ * Ход кодируется номером ячейки: (строка - 1) * размер поля + (столбец - 1).
+ * Строковая запись координат ("2 3") используется только при вводе и выводе в консоль.
  */
 public class GameField {
 
@@ -12,6 +23,11 @@ public class GameField {
      */
     private char[][] field;
 
+    /**
+     * Значение для некорректного или отсутствующего хода.
+     */
+    public static final int INVALID_MOVE = -1;
+
     /**
      * Значение для пустой ячейки
      */
@@ -27,6 +43,49 @@ public class GameField {
      */
     private final int WIN_LENGTH;
 
+    /**
+     * Битовое представление поля, используется для быстрых проверок.
+     */
+    private final BitBoard BIT_BOARD;
+
+    /**
+     * Счётчики символов в выигрышных линиях, пересчитываются при каждой постановке и удалении символа.
+     */
+    private final ThreatTracker THREATS;
+
+    /**
+     * Свободные ячейки поля.
+     */
+    private final FreeCells FREE_CELLS;
+
+    /**
+     * Свободные ячейки рядом с символами - кандидаты для хода, либо null, пока их никто не запрашивал
+     * (обновление стоит (2 * d + 1)^2 операций на ход, и полям без поиска оно не нужно).
+     */
+    private CandidateCells candidates;
+
+    /**
+     * Ключи Зобриста для хеширования позиции.
+     */
+    private final ZobristKeys ZOBRIST_KEYS;
+
+    /**
+     * Симметрии поля.
+     */
+    private final BoardSymmetry SYMMETRY;
+
+    /**
+     * Хеш Зобриста текущей позиции.
+     */
+    private long hash;
+
+    /**
+     * Хеши текущей позиции, повёрнутой или отражённой каждым из преобразований BoardSymmetry
+     * (элемент 0 - хеш самой позиции), либо null, пока их никто не запрашивал: обновление стоит
+     * TRANSFORMS_COUNT операций на ход, а нужны они только поиску и дебютной книге.
+     */
+    private long[] symmetricHashes;
+
     /**
      * Конструктор
      *
@@ -36,19 +95,69 @@ public class GameField {
     public GameField(int fieldSize, int winLength) {
         this.FIELD_SIZE = fieldSize;
         this.WIN_LENGTH = winLength;
+        this.BIT_BOARD = new BitBoard(fieldSize, winLength);
+        this.THREATS = new ThreatTracker(BIT_BOARD.getLineIndex());
+        this.FREE_CELLS = new FreeCells(fieldSize * fieldSize);
+        this.ZOBRIST_KEYS = ZobristKeys.get(fieldSize);
+        this.SYMMETRY = BoardSymmetry.get(fieldSize);
+        this.field = new char[fieldSize][fieldSize];
         initialize();
     }
 
+    /**
+     * Конструктор копирования: создаёт независимое поле с той же позицией.
+     *
+     * @param other копируемое игровое поле
+     */
+    public GameField(GameField other) {
+        this(other.FIELD_SIZE, other.WIN_LENGTH);
+        copyPosition(other);
+    }
+
+    /**
+     * Перенести позицию с другого поля того же размера. Меняются только ячейки, которые отличаются,
+     * так что поле, отстающее на несколько ходов, догоняет позицию за несколько обновлений.
+     *
+     * @param other поле, позиция которого копируется.
+     */
+    public void copyPosition(GameField other) {
+        for (int row = 1; row <= FIELD_SIZE; row++) {
+            for (int column = 1; column <= FIELD_SIZE; column++) {
+                char value = other.getSymbolByCoordinates(row, column);
+                if (value == getSymbolByCoordinates(row, column)) {
+                    continue;
+                }
+                PlayerSymbol symbol = PlayerSymbol.fromValue(value);
+                if (symbol != null) {
+                    setTempSymbol(row, column, symbol);
+                } else {
+                    removeTempSymbol(row, column);
+                }
+            }
+        }
+    }
+
     /**
      * Первоначальное заполнение игрового поля
      */
     public void initialize() {
-        field = new char[FIELD_SIZE][FIELD_SIZE];
         for (int i = 0; i < field.length; i++) {
             for (int j = 0; j < field[0].length; j++) {
                 field[i][j] = EMPTY_CELL;
             }
         }
+        BIT_BOARD.clear();
+        THREATS.clear();
+        FREE_CELLS.clear();
+        if (candidates != null) {
+            candidates.clear();
+        }
+        hash = 0;
+        if (symmetricHashes != null) {
+            for (int i = 0; i < symmetricHashes.length; i++) {
+                symmetricHashes[i] = 0;
+            }
+        }
     }
 
     /**
@@ -66,19 +175,42 @@ public class GameField {
     /**
      * Проставить символ игрока в нужное поле
      *
-     * @param symbol      символ игрока (Х или О)
-     * @param coordinates координаты в виде строки
-     *                    Координаты должны передаваться в виде строки с разделителем-пробелом, пример - "2 3".
-     * @return            true, если ход выполнен успешно, символ игрока проставлен в поле
+     * @param symbol    символ игрока (Х или О)
+     * @param move      номер ячейки (см. toMove)
+     * @return          true, если ход выполнен успешно, символ игрока проставлен в поле
+     */
+    public boolean setSymbol(PlayerSymbol symbol, int move) {
+        return placeAndCheck(symbol, move) != MoveResult.INVALID;
+    }
+
+    /**
+     * Проставить символ игрока в нужное поле и определить результат хода.
+     *
+     * @param symbol    символ игрока (Х или О)
+     * @param move      номер ячейки (см. toMove)
+     * @return          результат хода, либо MoveResult.INVALID, если ячейка за пределами поля или занята
      */
-    public boolean setSymbol(PlayerSymbol symbol, String coordinates) {
+    public MoveResult placeAndCheck(PlayerSymbol symbol, int move) {
+        if (move < 0 || move >= FIELD_SIZE * FIELD_SIZE) {
+            return MoveResult.INVALID;
+        }
+        return placeAndCheck(getRow(move), getColumn(move), symbol);
+    }
+
+    /**
+     * Разобрать ход, введённый в консоли.
+     *
+     * @param coordinates координаты в виде строки с разделителем-пробелом, пример - "2 3".
+     * @return            номер ячейки, либо INVALID_MOVE, если переданы некорректные координаты.
+     */
+    public int parseMove(String coordinates) {
 
         // Получаем массив, содержащий отдельно координату строки и столбца.
-        String[] coordinatesValues = coordinates.split(" ");
+        String[] coordinatesValues = coordinates.trim().split(" ");
 
         // Проверка. Если размер массива не 2, значит переданы некорректные координаты.
         if (coordinatesValues.length != 2) {
-            return false;
+            return INVALID_MOVE;
         }
 
         // Парсим координаты в числовой тип. Если в процессе парсинга возникает ошибка,
@@ -87,22 +219,73 @@ public class GameField {
         try {
             row = Integer.parseInt(coordinatesValues[0]);
             column = Integer.parseInt(coordinatesValues[1]);
-        } catch (Exception e) {
-            return false;
+        } catch (NumberFormatException e) {
+            return INVALID_MOVE;
         }
 
-        // Проверяем, не занята ли уже указанная ячейка.
-        try {
-            if (isCellOccupied(row, column)) {
-                return false;
-            }
-            // Заполняем указанную ячейку символом игрока.
-            field[row - 1][column - 1] = symbol.getValue();
-        } catch (Exception e) {
-            return false;
+        return isInsideField(row, column) ? toMove(row, column) : INVALID_MOVE;
+    }
+
+    /**
+     * Запись хода для вывода в консоль.
+     *
+     * @param move  номер ячейки.
+     * @return      координаты в виде строки с разделителем-пробелом, например - "2 3".
+     */
+    public String formatMove(int move) {
+        return getRow(move) + " " + getColumn(move);
+    }
+
+    /**
+     * Проставить символ игрока в ячейку и определить результат хода.
+     * Проверяются только линии, проходящие через новую ячейку, поэтому полный обход поля не нужен.
+     *
+     * @param row       номер строки.
+     * @param column    номер столбца.
+     * @param symbol    символ игрока.
+     * @return          результат хода, либо MoveResult.INVALID, если ячейка за пределами поля или занята.
+     */
+    public MoveResult placeAndCheck(int row, int column, PlayerSymbol symbol) {
+        if (!isInsideField(row, column) || isCellOccupied(row, column)) {
+            return MoveResult.INVALID;
         }
 
-        return true;
+        // Заполняем указанную ячейку символом игрока.
+        setTempSymbol(row, column, symbol);
+
+        if (isWinningMove(row, column, symbol)) {
+            return MoveResult.WIN;
+        }
+        return isFieldFull() ? MoveResult.DRAW : MoveResult.CONTINUE;
+    }
+
+    /**
+     * Проверка, образует ли символ игрока в указанной ячейке выигрышную комбинацию.
+     * Сама ячейка считается занятой символом игрока, независимо от того, что в ней стоит сейчас,
+     * поэтому метод подходит и для проверки уже сделанного хода, и для оценки возможного.
+     * Проверяются только линии из LineIndex, проходящие через ячейку.
+     *
+     * @param row       номер строки.
+     * @param column    номер столбца.
+     * @param symbol    символ игрока.
+     * @return          true, если через ячейку проходит выигрышная комбинация.
+     */
+    public boolean isWinningMove(int row, int column, PlayerSymbol symbol) {
+        if (Metrics.ENABLED) {
+            Metrics.WIN_CHECKS.increment();
+        }
+        return BIT_BOARD.isWinningMove(toMove(row, column), symbol);
+    }
+
+    /**
+     * Проверка, находится ли ячейка в пределах поля.
+     *
+     * @param row       номер строки.
+     * @param column    номер столбца.
+     * @return          true, если ячейка в пределах поля.
+     */
+    public boolean isInsideField(int row, int column) {
+        return row >= 1 && row <= FIELD_SIZE && column >= 1 && column <= FIELD_SIZE;
     }
 
     /**
@@ -122,128 +305,73 @@ public class GameField {
      * @return true, если поле полностью заполнено символами игроков
      */
     public boolean isFieldFull() {
-        for (char[] row : field) {
-            for (char cell : row) {
-                if (cell == EMPTY_CELL) {
-                    return false;
-                }
-            }
-        }
-        return true;
+        return FREE_CELLS.isEmpty();
     }
 
     /**
-     * Проверка, присутствует ли на поле выигрышная комбинация
+     * Геттер.
      *
-     * @param symbol    символ игрока
-     * @return          true, если выигрышная комбинация присутствует на поле
+     * @return количество свободных ячеек.
      */
-    public boolean isWin(char symbol) {
-        for (int i = 0; i < FIELD_SIZE; i++) {
-            for (int j = 0; j < FIELD_SIZE; j++) {
-                if (checkUpRightDiagonal(i, j, symbol) || checkDownRightDiagonal(i, j, symbol)
-                        || checkRightDirection(i, j, symbol) || checkDownDirection(i, j, symbol)) {
-                    return true;
-                }
-            }
-        }
-        return false;
+    public int getFreeCellsCount() {
+        return FREE_CELLS.getCount();
     }
 
     /**
-     * Проверяем наличие выигрышной комбинации по направлению вверх и вправо от указанной ячейки
+     * Свободная ячейка по её позиции в множестве свободных ячеек.
+     * Порядок ячеек произвольный и меняется после каждого хода; для случайного хода достаточно
+     * взять getFreeCell(random.nextInt(getFreeCellsCount())).
      *
-     * @param x         координата ячейки x
-     * @param y         координата ячейки y
-     * @param symbol    символ игрока
-     * @return          true, если нашли выигрышную комбинацию
-     */
-    private boolean checkUpRightDiagonal(int x, int y, char symbol) {
-        int symbolCounter = 0;
-        for (int i = 0; i < WIN_LENGTH; i++) {
-            try {
-                if (field[x++][y++] == symbol) {
-                    symbolCounter++;
-                }
-            } catch (Exception e) {
-                // Если вылетела ошибка - значит вышли за пределы поля,
-                // выигрышной комбинации нет в этом направлении
-                return false;
-            }
-        }
-        return symbolCounter == WIN_LENGTH;
+     * @param index позиция от 0 до getFreeCellsCount() - 1.
+     * @return      номер ячейки (см. toMove).
+     */
+    public int getFreeCell(int index) {
+        return FREE_CELLS.get(index);
     }
 
     /**
-     * Проверяем наличие выигрышной комбинации по направлению вниз и вправо от указанной ячейки
+     * Проверка, присутствует ли на поле выигрышная комбинация
      *
-     * @param x         координата ячейки x
-     * @param y         координата ячейки y
      * @param symbol    символ игрока
-     * @return          true, если нашли выигрышную комбинацию
-     */
-    private boolean checkDownRightDiagonal(int x, int y, char symbol) {
-        int symbolCounter = 0;
-        for (int i = 0; i < WIN_LENGTH; i++) {
-            try {
-                if (field[x++][y--] == symbol) {
-                    symbolCounter++;
-                }
-            } catch (Exception e) {
-                // Если вылетела ошибка - значит вышли за пределы поля,
-                // выигрышной комбинации нет в этом направлении
-                return false;
-            }
+     * @return          true, если выигрышная комбинация присутствует на поле
+     */
+    public boolean isWin(char symbol) {
+        if (Metrics.ENABLED) {
+            Metrics.WIN_CHECKS.increment();
         }
-        return symbolCounter == WIN_LENGTH;
+        PlayerSymbol playerSymbol = PlayerSymbol.fromValue(symbol);
+        return playerSymbol != null && BIT_BOARD.isWin(playerSymbol);
     }
 
     /**
-     * Проверяем наличие выигрышной комбинации по направлению вправо от указанной ячейки
+     * Номер ячейки, которым кодируется ход.
      *
-     * @param x         координата ячейки x
-     * @param y         координата ячейки y
-     * @param symbol    символ игрока
-     * @return          true, если нашли выигрышную комбинацию
-     */
-    private boolean checkRightDirection(int x, int y, char symbol) {
-        int symbolCounter = 0;
-        for (int i = 0; i < WIN_LENGTH; i++) {
-            try {
-                if (field[x++][y] == symbol) {
-                    symbolCounter++;
-                }
-            } catch (Exception e) {
-                // Если вылетела ошибка - значит вышли за пределы поля,
-                // выигрышной комбинации нет в этом направлении
-                return false;
-            }
-        }
-        return symbolCounter == WIN_LENGTH;
+     * @param row       номер строки.
+     * @param column    номер столбца.
+     * @return          номер ячейки (нумерация с нуля, построчно).
+     */
+    public int toMove(int row, int column) {
+        return (row - 1) * FIELD_SIZE + column - 1;
     }
 
     /**
-     * Проверяем наличие выигрышной комбинации по направлению вниз от указанной ячейки
+     * Номер строки по номеру ячейки.
      *
-     * @param x         координата ячейки x
-     * @param y         координата ячейки y
-     * @param symbol    символ игрока
-     * @return          true, если нашли выигрышную комбинацию
-     */
-    private boolean checkDownDirection(int x, int y, char symbol) {
-        int symbolCounter = 0;
-        for (int i = 0; i < WIN_LENGTH; i++) {
-            try {
-                if (field[x][y--] == symbol) {
-                    symbolCounter++;
-                }
-            } catch (Exception e) {
-                // Если вылетела ошибка - значит вышли за пределы поля,
-                // выигрышной комбинации нет в этом направлении
-                return false;
-            }
-        }
-        return symbolCounter == WIN_LENGTH;
+     * @param move  номер ячейки.
+     * @return      номер строки.
+     */
+    public int getRow(int move) {
+        return move / FIELD_SIZE + 1;
+    }
+
+    /**
+     * Номер столбца по номеру ячейки.
+     *
+     * @param move  номер ячейки.
+     * @return      номер столбца.
+     */
+    public int getColumn(int move) {
+        return move % FIELD_SIZE + 1;
     }
 
     /**
@@ -263,7 +391,18 @@ public class GameField {
      * @param symbol    символ игрока.
      */
     public void setTempSymbol(int row, int column, PlayerSymbol symbol) {
+        if (isCellOccupied(row, column)) {
+            removeTempSymbol(row, column);
+        }
+        int cell = toMove(row, column);
         field[row - 1][column - 1] = symbol.getValue();
+        BIT_BOARD.set(cell, symbol);
+        THREATS.place(cell, symbol);
+        FREE_CELLS.remove(cell);
+        if (candidates != null) {
+            candidates.place(cell);
+        }
+        updateHashes(cell, symbol);
     }
 
     /**
@@ -273,7 +412,55 @@ public class GameField {
      * @param column    номер столбца.
      */
     public void removeTempSymbol(int row, int column) {
+        PlayerSymbol symbol = PlayerSymbol.fromValue(field[row - 1][column - 1]);
+        if (symbol == null) {
+            return;
+        }
+        int cell = toMove(row, column);
         field[row - 1][column - 1] = EMPTY_CELL;
+        BIT_BOARD.remove(cell);
+        THREATS.remove(cell);
+        FREE_CELLS.add(cell);
+        if (candidates != null) {
+            candidates.remove(cell);
+        }
+        updateHashes(cell, symbol);
+    }
+
+    /**
+     * Добавить символ в ячейке к хешам позиции или убрать его оттуда (операция XOR обратима).
+     *
+     * @param cell      номер ячейки.
+     * @param symbol    символ игрока.
+     */
+    private void updateHashes(int cell, PlayerSymbol symbol) {
+        hash ^= ZOBRIST_KEYS.get(cell, symbol);
+        if (symmetricHashes != null) {
+            for (int transform = 0; transform < symmetricHashes.length; transform++) {
+                symmetricHashes[transform] ^= ZOBRIST_KEYS.get(SYMMETRY.toCanonical(cell, transform), symbol);
+            }
+        }
+    }
+
+    /**
+     * Хеши симметричных позиций. При первом вызове они считаются по текущей позиции,
+     * а дальше поле обновляет их при каждой постановке и удалении символа.
+     *
+     * @return хеши позиции для каждого преобразования BoardSymmetry.
+     */
+    private long[] getSymmetricHashes() {
+        if (symmetricHashes == null) {
+            symmetricHashes = new long[BoardSymmetry.TRANSFORMS_COUNT];
+            for (int cell = 0; cell < FIELD_SIZE * FIELD_SIZE; cell++) {
+                PlayerSymbol symbol = PlayerSymbol.fromValue(getSymbolByCoordinates(getRow(cell), getColumn(cell)));
+                if (symbol != null) {
+                    for (int transform = 0; transform < symmetricHashes.length; transform++) {
+                        symmetricHashes[transform] ^= ZOBRIST_KEYS.get(SYMMETRY.toCanonical(cell, transform), symbol);
+                    }
+                }
+            }
+        }
+        return symmetricHashes;
     }
 
     /**
@@ -287,6 +474,144 @@ public class GameField {
         return field[row - 1][column - 1];
     }
 
+    /**
+     * Геттер.
+     *
+     * @return хеш Зобриста текущей позиции.
+     */
+    public long getHash() {
+        return hash;
+    }
+
+    /**
+     * Хеш позиции с учётом того, чей ход.
+     *
+     * @param symbol    символ игрока, который ходит.
+     * @return          хеш позиции.
+     */
+    public long getHash(PlayerSymbol symbol) {
+        return hash ^ ZOBRIST_KEYS.getSideKey(symbol);
+    }
+
+    /**
+     * Хеш позиции, преобразованной одной из симметрий поля.
+     *
+     * @param transform номер преобразования BoardSymmetry.
+     * @return          хеш Зобриста преобразованной позиции.
+     */
+    public long getSymmetricHash(int transform) {
+        return getSymmetricHashes()[transform];
+    }
+
+    /**
+     * Номер преобразования, переводящего текущую позицию в каноническую (с наименьшим хешем).
+     *
+     * @return номер преобразования BoardSymmetry.
+     */
+    public int getCanonicalTransform() {
+        long[] hashes = getSymmetricHashes();
+        int canonical = 0;
+        for (int transform = 1; transform < hashes.length; transform++) {
+            if (hashes[transform] < hashes[canonical]) {
+                canonical = transform;
+            }
+        }
+        return canonical;
+    }
+
+    /**
+     * Хеш канонической позиции с учётом того, чей ход. Совпадает для всех позиций,
+     * получающихся друг из друга поворотами и отражениями поля.
+     *
+     * @param symbol    символ игрока, который ходит.
+     * @return          хеш канонической позиции.
+     */
+    public long getCanonicalHash(PlayerSymbol symbol) {
+        return getSymmetricHashes()[getCanonicalTransform()] ^ ZOBRIST_KEYS.getSideKey(symbol);
+    }
+
+    /**
+     * Битовая маска преобразований, переводящих текущую позицию в саму себя.
+     * Бит 0 (тождественное преобразование) установлен всегда.
+     *
+     * @return маска преобразований.
+     */
+    public int getStabilizer() {
+        long[] hashes = getSymmetricHashes();
+        int stabilizer = 0;
+        for (int transform = 0; transform < hashes.length; transform++) {
+            if (hashes[transform] == hashes[0]) {
+                stabilizer |= 1 << transform;
+            }
+        }
+        return stabilizer;
+    }
+
+    /**
+     * Геттер.
+     *
+     * @return индекс выигрышных линий поля.
+     */
+    public LineIndex getLineIndex() {
+        return BIT_BOARD.getLineIndex();
+    }
+
+    /**
+     * Геттер.
+     *
+     * @return счётчики символов в выигрышных линиях.
+     */
+    public ThreatTracker getThreats() {
+        return THREATS;
+    }
+
+    /**
+     * Свободные ячейки рядом с символами. При первом вызове множество строится по текущей позиции,
+     * а дальше поле обновляет его при каждой постановке и удалении символа.
+     *
+     * @return свободные ячейки рядом с символами.
+     */
+    public CandidateCells getCandidates() {
+        if (candidates == null) {
+            candidates = new CandidateCells(FIELD_SIZE, CandidateCells.DEFAULT_DISTANCE);
+            for (int cell = 0; cell < FIELD_SIZE * FIELD_SIZE; cell++) {
+                if (isCellOccupied(getRow(cell), getColumn(cell))) {
+                    candidates.place(cell);
+                }
+            }
+        }
+        return candidates;
+    }
+
+    /**
+     * Количество символов игрока в выигрышной линии.
+     *
+     * @param line      номер линии в LineIndex.
+     * @param symbol    символ игрока.
+     * @return          количество занятых игроком ячеек линии.
+     */
+    public int countInLine(int line, PlayerSymbol symbol) {
+        return BIT_BOARD.countInLine(line, symbol);
+    }
+
+    /**
+     * Геттер.
+     *
+     * @return симметрии поля.
+     */
+    public BoardSymmetry getSymmetry() {
+        return SYMMETRY;
+    }
+
+    /**
+     * Геттер.
+     *
+     * @return размер игрового поля.
+     */
+    public int getFieldSize() {
+        return FIELD_SIZE;
+    }
+
     /**
      * Геттер.
      *
@@ -1,10 +1,20 @@
 package game;
 
+import game.engine.GameEngine;
+import game.enums.MoveResult;
 import game.enums.PlayerSymbol;
+import game.interfaces.GameListener;
 import game.interfaces.Player;
+import game.metrics.MetricsReporter;
+import game.players.AlphaBetaPlayer;
 import game.players.ComputerPlayer;
 import game.players.HumanPlayer;
+import game.players.MonteCarloPlayer;
+import game.record.GameRecordWriter;
+import game.record.GameRecorder;
 
+import java.io.IOException;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Scanner;
@@ -22,11 +32,6 @@ public class TicTacToe {
      */
     private static final List<Player> PLAYERS = new ArrayList<>();
 
-    /**
-     * Флаг окончания игры, true - если игра окончена.
-     */
-    private static boolean isGameOver;
-
     /**
      * Экземпляр игрового поля.
      */
@@ -37,54 +42,93 @@ public class TicTacToe {
      * (минимальная длина выигрышной комбинации
      * также будет равна этому значению).
      */
-    private static final int MIN_FIELD_SIZE = 3;
+    public static final int MIN_FIELD_SIZE = 3;
 
     /**
      * Максимальный размер игрового поля.
      */
-    private static final int MAX_FIELD_SIZE = 8;
+    public static final int MAX_FIELD_SIZE = 8;
+
+    /**
+     * Журнал, в который дописываются сыгранные партии.
+     */
+    public static final String RECORD_FILE = "tictactoe-games.bin";
 
     /**
      * Точка старта приложения.
      */
     public static void main(String[] args) {
 
+        MetricsReporter.startIfEnabled();
+
         // Создаём игровое поле.
         init();
+        GameRecordWriter writer = openRecordWriter();
+        GameRecorder recorder = writer == null ? null : new GameRecorder(writer, field, PLAYERS.get(0), PLAYERS.get(1));
+
+        // Проводим партию, выводя в консоль ход игры.
+        GameEngine engine = new GameEngine(field, PLAYERS.get(0), PLAYERS.get(1), new GameListener() {
+            @Override
+            public void onTurn(Player player) {
+                if (!(player instanceof HumanPlayer)) {
+                    System.out.printf("Ходит %s...\n", player.getName());
+                }
+            }
 
-        // Игровой цикл продолжается до тех пор, пока isGameOver == false.
-        while (!isGameOver) {
-            for (Player player : PLAYERS) {
-                PlayerSymbol symbol = player.getSymbol();
-                String coordinates;
-                boolean isMoveSuccess;
-
-                // Цикл выбора координат.
-                // Продолжает работу до тех пор, пока игрок не введёт корректные координаты.
-                do {
-                    coordinates = player.makeMove();
-
-                    // Проверяем, успешно ли сделан ход.
-                    isMoveSuccess = field.setSymbol(symbol, coordinates);
-                } while (!isMoveSuccess);
-
+            @Override
+            public void onMove(Player player, int move, MoveResult result) {
                 // Отрисовываем игровое поле.
                 field.repaint();
-
-                // Проверяем, не выиграл ли игрок в результате своего хода.
-                if (field.isWin(symbol.getValue())) {
-                    isGameOver = true;
-                    System.out.printf("Конец игры. Побеждает %s.\n", player.getName());
-                    break;
+                if (recorder != null) {
+                    recorder.onMove(player, move, result);
                 }
+            }
 
-                // Проверяем, не заполнено ли игровое поле после хода игрока.
-                if (field.isFieldFull()) {
-                    isGameOver = true;
-                    System.out.println("Конец игры. Ничья.");
-                    break;
+            @Override
+            public void onForfeit(Player player) {
+                System.out.printf("%s не смог сделать корректный ход.\n", player.getName());
+                if (recorder != null) {
+                    recorder.onForfeit(player);
                 }
             }
+        });
+        Player winner = engine.play();
+        closeRecordWriter(writer);
+
+        if (winner != null) {
+            System.out.printf("Конец игры. Побеждает %s.\n", winner.getName());
+        } else {
+            System.out.println("Конец игры. Ничья.");
+        }
+    }
+
+    /**
+     * Открыть журнал партий. Если это не удалось, игра продолжается без записи.
+     *
+     * @return журнал партий, либо null.
+     */
+    private static GameRecordWriter openRecordWriter() {
+        try {
+            return new GameRecordWriter(Paths.get(RECORD_FILE));
+        } catch (IOException e) {
+            System.out.printf("Партия не будет записана: %s\n", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Закрыть журнал партий.
+     *
+     * @param writer журнал партий, либо null.
+     */
+    private static void closeRecordWriter(GameRecordWriter writer) {
+        if (writer == null) {
+            return;
+        }
+        try {
+            writer.close();
+        } catch (IOException e) {
+            System.out.printf("Не удалось записать партию: %s\n", e.getMessage());
         }
     }
 
@@ -113,17 +157,25 @@ public class TicTacToe {
         int gameMode = 0;
 
         do {
-            System.out.println("Выберите режим игры:\n1 - друг против друга.\n2 - против компьютера.");
+            System.out.println("Выберите режим игры:\n1 - друг против друга.\n2 - против компьютера."
+                    + "\n3 - против сильного компьютера.\n4 - против компьютера (метод Монте-Карло).");
             try {
                 gameMode = Integer.parseInt(scanner.nextLine());
             } catch (NumberFormatException e) {
                 // Игнорируем ошибку парсинга введённой строки в число.
             }
-        } while (gameMode < 1 || gameMode > 2);
-
-        PLAYERS.add(new HumanPlayer("Игрок 1", PlayerSymbol.X));
-        PLAYERS.add(gameMode == 1 ? new HumanPlayer("Игрок 2", PlayerSymbol.O)
-                : new ComputerPlayer(PlayerSymbol.O, field));
+        } while (gameMode < 1 || gameMode > 4);
+
+        PLAYERS.add(new HumanPlayer("Игрок 1", PlayerSymbol.X, field));
+        if (gameMode == 1) {
+            PLAYERS.add(new HumanPlayer("Игрок 2", PlayerSymbol.O, field));
+        } else if (gameMode == 2) {
+            PLAYERS.add(new ComputerPlayer(PlayerSymbol.O, field));
+        } else if (gameMode == 3) {
+            PLAYERS.add(new AlphaBetaPlayer(PlayerSymbol.O, field));
+        } else {
+            PLAYERS.add(new MonteCarloPlayer(PlayerSymbol.O, field));
+        }
     }
 
     /**
@@ -0,0 +1,324 @@
+package game.ai;
+
+import game.GameField;
+import game.enums.PlayerSymbol;
+
+import java.util.SplittableRandom;
+
+/**
+ * Поиск хода методом Монте-Карло по дереву (UCT).
+ * Каждая итерация спускается по дереву, выбирая ходы по формуле UCB1, добавляет в дерево один новый ход
+ * и доигрывает партию случайными ходами на PlayoutBoard, после чего результат поднимается к корню.
+ * Лучшим считается ход корня, который просматривался чаще всего.
+ * Ячейки нумеруются с нуля построчно: cell = (row - 1) * size + (column - 1).
+ */
+public class MonteCarloTreeSearch {
+
+    /**
+     * Коэффициент исследования по умолчанию.
+     */
+    public static final double DEFAULT_EXPLORATION = Math.sqrt(2);
+
+    /**
+     * Значение для отсутствующего хода.
+     */
+    public static final int NO_MOVE = -1;
+
+    /**
+     * Как часто (в итерациях) проверяется ограничение по времени.
+     */
+    private static final int TIME_CHECK_INTERVAL = 256;
+
+    /**
+     * Игровое поле.
+     */
+    private final GameField FIELD;
+
+    /**
+     * Поле для доигрываний.
+     */
+    private final PlayoutBoard BOARD;
+
+    /**
+     * Коэффициент исследования в формуле UCB1.
+     */
+    private final double EXPLORATION;
+
+    /**
+     * Генератор случайных чисел для выбора нового хода при расширении дерева.
+     */
+    private final SplittableRandom random;
+
+    /**
+     * Количество доигрываний, выполненных последним поиском.
+     */
+    private long playouts;
+
+    /**
+     * Длительность последнего поиска в наносекундах.
+     */
+    private long elapsedNanos;
+
+    /**
+     * Конструктор.
+     *
+     * @param field         игровое поле.
+     * @param exploration   коэффициент исследования в формуле UCB1.
+     * @param seed          зерно генератора случайных чисел.
+     */
+    public MonteCarloTreeSearch(GameField field, double exploration, long seed) {
+        this.FIELD = field;
+        this.BOARD = new PlayoutBoard(field.getFieldSize(), field.getWinLength(), seed);
+        this.EXPLORATION = exploration;
+        this.random = new SplittableRandom(seed ^ 0x9E3779B97F4A7C15L);
+    }
+
+    /**
+     * Найти лучший ход. Поиск останавливается по первому из исчерпанных ограничений,
+     * либо при прерывании потока (Thread.interrupt).
+     *
+     * @param symbol        символ игрока, который ходит.
+     * @param maxIterations ограничение на количество итераций.
+     * @param maxMillis     ограничение по времени в миллисекундах.
+     * @return              номер ячейки для хода, либо NO_MOVE, если свободных ячеек нет.
+     */
+    public int findBestMove(PlayerSymbol symbol, long maxIterations, long maxMillis) {
+        long start = System.nanoTime();
+        long deadline = start + maxMillis * 1_000_000;
+        playouts = 0;
+        elapsedNanos = 0;
+
+        int player = PlayoutBoard.toPlayer(symbol);
+        BOARD.load(FIELD);
+        BOARD.reset();
+        if (BOARD.getFreeCount() == 0) {
+            return NO_MOVE;
+        }
+
+        // Выигрышный ход делаем сразу.
+        for (int i = 0; i < BOARD.getFreeCount(); i++) {
+            if (BOARD.isWinningMove(BOARD.getFreeCell(i), player)) {
+                return BOARD.getFreeCell(i);
+            }
+        }
+
+        Node root = new Node(NO_MOVE, null, PlayoutBoard.opponent(player), false, BOARD);
+        for (long iteration = 0; iteration < maxIterations; iteration++) {
+            if (iteration % TIME_CHECK_INTERVAL == 0
+                    && (System.nanoTime() > deadline || Thread.currentThread().isInterrupted())) {
+                break;
+            }
+            runIteration(root);
+        }
+        elapsedNanos = System.nanoTime() - start;
+
+        // Поиск остановлен до первой итерации: ходим в любую свободную ячейку.
+        if (root.childrenCount == 0) {
+            return BOARD.getFreeCell(0);
+        }
+
+        Node best = root.children[0];
+        for (int i = 1; i < root.childrenCount; i++) {
+            if (root.children[i].visits > best.visits) {
+                best = root.children[i];
+            }
+        }
+        return best.MOVE;
+    }
+
+    /**
+     * Одна итерация поиска: выбор, расширение, доигрывание и обновление статистики.
+     *
+     * @param root корень дерева.
+     */
+    private void runIteration(Node root) {
+        BOARD.reset();
+        Node node = root;
+
+        // Выбор: спускаемся по полностью раскрытым узлам.
+        while (node.untriedCount == 0 && node.childrenCount > 0) {
+            node = selectChild(node);
+            BOARD.play(node.MOVE, node.PLAYER);
+        }
+
+        // Расширение: добавляем в дерево один ещё не опробованный ход.
+        if (!node.IS_TERMINAL && node.untriedCount > 0) {
+            int index = random.nextInt(node.untriedCount);
+            int move = node.untriedMoves[index];
+            node.untriedMoves[index] = node.untriedMoves[--node.untriedCount];
+
+            int player = PlayoutBoard.opponent(node.PLAYER);
+            boolean isWin = BOARD.isWinningMove(move, player);
+            BOARD.play(move, player);
+            node = node.addChild(new Node(move, node, player, isWin, BOARD));
+        }
+
+        // Доигрывание.
+        int winner;
+        if (node.IS_WIN) {
+            winner = node.PLAYER;
+        } else if (node.IS_TERMINAL) {
+            winner = PlayoutBoard.DRAW;
+        } else {
+            winner = BOARD.playout(PlayoutBoard.opponent(node.PLAYER));
+        }
+        playouts++;
+
+        // Обновление статистики от нового узла к корню.
+        while (node != null) {
+            node.visits++;
+            if (winner == node.PLAYER) {
+                node.wins += 1;
+            } else if (winner == PlayoutBoard.DRAW) {
+                node.wins += 0.5;
+            }
+            node = node.PARENT;
+        }
+    }
+
+    /**
+     * Выбор потомка по формуле UCB1.
+     *
+     * @param node  узел.
+     * @return      потомок с наибольшим значением UCB1.
+     */
+    private Node selectChild(Node node) {
+        double logVisits = Math.log(node.visits);
+        Node best = null;
+        double bestValue = Double.NEGATIVE_INFINITY;
+
+        for (int i = 0; i < node.childrenCount; i++) {
+            Node child = node.children[i];
+            double value = child.wins / child.visits + EXPLORATION * Math.sqrt(logVisits / child.visits);
+            if (value > bestValue) {
+                bestValue = value;
+                best = child;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Геттер.
+     *
+     * @return количество доигрываний, выполненных последним поиском.
+     */
+    public long getPlayouts() {
+        return playouts;
+    }
+
+    /**
+     * Геттер.
+     *
+     * @return время последнего поиска в наносекундах (0, если ход найден без доигрываний).
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Скорость последнего поиска.
+     *
+     * @return количество доигрываний в секунду.
+     */
+    public double getPlayoutsPerSecond() {
+        return elapsedNanos == 0 ? 0 : playouts * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    /**
+     * Узел дерева поиска.
+     */
+    private static class Node {
+
+        /**
+         * Ход, приведший в этот узел.
+         */
+        private final int MOVE;
+
+        /**
+         * Родительский узел.
+         */
+        private final Node PARENT;
+
+        /**
+         * Номер игрока, сделавшего ход MOVE. Статистика узла ведётся с его точки зрения.
+         */
+        private final int PLAYER;
+
+        /**
+         * true, если ход MOVE выиграл партию.
+         */
+        private final boolean IS_WIN;
+
+        /**
+         * true, если партия в этом узле окончена.
+         */
+        private final boolean IS_TERMINAL;
+
+        /**
+         * Ещё не опробованные ходы (первые untriedCount элементов).
+         */
+        private final int[] untriedMoves;
+
+        /**
+         * Количество не опробованных ходов.
+         */
+        private int untriedCount;
+
+        /**
+         * Потомки узла.
+         */
+        private final Node[] children;
+
+        /**
+         * Количество потомков.
+         */
+        private int childrenCount;
+
+        /**
+         * Количество посещений.
+         */
+        private int visits;
+
+        /**
+         * Сумма результатов: 1 за победу PLAYER, 0.5 за ничью.
+         */
+        private double wins;
+
+        /**
+         * Конструктор.
+         *
+         * @param move      ход, приведший в узел.
+         * @param parent    родительский узел.
+         * @param player    номер игрока, сделавшего ход.
+         * @param isWin     true, если ход выиграл партию.
+         * @param board     поле для доигрываний в состоянии после хода.
+         */
+        Node(int move, Node parent, int player, boolean isWin, PlayoutBoard board) {
+            this.MOVE = move;
+            this.PARENT = parent;
+            this.PLAYER = player;
+            this.IS_WIN = isWin;
+            this.IS_TERMINAL = isWin || board.getFreeCount() == 0;
+
+            int movesCount = IS_TERMINAL ? 0 : board.getFreeCount();
+            this.untriedMoves = new int[movesCount];
+            for (int i = 0; i < movesCount; i++) {
+                untriedMoves[i] = board.getFreeCell(i);
+            }
+            this.untriedCount = movesCount;
+            this.children = new Node[movesCount];
+        }
+
+        /**
+         * Добавить потомка.
+         *
+         * @param child потомок.
+         * @return      добавленный потомок.
+         */
+        Node addChild(Node child) {
+            children[childrenCount++] = child;
+            return child;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,616 @@
+package game.ai;
+
+import game.GameField;
+import game.board.BoardSymmetry;
+import game.board.CandidateCells;
+import game.board.DirectionRanges;
+import game.board.ThreatTracker;
+import game.enums.Direction;
+import game.enums.PlayerSymbol;
+
+/**
+ * Поиск лучшего хода алгоритмом негамакс с альфа-бета отсечением.
+ * Поиск идёт прямо по переданному игровому полю: ход ставится временным символом
+ * и убирается после оценки, копия поля не создаётся.
+ * Ячейки внутри поиска нумеруются с нуля построчно: cell = (row - 1) * size + (column - 1).
+ * Позиции, совпадающие с точностью до поворота или отражения поля, делят одну запись в таблице
+ * транспозиций, а из равноценных по симметрии ходов просматривается только один.
+ */
+public class NegamaxSearch {
+
+    /**
+     * Оценка выигранной позиции. Победа на ply-м полуходе оценивается как WIN_SCORE - ply,
+     * чтобы быстрые победы были предпочтительнее долгих.
+     */
+    public static final int WIN_SCORE = 1 << 29;
+
+    /**
+     * Значение для отсутствующего хода.
+     */
+    public static final int NO_MOVE = -1;
+
+    /**
+     * Значение ограничения по времени, означающее его отсутствие.
+     */
+    public static final long NO_TIME_LIMIT = -1;
+
+    /**
+     * Как часто (в позициях) проверяется ограничение по времени.
+     */
+    private static final int TIME_CHECK_MASK = 1023;
+
+    /**
+     * Игровое поле, на котором ведётся поиск.
+     */
+    private final GameField FIELD;
+
+    /**
+     * Размер игрового поля.
+     */
+    private final int SIZE;
+
+    /**
+     * Количество ячеек поля.
+     */
+    private final int CELLS_COUNT;
+
+    /**
+     * Таблица транспозиций.
+     */
+    private final TranspositionTable TABLE;
+
+    /**
+     * Расстояния от ячеек до краёв поля.
+     */
+    private final DirectionRanges RANGES;
+
+    /**
+     * Симметрии поля.
+     */
+    private final BoardSymmetry SYMMETRY;
+
+    /**
+     * Счётчики символов в линиях, которые поле ведёт инкрементально.
+     */
+    private final ThreatTracker THREATS;
+
+    /**
+     * Свободные ячейки рядом с символами, которые поле ведёт инкрементально, либо null.
+     * На малых полях окрестность символов покрывает почти всё поле, и полный перебор сохраняет
+     * точность поиска (например, для сверки с Tablebase), поэтому кандидаты у поля не запрашиваются
+     * и поле их не обновляет.
+     */
+    private final CandidateCells CANDIDATES;
+
+    /**
+     * Оценка близости ячейки к центру поля, используется для упорядочивания ходов.
+     */
+    private final int[] CENTER_SCORES;
+
+    /**
+     * Списки ходов для каждого полухода поиска (заводятся один раз, чтобы не выделять память в поиске).
+     */
+    private final int[][] moves;
+
+    /**
+     * Оценки ходов для упорядочивания, для каждого полухода поиска.
+     */
+    private final int[][] moveScores;
+
+    /**
+     * Ход-убийца для каждого полухода: последний ход, вызвавший отсечение на этой глубине.
+     */
+    private final int[] killers;
+
+    /**
+     * Ограничение на количество просмотренных позиций.
+     */
+    private long maxNodes;
+
+    /**
+     * Момент (по System.nanoTime), после которого поиск прерывается.
+     */
+    private long deadline;
+
+    /**
+     * Количество просмотренных позиций.
+     */
+    private long nodes;
+
+    /**
+     * Глубина последней полностью завершённой итерации.
+     */
+    private int completedDepth;
+
+    /**
+     * Флаг прерывания поиска, true - если исчерпан лимит позиций или времени.
+     */
+    private boolean isAborted;
+
+    /**
+     * Конструктор.
+     *
+     * @param field игровое поле.
+     * @param table таблица транспозиций.
+     */
+    public NegamaxSearch(GameField field, TranspositionTable table) {
+        this.FIELD = field;
+        this.TABLE = table;
+        this.SIZE = field.getFieldSize();
+        this.CELLS_COUNT = SIZE * SIZE;
+        this.RANGES = DirectionRanges.get(SIZE);
+        this.SYMMETRY = field.getSymmetry();
+        this.THREATS = field.getThreats();
+        this.CANDIDATES = SIZE > 2 * CandidateCells.DEFAULT_DISTANCE + 1 ? field.getCandidates() : null;
+        this.moves = new int[CELLS_COUNT + 1][CELLS_COUNT];
+        this.moveScores = new int[CELLS_COUNT + 1][CELLS_COUNT];
+        this.killers = new int[CELLS_COUNT + 1];
+
+        CENTER_SCORES = new int[CELLS_COUNT];
+        for (int cell = 0; cell < CELLS_COUNT; cell++) {
+            int row = cell / SIZE;
+            int column = cell % SIZE;
+            CENTER_SCORES[cell] = 2 * SIZE - Math.abs(2 * row - SIZE + 1) - Math.abs(2 * column - SIZE + 1);
+        }
+    }
+
+    /**
+     * Найти лучший ход без ограничения по времени.
+     *
+     * @param symbol    символ игрока, который ходит.
+     * @param depth     глубина поиска в полуходах.
+     * @param maxNodes  ограничение на количество просматриваемых позиций.
+     * @return          номер ячейки для хода, либо NO_MOVE, если свободных ячеек нет.
+     */
+    public int findBestMove(PlayerSymbol symbol, int depth, long maxNodes) {
+        return findBestMove(symbol, depth, maxNodes, NO_TIME_LIMIT);
+    }
+
+    /**
+     * Найти лучший ход итеративным углублением: поиск повторяется на глубину 1, 2, 3 и т.д.,
+     * пока не будет достигнута максимальная глубина или не исчерпаются лимиты позиций или времени.
+     * Возвращается лучший ход последней полностью завершённой итерации, поэтому поиск можно
+     * прервать в любой момент без потери качества хода. Лучший ход предыдущей итерации
+     * просматривается первым, а таблица транспозиций сохраняет результаты между итерациями.
+     *
+     * @param symbol    символ игрока, который ходит.
+     * @param maxDepth  максимальная глубина поиска в полуходах.
+     * @param maxNodes  ограничение на количество просматриваемых позиций за все итерации.
+     * @param maxMillis ограничение по времени в миллисекундах, либо NO_TIME_LIMIT.
+     * @return          номер ячейки для хода, либо NO_MOVE, если свободных ячеек нет.
+     */
+    public int findBestMove(PlayerSymbol symbol, int maxDepth, long maxNodes, long maxMillis) {
+        TABLE.newSearch();
+        startSearch(maxNodes, maxMillis == NO_TIME_LIMIT ? Long.MAX_VALUE : System.nanoTime() + maxMillis * 1_000_000);
+        completedDepth = 0;
+
+        int movesCount = generateRootMoves(symbol);
+        if (movesCount == 0) {
+            return NO_MOVE;
+        }
+
+        // Выигрышный ход сразу делаем, искать дальше незачем.
+        int winningMove = findWinningRootMove(symbol);
+        if (winningMove != NO_MOVE) {
+            return winningMove;
+        }
+
+        int[] rootMoves = moves[0];
+        int bestMove = rootMoves[0];
+
+        // Глубже, чем осталось свободных ячеек, искать бессмысленно.
+        int depthLimit = Math.min(maxDepth, FIELD.getFreeCellsCount());
+
+        for (int depth = 1; depth <= depthLimit; depth++) {
+            int iterationBestMove = rootMoves[0];
+            int alpha = -WIN_SCORE - 1;
+
+            for (int i = 0; i < movesCount; i++) {
+                int score = searchMove(rootMoves[i], symbol, depth, alpha, WIN_SCORE + 1);
+                if (isAborted) {
+                    break;
+                }
+                if (score > alpha) {
+                    alpha = score;
+                    iterationBestMove = rootMoves[i];
+                }
+            }
+
+            // Результат прерванной итерации неполный, оставляем ход предыдущей.
+            if (isAborted) {
+                break;
+            }
+            bestMove = iterationBestMove;
+            completedDepth = depth;
+
+            // Найденный форсированный выигрыш или проигрыш более глубокий поиск не изменит.
+            if (Math.abs(alpha) > WIN_SCORE - CELLS_COUNT - 1) {
+                break;
+            }
+
+            moveToFront(rootMoves, movesCount, bestMove);
+        }
+        return bestMove;
+    }
+
+    /**
+     * Переставить ход в начало списка, сохранив порядок остальных.
+     *
+     * @param rootMoves     список ходов.
+     * @param movesCount    количество ходов.
+     * @param move          ход.
+     */
+    private void moveToFront(int[] rootMoves, int movesCount, int move) {
+        for (int i = 0; i < movesCount; i++) {
+            if (rootMoves[i] == move) {
+                System.arraycopy(rootMoves, 0, rootMoves, 1, i);
+                rootMoves[0] = move;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Подготовка к новому поиску без ограничения по времени.
+     *
+     * @param maxNodes  ограничение на количество просматриваемых позиций.
+     */
+    public void startSearch(long maxNodes) {
+        startSearch(maxNodes, Long.MAX_VALUE);
+    }
+
+    /**
+     * Подготовка к новому поиску: сброс счётчика позиций, флага прерывания и ходов-убийц.
+     * Кроме лимитов, поиск прерывается и при прерывании потока (Thread.interrupt).
+     * Поколение таблицы транспозиций не меняется, поэтому несколько экземпляров поиска
+     * могут работать с общей таблицей в рамках одного хода.
+     *
+     * @param maxNodes  ограничение на количество просматриваемых позиций.
+     * @param deadline  момент (по System.nanoTime), после которого поиск прерывается.
+     */
+    public void startSearch(long maxNodes, long deadline) {
+        this.maxNodes = maxNodes;
+        this.deadline = deadline;
+        this.nodes = 0;
+        this.isAborted = false;
+        for (int i = 0; i < killers.length; i++) {
+            killers[i] = NO_MOVE;
+        }
+    }
+
+    /**
+     * Сформировать упорядоченный список ходов из текущей позиции.
+     *
+     * @param symbol    символ игрока, который ходит.
+     * @return          количество ходов, сами ходы доступны через getRootMove.
+     */
+    public int generateRootMoves(PlayerSymbol symbol) {
+        return generateMoves(0, getTableMove(symbol));
+    }
+
+    /**
+     * Ход из списка, сформированного generateRootMoves.
+     *
+     * @param index номер хода в списке.
+     * @return      номер ячейки.
+     */
+    public int getRootMove(int index) {
+        return moves[0][index];
+    }
+
+    /**
+     * Найти ход, выигрывающий сразу (по счётчикам линий, без перебора ходов корня).
+     *
+     * @param symbol    символ игрока, который ходит.
+     * @return          номер ячейки, либо NO_MOVE.
+     */
+    public int findWinningRootMove(PlayerSymbol symbol) {
+        int cell = THREATS.findWinningCell(symbol);
+        return cell == ThreatTracker.NO_CELL ? NO_MOVE : cell;
+    }
+
+    /**
+     * Оценить один ход из текущей позиции: сделать его, просмотреть ответы и вернуть поле в исходное состояние.
+     * Позиции считаются в общий лимит, заданный startSearch.
+     *
+     * @param move      номер ячейки.
+     * @param symbol    символ игрока, который ходит.
+     * @param depth     глубина поиска в полуходах, включая сам ход.
+     * @param alpha     нижняя граница оценки.
+     * @param beta      верхняя граница оценки.
+     * @return          оценка хода с точки зрения ходящего игрока (неполная, если поиск прерван).
+     */
+    public int searchMove(int move, PlayerSymbol symbol, int depth, int alpha, int beta) {
+        int row = getRow(move);
+        int column = getColumn(move);
+
+        FIELD.setTempSymbol(row, column, symbol);
+        int score = -negamax(depth - 1, -beta, -alpha, PlayerSymbol.getOpponentSymbol(symbol), 1);
+        FIELD.removeTempSymbol(row, column);
+        return score;
+    }
+
+    /**
+     * Рекурсивный поиск негамакс с альфа-бета отсечением.
+     *
+     * @param depth     оставшаяся глубина.
+     * @param alpha     нижняя граница оценки.
+     * @param beta      верхняя граница оценки.
+     * @param symbol    символ игрока, который ходит в этой позиции.
+     * @param ply       номер полухода от корня поиска.
+     * @return          оценка позиции с точки зрения ходящего игрока.
+     */
+    private int negamax(int depth, int alpha, int beta, PlayerSymbol symbol, int ply) {
+        // Время и прерывание потока (отмена хода) проверяем не в каждой позиции, это дорого.
+        if (++nodes > maxNodes || ((nodes & TIME_CHECK_MASK) == 0
+                && (System.nanoTime() > deadline || Thread.currentThread().isInterrupted()))) {
+            isAborted = true;
+            return 0;
+        }
+
+        if (depth <= 0) {
+            return evaluate(symbol);
+        }
+
+        // Если позиция (или симметричная ей) уже просмотрена на достаточную глубину,
+        // используем сохранённую оценку. Ход в таблице хранится в координатах канонической позиции.
+        int transform = FIELD.getCanonicalTransform();
+        long key = FIELD.getCanonicalHash(symbol);
+        long entry = TABLE.probe(key);
+        int tableMove = NO_MOVE;
+        if (entry != TranspositionTable.NOT_FOUND) {
+            tableMove = fromCanonical(TranspositionTable.getMove(entry), transform);
+            if (TranspositionTable.getDepth(entry) >= depth) {
+                int score = fromTableScore(TranspositionTable.getScore(entry), ply);
+                int bound = TranspositionTable.getBound(entry);
+                if (bound == TranspositionTable.EXACT) {
+                    return score;
+                }
+                if (bound == TranspositionTable.LOWER_BOUND && score > alpha) {
+                    alpha = score;
+                } else if (bound == TranspositionTable.UPPER_BOUND && score < beta) {
+                    beta = score;
+                }
+                if (alpha >= beta) {
+                    return score;
+                }
+            }
+        }
+
+        // Если можно выиграть одним ходом, дальше искать незачем.
+        if (THREATS.hasWinningMove(symbol)) {
+            return WIN_SCORE - ply;
+        }
+
+        int movesCount = generateMoves(ply, tableMove);
+
+        // Свободных ячеек нет - ничья.
+        if (movesCount == 0) {
+            return 0;
+        }
+
+        int[] plyMoves = moves[ply];
+
+        PlayerSymbol opponent = PlayerSymbol.getOpponentSymbol(symbol);
+        int originalAlpha = alpha;
+        int bestScore = -WIN_SCORE - 1;
+        int bestMove = NO_MOVE;
+
+        for (int i = 0; i < movesCount; i++) {
+            int move = plyMoves[i];
+            int row = getRow(move);
+            int column = getColumn(move);
+
+            FIELD.setTempSymbol(row, column, symbol);
+            int score = -negamax(depth - 1, -beta, -alpha, opponent, ply + 1);
+            FIELD.removeTempSymbol(row, column);
+
+            if (isAborted) {
+                return 0;
+            }
+
+            if (score > bestScore) {
+                bestScore = score;
+                bestMove = move;
+            }
+            if (score > alpha) {
+                alpha = score;
+            }
+            if (alpha >= beta) {
+                killers[ply] = move;
+                break;
+            }
+        }
+
+        int bound = bestScore <= originalAlpha ? TranspositionTable.UPPER_BOUND
+                : bestScore >= beta ? TranspositionTable.LOWER_BOUND : TranspositionTable.EXACT;
+        TABLE.store(key, depth, bound, toTableScore(bestScore, ply), SYMMETRY.toCanonical(bestMove, transform));
+        return bestScore;
+    }
+
+    /**
+     * Лучший ход текущей позиции из таблицы транспозиций.
+     *
+     * @param symbol    символ игрока, который ходит.
+     * @return          номер ячейки, либо NO_MOVE.
+     */
+    private int getTableMove(PlayerSymbol symbol) {
+        long entry = TABLE.probe(FIELD.getCanonicalHash(symbol));
+        return entry == TranspositionTable.NOT_FOUND ? NO_MOVE
+                : fromCanonical(TranspositionTable.getMove(entry), FIELD.getCanonicalTransform());
+    }
+
+    /**
+     * Перевод хода из координат канонической позиции на реальное поле.
+     *
+     * @param move      ход в канонической позиции, либо NO_MOVE.
+     * @param transform номер преобразования, переводящего текущую позицию в каноническую.
+     * @return          номер ячейки на поле, либо NO_MOVE.
+     */
+    private int fromCanonical(int move, int transform) {
+        return move == NO_MOVE ? NO_MOVE : SYMMETRY.fromCanonical(move, transform);
+    }
+
+    /**
+     * Перевод оценки для сохранения в таблицу: оценка победы хранится относительно позиции, а не корня поиска,
+     * иначе одна и та же позиция на разной глубине получала бы разные оценки.
+     *
+     * @param score оценка.
+     * @param ply   номер полухода от корня поиска.
+     * @return      оценка для таблицы.
+     */
+    private int toTableScore(int score, int ply) {
+        if (score > WIN_SCORE - CELLS_COUNT - 1) {
+            return score + ply;
+        }
+        if (score < -WIN_SCORE + CELLS_COUNT + 1) {
+            return score - ply;
+        }
+        return score;
+    }
+
+    /**
+     * Перевод оценки из таблицы обратно к оценке относительно корня поиска.
+     *
+     * @param score оценка из таблицы.
+     * @param ply   номер полухода от корня поиска.
+     * @return      оценка.
+     */
+    private int fromTableScore(int score, int ply) {
+        if (score > WIN_SCORE - CELLS_COUNT - 1) {
+            return score - ply;
+        }
+        if (score < -WIN_SCORE + CELLS_COUNT + 1) {
+            return score + ply;
+        }
+        return score;
+    }
+
+    /**
+     * Сформировать упорядоченный список ходов для полухода.
+     * Первым идёт ход из таблицы транспозиций, затем ход-убийца,
+     * затем ячейки рядом с уже стоящими символами, затем ближние к центру.
+     * Если позиция симметрична, из равноценных ходов в список попадает только один.
+     * На больших полях перебираются только кандидаты (см. CandidateCells); если их нет
+     * (пустое поле или окрестность символов занята целиком), перебираются все ячейки.
+     *
+     * @param ply       номер полухода.
+     * @param tableMove ход из таблицы транспозиций, либо NO_MOVE.
+     * @return          количество ходов.
+     */
+    private int generateMoves(int ply, int tableMove) {
+        int[] plyMoves = moves[ply];
+        int[] scores = moveScores[ply];
+        int movesCount = 0;
+        int stabilizer = FIELD.getStabilizer();
+        boolean isCandidatesOnly = CANDIDATES != null && CANDIDATES.getCount() > 0;
+        int cellsCount = isCandidatesOnly ? CANDIDATES.getCount() : CELLS_COUNT;
+
+        for (int index = 0; index < cellsCount; index++) {
+            int cell = isCandidatesOnly ? CANDIDATES.get(index) : index;
+            int row = getRow(cell);
+            int column = getColumn(cell);
+            if (FIELD.isCellOccupied(row, column)) {
+                continue;
+            }
+            if (stabilizer != 1 && !SYMMETRY.isRepresentative(cell, stabilizer)) {
+                continue;
+            }
+
+            int score = CENTER_SCORES[cell] + countNeighbours(row, column) * 4 * SIZE;
+            if (cell == tableMove) {
+                score = Integer.MAX_VALUE;
+            } else if (cell == killers[ply]) {
+                score = Integer.MAX_VALUE - 1;
+            }
+
+            // Вставка с сохранением порядка по убыванию оценки.
+            int i = movesCount++;
+            while (i > 0 && scores[i - 1] < score) {
+                plyMoves[i] = plyMoves[i - 1];
+                scores[i] = scores[i - 1];
+                i--;
+            }
+            plyMoves[i] = cell;
+            scores[i] = score;
+        }
+        return movesCount;
+    }
+
+    /**
+     * Подсчёт занятых соседних ячеек.
+     *
+     * @param row       номер строки.
+     * @param column    номер столбца.
+     * @return          количество занятых ячеек вокруг указанной.
+     */
+    private int countNeighbours(int row, int column) {
+        int neighbours = 0;
+        for (Direction direction : Direction.values()) {
+            if (RANGES.getReach(row, column, direction) > 0
+                    && FIELD.isCellOccupied(row + direction.getRowStep(), column + direction.getColumnStep())) {
+                neighbours++;
+            }
+        }
+        return neighbours;
+    }
+
+    /**
+     * Статическая оценка позиции: для каждой выигрышной линии, в которой стоят символы только одного игрока,
+     * этому игроку добавляется вес, растущий с количеством его символов.
+     * Сумма поддерживается полем инкрементально (ThreatTracker), здесь она только читается.
+     *
+     * @param symbol    символ игрока, с чьей точки зрения оценивается позиция.
+     * @return          оценка позиции.
+     */
+    private int evaluate(PlayerSymbol symbol) {
+        return THREATS.getScore(symbol);
+    }
+
+    /**
+     * Номер строки ячейки.
+     *
+     * @param cell  номер ячейки.
+     * @return      номер строки (с единицы).
+     */
+    public int getRow(int cell) {
+        return cell / SIZE + 1;
+    }
+
+    /**
+     * Номер столбца ячейки.
+     *
+     * @param cell  номер ячейки.
+     * @return      номер столбца (с единицы).
+     */
+    public int getColumn(int cell) {
+        return cell % SIZE + 1;
+    }
+
+    /**
+     * Геттер.
+     *
+     * @return количество позиций, просмотренных последним поиском.
+     */
+    public long getNodes() {
+        return nodes;
+    }
+
+    /**
+     * Геттер.
+     *
+     * @return true, если последний поиск был прерван по лимиту позиций или времени.
+     */
+    public boolean isAborted() {
+        return isAborted;
+    }
+
+    /**
+     * Геттер.
+     *
+     * @return глубина последней полностью завершённой итерации углубления.
+     */
+    public int getCompletedDepth() {
+        return completedDepth;
+    }
+}
\ No newline at end of file
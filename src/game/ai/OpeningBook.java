@@ -0,0 +1,199 @@
+package game.ai;
+
+import game.GameField;
+import game.enums.PlayerSymbol;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Дебютная книга: заранее найденные глубоким поиском лучшие ходы для первых ходов партии.
+ * Позиции хранятся в каноническом виде (хеш канонической позиции с учётом того, чей ход), поэтому
+ * одна запись подходит для всех позиций, получающихся друг из друга поворотами и отражениями поля.
+ * Файл строит OpeningBookBuilder. Формат: заголовок (MAGIC, размер поля, длина комбинации,
+ * количество записей), затем хеши по возрастанию (long) и ходы в координатах канонической позиции (short).
+ * Файл отображается в память, поиск записи - двоичный поиск по хешам.
+ */
+public class OpeningBook {
+
+    /**
+     * Сигнатура файла книги.
+     */
+    static final int MAGIC = 0x4F424B31;
+
+    /**
+     * Размер заголовка файла в байтах.
+     */
+    static final int HEADER_SIZE = 16;
+
+    /**
+     * Книга без записей, используется, если файла книги нет.
+     */
+    private static final OpeningBook EMPTY = new OpeningBook(null, 0);
+
+    /**
+     * Открытые книги по ключу size * 256 + winLength.
+     */
+    private static final Map<Integer, OpeningBook> CACHE = new ConcurrentHashMap<>();
+
+    /**
+     * Отображённый в память файл, либо null для пустой книги.
+     */
+    private final MappedByteBuffer DATA;
+
+    /**
+     * Количество записей.
+     */
+    private final int ENTRIES_COUNT;
+
+    /**
+     * Получить книгу для поля с заданными параметрами из файла по умолчанию.
+     * Если файла нет, возвращается пустая книга, и игрок сразу переходит к поиску.
+     * Книга - необязательный кэш, поэтому повреждённый или чужой файл тоже заменяется пустой книгой
+     * (с предупреждением в System.err), а не мешает начать игру.
+     *
+     * @param size      размер игрового поля.
+     * @param winLength длина выигрышной комбинации.
+     * @return          книга.
+     */
+    public static OpeningBook get(int size, int winLength) {
+        return CACHE.computeIfAbsent(size * 256 + winLength, key -> {
+            Path path = getDefaultPath(size, winLength);
+            if (!Files.exists(path)) {
+                return EMPTY;
+            }
+            try {
+                return open(path, size, winLength);
+            } catch (IOException e) {
+                System.err.printf("Дебютная книга не загружена, игра без книги: %s\n", e.getMessage());
+                return EMPTY;
+            }
+        });
+    }
+
+    /**
+     * Путь к файлу книги по умолчанию.
+     *
+     * @param size      размер игрового поля.
+     * @param winLength длина выигрышной комбинации.
+     * @return          путь к файлу.
+     */
+    public static Path getDefaultPath(int size, int winLength) {
+        return Paths.get("books", "book-" + size + "x" + size + "-" + winLength + ".bin");
+    }
+
+    /**
+     * Отобразить файл книги в память.
+     *
+     * @param path      путь к файлу.
+     * @param size      размер игрового поля.
+     * @param winLength длина выигрышной комбинации.
+     * @return          книга.
+     * @throws IOException если файл не удалось прочитать или он построен для другого поля.
+     */
+    public static OpeningBook open(Path path, int size, int winLength) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer data = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (data.capacity() < HEADER_SIZE || data.getInt(0) != MAGIC) {
+                throw new IOException("Файл не является дебютной книгой: " + path);
+            }
+            if (data.getInt(4) != size || data.getInt(8) != winLength) {
+                throw new IOException("Дебютная книга построена для другого поля: " + path);
+            }
+            int entriesCount = data.getInt(12);
+            if (data.capacity() != HEADER_SIZE + (long) entriesCount * (Long.BYTES + Short.BYTES)) {
+                throw new IOException("Повреждённый файл дебютной книги: " + path);
+            }
+            return new OpeningBook(data, entriesCount);
+        }
+    }
+
+    /**
+     * Конструктор.
+     *
+     * @param data          отображённый в память файл.
+     * @param entriesCount  количество записей.
+     */
+    private OpeningBook(MappedByteBuffer data, int entriesCount) {
+        this.DATA = data;
+        this.ENTRIES_COUNT = entriesCount;
+    }
+
+    /**
+     * Найти ход для позиции на поле.
+     *
+     * @param field     экземпляр игрового поля.
+     * @param symbol    символ игрока, который ходит.
+     * @return          номер ячейки на поле, либо NegamaxSearch.NO_MOVE, если позиции нет в книге.
+     */
+    public int lookup(GameField field, PlayerSymbol symbol) {
+        if (ENTRIES_COUNT == 0) {
+            return NegamaxSearch.NO_MOVE;
+        }
+        int transform = field.getCanonicalTransform();
+        int entry = find(field.getCanonicalHash(symbol));
+        if (entry < 0) {
+            return NegamaxSearch.NO_MOVE;
+        }
+
+        // Ход за пределами поля возможен только в повреждённом файле.
+        int canonicalMove = getCanonicalMove(entry);
+        if (canonicalMove < 0 || canonicalMove >= field.getFieldSize() * field.getFieldSize()) {
+            return NegamaxSearch.NO_MOVE;
+        }
+        int move = field.getSymmetry().fromCanonical(canonicalMove, transform);
+        if (field.isCellOccupied(field.getRow(move), field.getColumn(move))) {
+            return NegamaxSearch.NO_MOVE;
+        }
+        return move;
+    }
+
+    /**
+     * Двоичный поиск записи по хешу.
+     *
+     * @param hash  хеш канонической позиции с учётом того, чей ход.
+     * @return      номер записи, либо -1, если записи нет.
+     */
+    private int find(long hash) {
+        int low = 0;
+        int high = ENTRIES_COUNT - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            long middleHash = DATA.getLong(HEADER_SIZE + middle * Long.BYTES);
+            if (middleHash < hash) {
+                low = middle + 1;
+            } else if (middleHash > hash) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Ход записи в координатах канонической позиции.
+     *
+     * @param entry номер записи.
+     * @return      номер ячейки.
+     */
+    private int getCanonicalMove(int entry) {
+        return DATA.getShort(HEADER_SIZE + ENTRIES_COUNT * Long.BYTES + entry * Short.BYTES);
+    }
+
+    /**
+     * Геттер.
+     *
+     * @return количество записей.
+     */
+    public int getEntriesCount() {
+        return ENTRIES_COUNT;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,249 @@
+package game.ai;
+
+import game.GameField;
+import game.enums.PlayerSymbol;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Построение дебютной книги (см. OpeningBook).
+ * Дерево дебюта строится отдельно для каждого игрока: в его позициях делается ход, найденный
+ * глубоким поиском, а в позициях соперника перебираются все ответы. Первый ход партии может быть
+ * любым, дальше рассматриваются только ответы рядом с уже стоящими символами - туда же в первую
+ * очередь смотрит поиск. Симметричные ходы и позиции, к которым можно прийти разными путями,
+ * рассматриваются один раз. Если партия ушла из книги, игрок просто переходит к поиску.
+ */
+public class OpeningBookBuilder {
+
+    /**
+     * Количество полуходов в книге по умолчанию.
+     */
+    public static final int DEFAULT_PLIES = 4;
+
+    /**
+     * Глубина поиска по умолчанию (в полуходах).
+     */
+    public static final int DEFAULT_DEPTH = 10;
+
+    /**
+     * Ограничение на количество просматриваемых позиций за один поиск по умолчанию.
+     */
+    public static final long DEFAULT_MAX_NODES = 20_000_000;
+
+    /**
+     * Экземпляр игрового поля, на котором строится дерево дебюта.
+     */
+    private final GameField FIELD;
+
+    /**
+     * Поиск лучшего хода.
+     */
+    private final NegamaxSearch SEARCH;
+
+    /**
+     * Количество полуходов в книге.
+     */
+    private final int PLIES;
+
+    /**
+     * Глубина поиска (в полуходах).
+     */
+    private final int DEPTH;
+
+    /**
+     * Ограничение на количество просматриваемых позиций за один поиск.
+     */
+    private final long MAX_NODES;
+
+    /**
+     * Найденные ходы: хеш канонической позиции - ход в координатах канонической позиции.
+     */
+    private final Map<Long, Integer> entries = new HashMap<>();
+
+    /**
+     * Уже рассмотренные позиции соперника (хеши канонических позиций).
+     */
+    private final Set<Long> visited = new HashSet<>();
+
+    /**
+     * Конструктор.
+     *
+     * @param size      размер игрового поля.
+     * @param winLength длина выигрышной комбинации.
+     * @param plies     количество полуходов в книге.
+     * @param depth     глубина поиска (в полуходах).
+     * @param maxNodes  ограничение на количество просматриваемых позиций за один поиск.
+     */
+    public OpeningBookBuilder(int size, int winLength, int plies, int depth, long maxNodes) {
+        this.FIELD = new GameField(size, winLength);
+        this.SEARCH = new NegamaxSearch(FIELD, new TranspositionTable(22));
+        this.PLIES = plies;
+        this.DEPTH = depth;
+        this.MAX_NODES = maxNodes;
+    }
+
+    /**
+     * Построить книгу для обоих игроков. Первым ходит X.
+     */
+    public void build() {
+        for (PlayerSymbol bookSymbol : PlayerSymbol.values()) {
+            visited.clear();
+            expand(0, PlayerSymbol.X, bookSymbol);
+        }
+    }
+
+    /**
+     * Рассмотреть текущую позицию и её продолжения.
+     *
+     * @param ply           номер полухода.
+     * @param symbol        символ игрока, который ходит.
+     * @param bookSymbol    символ игрока, для которого строится дерево.
+     */
+    private void expand(int ply, PlayerSymbol symbol, PlayerSymbol bookSymbol) {
+        if (ply >= PLIES || FIELD.isFieldFull()) {
+            return;
+        }
+        long hash = FIELD.getCanonicalHash(symbol);
+        PlayerSymbol opponent = PlayerSymbol.getOpponentSymbol(symbol);
+
+        if (symbol == bookSymbol) {
+            int move;
+            Integer canonicalMove = entries.get(hash);
+            if (canonicalMove != null) {
+                move = FIELD.getSymmetry().fromCanonical(canonicalMove, FIELD.getCanonicalTransform());
+            } else {
+                move = SEARCH.findBestMove(symbol, DEPTH, MAX_NODES);
+                entries.put(hash, FIELD.getSymmetry().toCanonical(move, FIELD.getCanonicalTransform()));
+            }
+            play(move, ply, symbol, bookSymbol);
+            return;
+        }
+
+        if (!visited.add(hash)) {
+            return;
+        }
+        boolean isEmpty = ply == 0;
+        int stabilizer = FIELD.getStabilizer();
+        for (int move = 0; move < FIELD.getFieldSize() * FIELD.getFieldSize(); move++) {
+            int row = FIELD.getRow(move);
+            int column = FIELD.getColumn(move);
+            if (!FIELD.isCellOccupied(row, column) && FIELD.getSymmetry().isRepresentative(move, stabilizer)
+                    && (isEmpty || hasNeighbour(row, column))) {
+                play(move, ply, symbol, bookSymbol);
+            }
+        }
+    }
+
+    /**
+     * Сделать ход, рассмотреть продолжения и отменить ход. После выигрышного хода продолжений нет.
+     *
+     * @param move          номер ячейки.
+     * @param ply           номер полухода.
+     * @param symbol        символ игрока, который ходит.
+     * @param bookSymbol    символ игрока, для которого строится дерево.
+     */
+    private void play(int move, int ply, PlayerSymbol symbol, PlayerSymbol bookSymbol) {
+        int row = FIELD.getRow(move);
+        int column = FIELD.getColumn(move);
+        if (FIELD.isWinningMove(row, column, symbol)) {
+            return;
+        }
+        FIELD.setTempSymbol(row, column, symbol);
+        expand(ply + 1, PlayerSymbol.getOpponentSymbol(symbol), bookSymbol);
+        FIELD.removeTempSymbol(row, column);
+    }
+
+    /**
+     * Проверка, есть ли рядом с ячейкой занятые ячейки.
+     *
+     * @param row       номер строки.
+     * @param column    номер столбца.
+     * @return          true, если хотя бы одна из восьми соседних ячеек занята.
+     */
+    private boolean hasNeighbour(int row, int column) {
+        for (int rowStep = -1; rowStep <= 1; rowStep++) {
+            for (int columnStep = -1; columnStep <= 1; columnStep++) {
+                if (FIELD.isInsideField(row + rowStep, column + columnStep)
+                        && FIELD.isCellOccupied(row + rowStep, column + columnStep)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Записать книгу в файл.
+     *
+     * @param path  путь к файлу.
+     * @throws IOException если файл не удалось записать.
+     */
+    public void write(Path path) throws IOException {
+        long[] hashes = new long[entries.size()];
+        int i = 0;
+        for (long hash : entries.keySet()) {
+            hashes[i++] = hash;
+        }
+        Arrays.sort(hashes);
+
+        ByteBuffer buffer = ByteBuffer.allocate(OpeningBook.HEADER_SIZE + hashes.length * (Long.BYTES + Short.BYTES));
+        buffer.putInt(OpeningBook.MAGIC).putInt(FIELD.getFieldSize()).putInt(FIELD.getWinLength())
+                .putInt(hashes.length);
+        for (long hash : hashes) {
+            buffer.putLong(hash);
+        }
+        for (long hash : hashes) {
+            buffer.putShort((short) (int) entries.get(hash));
+        }
+        buffer.flip();
+
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+
+    /**
+     * Геттер.
+     *
+     * @return количество найденных ходов.
+     */
+    public int getEntriesCount() {
+        return entries.size();
+    }
+
+    /**
+     * Построить книгу в файл по умолчанию (см. OpeningBook.getDefaultPath).
+     * Запуск: java game.ai.OpeningBookBuilder размер длина_комбинации [полуходов [глубина [позиций]]]
+     */
+    public static void main(String[] args) throws IOException {
+        int size = Integer.parseInt(args[0]);
+        int winLength = Integer.parseInt(args[1]);
+        int plies = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_PLIES;
+        int depth = args.length > 3 ? Integer.parseInt(args[3]) : DEFAULT_DEPTH;
+        long maxNodes = args.length > 4 ? Long.parseLong(args[4]) : DEFAULT_MAX_NODES;
+
+        long start = System.nanoTime();
+        OpeningBookBuilder builder = new OpeningBookBuilder(size, winLength, plies, depth, maxNodes);
+        builder.build();
+        Path path = OpeningBook.getDefaultPath(size, winLength);
+        builder.write(path);
+        System.out.printf("%dx%d/%d: записей %d, %.1f с, %s\n", size, size, winLength,
+                builder.getEntriesCount(), (System.nanoTime() - start) / 1e9, path);
+    }
+}
\ No newline at end of file
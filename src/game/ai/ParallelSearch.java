@@ -0,0 +1,261 @@
+package game.ai;
+
+import game.GameField;
+import game.enums.PlayerSymbol;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Параллельный поиск лучшего хода с разделением ходов корня между потоками.
+ * Первый (по упорядочиванию - самый перспективный) ход просматривается сразу, чтобы получить
+ * нижнюю границу оценки, остальные ходы оцениваются параллельно в ForkJoinPool.
+ * Каждый поток пула работает со своей копией игрового поля, которая подтягивается к позиции корня
+ * один раз за поиск; общей остаётся только таблица транспозиций, рассчитанная на доступ без блокировок.
+ */
+public class ParallelSearch {
+
+    /**
+     * Игровое поле, для позиции на котором ищется ход.
+     */
+    private final GameField FIELD;
+
+    /**
+     * Общая для всех потоков таблица транспозиций.
+     */
+    private final TranspositionTable TABLE;
+
+    /**
+     * Поиск по самому полю: формирует ходы корня и оценивает первый из них.
+     */
+    private final NegamaxSearch ROOT_SEARCH;
+
+    /**
+     * Пул потоков для оценки ходов корня.
+     */
+    private final ForkJoinPool POOL;
+
+    /**
+     * Копия поля и поиск по ней для каждого потока пула.
+     */
+    private final ThreadLocal<Worker> WORKERS;
+
+    /**
+     * Номер текущего поиска: по нему поток узнаёт, что его копия поля отстала от позиции корня.
+     */
+    private int searchId;
+
+    /**
+     * Количество позиций, просмотренных последним поиском во всех потоках.
+     */
+    private long nodes;
+
+    /**
+     * Конструктор.
+     *
+     * @param field     игровое поле.
+     * @param table     таблица транспозиций.
+     * @param threads   количество потоков.
+     */
+    public ParallelSearch(GameField field, TranspositionTable table, int threads) {
+        this.FIELD = field;
+        this.TABLE = table;
+        this.ROOT_SEARCH = new NegamaxSearch(field, table);
+        this.POOL = new ForkJoinPool(threads);
+        this.WORKERS = ThreadLocal.withInitial(() -> new Worker(new GameField(field), table));
+    }
+
+    /**
+     * Найти лучший ход. Лимит позиций делится поровну между ходами корня.
+     *
+     * @param symbol    символ игрока, который ходит.
+     * @param depth     глубина поиска в полуходах.
+     * @param maxNodes  ограничение на количество просматриваемых позиций.
+     * @return          номер ячейки для хода, либо NegamaxSearch.NO_MOVE, если свободных ячеек нет.
+     */
+    public int findBestMove(PlayerSymbol symbol, int depth, long maxNodes) {
+        TABLE.newSearch();
+        nodes = 0;
+        int id = ++searchId;
+
+        int movesCount = ROOT_SEARCH.generateRootMoves(symbol);
+        if (movesCount == 0) {
+            return NegamaxSearch.NO_MOVE;
+        }
+
+        int winningMove = ROOT_SEARCH.findWinningRootMove(symbol);
+        if (winningMove != NegamaxSearch.NO_MOVE) {
+            return winningMove;
+        }
+
+        int[] rootMoves = new int[movesCount];
+        for (int i = 0; i < movesCount; i++) {
+            rootMoves[i] = ROOT_SEARCH.getRootMove(i);
+        }
+        long maxNodesPerMove = Math.max(1, maxNodes / movesCount);
+
+        // Первый ход просматриваем сразу: его оценка станет нижней границей для остальных задач.
+        ROOT_SEARCH.startSearch(maxNodesPerMove);
+        int firstScore = ROOT_SEARCH.searchMove(rootMoves[0], symbol, depth, -NegamaxSearch.WIN_SCORE - 1,
+                NegamaxSearch.WIN_SCORE + 1);
+        nodes = ROOT_SEARCH.getNodes();
+        if (ROOT_SEARCH.isAborted() || movesCount == 1) {
+            return rootMoves[0];
+        }
+
+        RootResult result = new RootResult(rootMoves[0], firstScore);
+        List<Callable<Long>> tasks = new ArrayList<>();
+        for (int i = 1; i < movesCount; i++) {
+            int move = rootMoves[i];
+            tasks.add(() -> searchRootMove(move, symbol, depth, maxNodesPerMove, id, result));
+        }
+
+        for (Future<Long> future : POOL.invokeAll(tasks)) {
+            try {
+                nodes += future.get();
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        }
+        return result.getBestMove();
+    }
+
+    /**
+     * Оценка одного хода корня на копии поля текущего потока.
+     *
+     * @param move      номер ячейки.
+     * @param symbol    символ игрока, который ходит.
+     * @param depth     глубина поиска в полуходах.
+     * @param maxNodes  ограничение на количество просматриваемых позиций.
+     * @param id        номер поиска.
+     * @param result    общий для задач лучший результат.
+     * @return          количество просмотренных позиций.
+     */
+    private long searchRootMove(int move, PlayerSymbol symbol, int depth, long maxNodes, int id, RootResult result) {
+        Worker worker = WORKERS.get();
+        if (worker.searchId != id) {
+            worker.FIELD.copyPosition(FIELD);
+            worker.searchId = id;
+        }
+        NegamaxSearch search = worker.SEARCH;
+        search.startSearch(maxNodes);
+
+        // Ход, который не лучше уже найденного, нас не интересует, поэтому окно сужается снизу.
+        int alpha = result.getBestScore();
+        int score = search.searchMove(move, symbol, depth, alpha, NegamaxSearch.WIN_SCORE + 1);
+        if (!search.isAborted()) {
+            result.offer(move, score);
+        }
+        return search.getNodes();
+    }
+
+    /**
+     * Геттер.
+     *
+     * @return количество позиций, просмотренных последним поиском во всех потоках.
+     */
+    public long getNodes() {
+        return nodes;
+    }
+
+    /**
+     * Остановить потоки пула.
+     */
+    public void shutdown() {
+        POOL.shutdown();
+    }
+
+    /**
+     * Копия поля потока пула и поиск по ней.
+     */
+    private static class Worker {
+
+        /**
+         * Копия игрового поля.
+         */
+        private final GameField FIELD;
+
+        /**
+         * Поиск по копии поля.
+         */
+        private final NegamaxSearch SEARCH;
+
+        /**
+         * Номер поиска, к позиции корня которого подтянута копия поля.
+         */
+        private int searchId;
+
+        /**
+         * Конструктор.
+         *
+         * @param field копия игрового поля.
+         * @param table общая таблица транспозиций.
+         */
+        Worker(GameField field, TranspositionTable table) {
+            this.FIELD = field;
+            this.SEARCH = new NegamaxSearch(field, table);
+        }
+    }
+
+    /**
+     * Лучший из уже оценённых ходов корня, общий для всех задач.
+     */
+    private static class RootResult {
+
+        /**
+         * Лучшая оценка, читается задачами без блокировки.
+         */
+        private final AtomicInteger BEST_SCORE;
+
+        /**
+         * Лучший ход.
+         */
+        private int bestMove;
+
+        /**
+         * Конструктор.
+         *
+         * @param move  ход.
+         * @param score оценка хода.
+         */
+        RootResult(int move, int score) {
+            this.BEST_SCORE = new AtomicInteger(score);
+            this.bestMove = move;
+        }
+
+        /**
+         * Предложить оценённый ход.
+         *
+         * @param move  ход.
+         * @param score оценка хода.
+         */
+        synchronized void offer(int move, int score) {
+            if (score > BEST_SCORE.get()) {
+                BEST_SCORE.set(score);
+                bestMove = move;
+            }
+        }
+
+        /**
+         * Геттер.
+         *
+         * @return лучшая оценка.
+         */
+        int getBestScore() {
+            return BEST_SCORE.get();
+        }
+
+        /**
+         * Геттер.
+         *
+         * @return лучший ход.
+         */
+        synchronized int getBestMove() {
+            return bestMove;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,245 @@
+package game.ai;
+
+import game.GameField;
+import game.enums.PlayerSymbol;
+
+import java.util.SplittableRandom;
+
+/**
+ * Облегчённое поле для случайных доигрываний (playout) в поиске Монте-Карло.
+ * Все массивы создаются один раз: перед каждым доигрыванием состояние восстанавливается
+ * копированием из снимка исходной позиции, а свободные ячейки хранятся плотным массивом,
+ * из которого занятая ячейка удаляется перестановкой с последней. Поэтому во время доигрываний
+ * память не выделяется, а случайная свободная ячейка выбирается за O(1).
+ * Ячейки нумеруются с нуля построчно, игроки - порядковыми номерами PlayerSymbol плюс один (0 - пусто).
+ */
+public class PlayoutBoard {
+
+    /**
+     * Результат доигрывания: ничья.
+     */
+    public static final int DRAW = 0;
+
+    /**
+     * Смещения по строке для четырёх осей: горизонталь, вертикаль и две диагонали.
+     */
+    private static final int[] AXIS_ROW_STEPS = {0, 1, 1, 1};
+
+    /**
+     * Смещения по столбцу для четырёх осей: горизонталь, вертикаль и две диагонали.
+     */
+    private static final int[] AXIS_COLUMN_STEPS = {1, 0, 1, -1};
+
+    /**
+     * Размер игрового поля.
+     */
+    private final int SIZE;
+
+    /**
+     * Длина выигрышной комбинации.
+     */
+    private final int WIN_LENGTH;
+
+    /**
+     * Снимок ячеек исходной позиции.
+     */
+    private final byte[] ROOT_CELLS;
+
+    /**
+     * Снимок свободных ячеек исходной позиции.
+     */
+    private final int[] ROOT_FREE_CELLS;
+
+    /**
+     * Количество свободных ячеек в исходной позиции.
+     */
+    private int rootFreeCount;
+
+    /**
+     * Текущее состояние ячеек.
+     */
+    private final byte[] cells;
+
+    /**
+     * Свободные ячейки (первые freeCount элементов).
+     */
+    private final int[] freeCells;
+
+    /**
+     * Позиция каждой свободной ячейки в массиве freeCells.
+     */
+    private final int[] freeIndexes;
+
+    /**
+     * Количество свободных ячеек.
+     */
+    private int freeCount;
+
+    /**
+     * Генератор случайных чисел.
+     */
+    private final SplittableRandom random;
+
+    /**
+     * Конструктор.
+     *
+     * @param size      размер игрового поля.
+     * @param winLength длина выигрышной комбинации.
+     * @param seed      зерно генератора случайных чисел.
+     */
+    public PlayoutBoard(int size, int winLength, long seed) {
+        this.SIZE = size;
+        this.WIN_LENGTH = winLength;
+        this.ROOT_CELLS = new byte[size * size];
+        this.ROOT_FREE_CELLS = new int[size * size];
+        this.cells = new byte[size * size];
+        this.freeCells = new int[size * size];
+        this.freeIndexes = new int[size * size];
+        this.random = new SplittableRandom(seed);
+    }
+
+    /**
+     * Запомнить позицию с игрового поля как исходную.
+     *
+     * @param field игровое поле.
+     */
+    public void load(GameField field) {
+        rootFreeCount = 0;
+        for (int cell = 0; cell < ROOT_CELLS.length; cell++) {
+            PlayerSymbol symbol = PlayerSymbol.fromValue(field.getSymbolByCoordinates(cell / SIZE + 1, cell % SIZE + 1));
+            ROOT_CELLS[cell] = (byte) toPlayer(symbol);
+            if (symbol == null) {
+                ROOT_FREE_CELLS[rootFreeCount++] = cell;
+            }
+        }
+    }
+
+    /**
+     * Вернуть поле к исходной позиции.
+     */
+    public void reset() {
+        System.arraycopy(ROOT_CELLS, 0, cells, 0, cells.length);
+        System.arraycopy(ROOT_FREE_CELLS, 0, freeCells, 0, rootFreeCount);
+        freeCount = rootFreeCount;
+        for (int i = 0; i < freeCount; i++) {
+            freeIndexes[freeCells[i]] = i;
+        }
+    }
+
+    /**
+     * Номер игрока по символу.
+     *
+     * @param symbol    символ игрока, либо null.
+     * @return          номер игрока, либо 0 для пустой ячейки.
+     */
+    public static int toPlayer(PlayerSymbol symbol) {
+        return symbol == null ? 0 : symbol.ordinal() + 1;
+    }
+
+    /**
+     * Номер соперника.
+     *
+     * @param player    номер игрока.
+     * @return          номер соперника.
+     */
+    public static int opponent(int player) {
+        return 3 - player;
+    }
+
+    /**
+     * Сделать ход.
+     *
+     * @param cell      номер свободной ячейки.
+     * @param player    номер игрока.
+     */
+    public void play(int cell, int player) {
+        cells[cell] = (byte) player;
+
+        // Удаляем ячейку из списка свободных перестановкой с последней.
+        int index = freeIndexes[cell];
+        int last = freeCells[--freeCount];
+        freeCells[index] = last;
+        freeIndexes[last] = index;
+    }
+
+    /**
+     * Проверка, образует ли ход игрока в ячейку выигрышную комбинацию.
+     *
+     * @param cell      номер ячейки.
+     * @param player    номер игрока.
+     * @return          true, если ход выигрывает.
+     */
+    public boolean isWinningMove(int cell, int player) {
+        int row = cell / SIZE;
+        int column = cell % SIZE;
+        for (int axis = 0; axis < AXIS_ROW_STEPS.length; axis++) {
+            int counter = 1
+                    + count(row, column, AXIS_ROW_STEPS[axis], AXIS_COLUMN_STEPS[axis], player)
+                    + count(row, column, -AXIS_ROW_STEPS[axis], -AXIS_COLUMN_STEPS[axis], player);
+            if (counter >= WIN_LENGTH) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Подсчёт символов игрока подряд от ячейки в заданном направлении (сама ячейка не учитывается).
+     *
+     * @param row           номер строки (с нуля).
+     * @param column        номер столбца (с нуля).
+     * @param rowStep       смещение по строке.
+     * @param columnStep    смещение по столбцу.
+     * @param player        номер игрока.
+     * @return              количество символов подряд.
+     */
+    private int count(int row, int column, int rowStep, int columnStep, int player) {
+        int counter = 0;
+        row += rowStep;
+        column += columnStep;
+        while (counter < WIN_LENGTH - 1 && row >= 0 && row < SIZE && column >= 0 && column < SIZE
+                && cells[row * SIZE + column] == player) {
+            counter++;
+            row += rowStep;
+            column += columnStep;
+        }
+        return counter;
+    }
+
+    /**
+     * Случайное доигрывание до конца партии из текущего состояния.
+     *
+     * @param player    номер игрока, который ходит.
+     * @return          номер победившего игрока, либо DRAW.
+     */
+    public int playout(int player) {
+        while (freeCount > 0) {
+            int cell = freeCells[random.nextInt(freeCount)];
+            if (isWinningMove(cell, player)) {
+                return player;
+            }
+            play(cell, player);
+            player = opponent(player);
+        }
+        return DRAW;
+    }
+
+    /**
+     * Геттер.
+     *
+     * @return количество свободных ячеек.
+     */
+    public int getFreeCount() {
+        return freeCount;
+    }
+
+    /**
+     * Свободная ячейка по номеру в списке свободных.
+     *
+     * @param index номер в списке (от 0 до getFreeCount() - 1).
+     * @return      номер ячейки.
+     */
+    public int getFreeCell(int index) {
+        return freeCells[index];
+    }
+}
\ No newline at end of file
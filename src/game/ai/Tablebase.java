@@ -0,0 +1,265 @@
+package game.ai;
+
+import game.GameField;
+import game.enums.PlayerSymbol;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Таблица результатов идеальной игры для маленьких полей (3х3 и 4х4).
+ * Файл строит TablebaseGenerator, здесь он только отображается в память через NIO: данные не
+ * загружаются в кучу, а читаются операционной системой по мере обращения к страницам файла.
+ * Позиция записывается с точки зрения игрока, чей ход: цифра 1 - его символ, 2 - символ соперника.
+ * Номер позиции - число в троичной системе, где ячейка с номером cell - разряд 3^cell.
+ * На позицию отводится 2 бита, по четыре позиции в байте.
+ * Формат файла: заголовок (MAGIC, размер поля, длина комбинации, количество позиций) и упакованные значения.
+ */
+public class Tablebase {
+
+    /**
+     * Позиция недостижима из пустого поля (например, на поле уже две выигрышные комбинации).
+     */
+    public static final int UNKNOWN = 0;
+
+    /**
+     * Игрок, чей ход, выигрывает при идеальной игре.
+     */
+    public static final int WIN = 1;
+
+    /**
+     * Игрок, чей ход, проигрывает при идеальной игре (или уже проиграл).
+     */
+    public static final int LOSS = 2;
+
+    /**
+     * При идеальной игре обеих сторон - ничья.
+     */
+    public static final int DRAW = 3;
+
+    /**
+     * Наибольший размер поля, для которого строится таблица.
+     */
+    public static final int MAX_FIELD_SIZE = 4;
+
+    /**
+     * Сигнатура файла таблицы.
+     */
+    static final int MAGIC = 0x54544254;
+
+    /**
+     * Размер заголовка файла в байтах.
+     */
+    static final int HEADER_SIZE = 16;
+
+    /**
+     * Открытые таблицы по ключу size * 256 + winLength.
+     */
+    private static final Map<Integer, Tablebase> CACHE = new ConcurrentHashMap<>();
+
+    /**
+     * Размер игрового поля.
+     */
+    private final int SIZE;
+
+    /**
+     * Длина выигрышной комбинации.
+     */
+    private final int WIN_LENGTH;
+
+    /**
+     * Отображённый в память файл. Читается только абсолютными get, поэтому общий для всех потоков.
+     */
+    private final MappedByteBuffer DATA;
+
+    /**
+     * Степени тройки для каждой ячейки.
+     */
+    private final int[] POWERS;
+
+    /**
+     * Получить таблицу для поля с заданными параметрами из файла по умолчанию.
+     * Файл отображается в память при первом обращении, дальше все игроки пользуются одним экземпляром.
+     *
+     * @param size      размер игрового поля.
+     * @param winLength длина выигрышной комбинации.
+     * @return          таблица.
+     * @throws UncheckedIOException если файл не удалось открыть или он повреждён.
+     */
+    public static Tablebase get(int size, int winLength) {
+        return CACHE.computeIfAbsent(size * 256 + winLength, key -> {
+            try {
+                return open(getDefaultPath(size, winLength));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    /**
+     * Путь к файлу таблицы по умолчанию.
+     *
+     * @param size      размер игрового поля.
+     * @param winLength длина выигрышной комбинации.
+     * @return          путь к файлу.
+     */
+    public static Path getDefaultPath(int size, int winLength) {
+        return Paths.get("tablebases", "tablebase-" + size + "x" + size + "-" + winLength + ".bin");
+    }
+
+    /**
+     * Количество позиций (3 в степени количества ячеек).
+     *
+     * @param size  размер игрового поля.
+     * @return      количество позиций.
+     */
+    static int getPositionsCount(int size) {
+        int count = 1;
+        for (int cell = 0; cell < size * size; cell++) {
+            count *= 3;
+        }
+        return count;
+    }
+
+    /**
+     * Отобразить файл таблицы в память.
+     *
+     * @param path  путь к файлу.
+     * @return      таблица.
+     * @throws IOException если файл не удалось прочитать или он не является таблицей.
+     */
+    public static Tablebase open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+
+            // После закрытия канала отображение остаётся действительным.
+            MappedByteBuffer data = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (data.capacity() < HEADER_SIZE || data.getInt(0) != MAGIC) {
+                throw new IOException("Файл не является таблицей: " + path);
+            }
+            int size = data.getInt(4);
+            int winLength = data.getInt(8);
+            if (size < 1 || size > MAX_FIELD_SIZE || data.getInt(12) != getPositionsCount(size)
+                    || data.capacity() != HEADER_SIZE + (getPositionsCount(size) + 3) / 4) {
+                throw new IOException("Повреждённый файл таблицы: " + path);
+            }
+            return new Tablebase(size, winLength, data);
+        }
+    }
+
+    /**
+     * Записать заголовок файла таблицы.
+     *
+     * @param header    буфер, в который пишется заголовок.
+     * @param size      размер игрового поля.
+     * @param winLength длина выигрышной комбинации.
+     */
+    static void writeHeader(ByteBuffer header, int size, int winLength) {
+        header.putInt(MAGIC).putInt(size).putInt(winLength).putInt(getPositionsCount(size));
+    }
+
+    /**
+     * Конструктор.
+     *
+     * @param size      размер игрового поля.
+     * @param winLength длина выигрышной комбинации.
+     * @param data      отображённый в память файл.
+     */
+    private Tablebase(int size, int winLength, MappedByteBuffer data) {
+        this.SIZE = size;
+        this.WIN_LENGTH = winLength;
+        this.DATA = data;
+        this.POWERS = new int[size * size];
+        for (int cell = 0, power = 1; cell < POWERS.length; cell++, power *= 3) {
+            POWERS[cell] = power;
+        }
+    }
+
+    /**
+     * Результат позиции по её номеру.
+     *
+     * @param index номер позиции.
+     * @return      WIN, LOSS, DRAW или UNKNOWN с точки зрения игрока, чей ход.
+     */
+    public int probe(int index) {
+        return DATA.get(HEADER_SIZE + (index >>> 2)) >>> ((index & 3) * 2) & 3;
+    }
+
+    /**
+     * Номер позиции на поле с точки зрения игрока.
+     *
+     * @param field     экземпляр игрового поля.
+     * @param symbol    символ игрока, чей ход.
+     * @return          номер позиции.
+     */
+    public int getIndex(GameField field, PlayerSymbol symbol) {
+        char own = symbol.getValue();
+        char opponent = PlayerSymbol.getOpponentSymbol(symbol).getValue();
+        int index = 0;
+        for (int row = 1; row <= SIZE; row++) {
+            for (int column = 1; column <= SIZE; column++) {
+                char value = field.getSymbolByCoordinates(row, column);
+                if (value == own) {
+                    index += POWERS[field.toMove(row, column)];
+                } else if (value == opponent) {
+                    index += 2 * POWERS[field.toMove(row, column)];
+                }
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Номер позиции после хода игрока, с точки зрения его соперника (цифры 1 и 2 меняются местами).
+     *
+     * @param index номер позиции до хода.
+     * @param cell  номер свободной ячейки.
+     * @return      номер позиции после хода.
+     */
+    public int getChildIndex(int index, int cell) {
+        int child = 0;
+        for (int i = 0, power = 1; i < POWERS.length; i++, power *= 3) {
+            int digit = index / power % 3;
+            if (i == cell) {
+                digit = 1;
+            }
+            child += digit == 0 ? 0 : (3 - digit) * power;
+        }
+        return child;
+    }
+
+    /**
+     * Проверка, подходит ли таблица для поля.
+     *
+     * @param field экземпляр игрового поля.
+     * @return      true, если совпадают размер поля и длина комбинации.
+     */
+    public boolean matches(GameField field) {
+        return field.getFieldSize() == SIZE && field.getWinLength() == WIN_LENGTH;
+    }
+
+    /**
+     * Геттер.
+     *
+     * @return размер игрового поля.
+     */
+    public int getSize() {
+        return SIZE;
+    }
+
+    /**
+     * Геттер.
+     *
+     * @return длина выигрышной комбинации.
+     */
+    public int getWinLength() {
+        return WIN_LENGTH;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,249 @@
+package game.ai;
+
+import game.board.LineIndex;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Построение таблицы результатов идеальной игры (см. Tablebase).
+ * Из пустого поля перебираются все достижимые позиции. Результат позиции вычисляется после
+ * результатов всех её продолжений, то есть от конечных позиций назад к началу партии, и сразу
+ * записывается в таблицу, поэтому каждая позиция решается один раз, сколькими бы путями к ней ни приходили.
+ * Перебор не обрывается на первом выигрышном ходе, чтобы в таблице оказались все достижимые позиции.
+ */
+public class TablebaseGenerator {
+
+    /**
+     * Размер игрового поля.
+     */
+    private final int SIZE;
+
+    /**
+     * Длина выигрышной комбинации.
+     */
+    private final int WIN_LENGTH;
+
+    /**
+     * Индекс выигрышных линий.
+     */
+    private final LineIndex LINES;
+
+    /**
+     * Степени тройки для каждой ячейки.
+     */
+    private final int[] POWERS;
+
+    /**
+     * Упакованные результаты позиций, по четыре в байте.
+     */
+    private final byte[] table;
+
+    /**
+     * Игрок в каждой ячейке: 0 - пусто, 1 - первый игрок, 2 - второй.
+     */
+    private final byte[] cells;
+
+    /**
+     * Номер текущей позиции с точки зрения каждого игрока.
+     */
+    private final int[] indexes = new int[2];
+
+    /**
+     * Количество решённых позиций.
+     */
+    private int solvedCount;
+
+    /**
+     * Конструктор.
+     *
+     * @param size      размер игрового поля (не больше Tablebase.MAX_FIELD_SIZE).
+     * @param winLength длина выигрышной комбинации.
+     */
+    public TablebaseGenerator(int size, int winLength) {
+        if (size > Tablebase.MAX_FIELD_SIZE || winLength > size) {
+            throw new IllegalArgumentException("Таблица строится только для полей до "
+                    + Tablebase.MAX_FIELD_SIZE + "x" + Tablebase.MAX_FIELD_SIZE);
+        }
+        this.SIZE = size;
+        this.WIN_LENGTH = winLength;
+        this.LINES = LineIndex.get(size, winLength);
+        this.POWERS = new int[size * size];
+        for (int cell = 0, power = 1; cell < POWERS.length; cell++, power *= 3) {
+            POWERS[cell] = power;
+        }
+        this.table = new byte[(Tablebase.getPositionsCount(size) + 3) / 4];
+        this.cells = new byte[size * size];
+    }
+
+    /**
+     * Решить все позиции, достижимые из пустого поля.
+     *
+     * @return результат пустого поля для первого игрока.
+     */
+    public int generate() {
+        return solve(0);
+    }
+
+    /**
+     * Решить текущую позицию.
+     *
+     * @param player    игрок, чей ход: 0 - первый, 1 - второй.
+     * @return          WIN, LOSS или DRAW с точки зрения игрока, чей ход.
+     */
+    private int solve(int player) {
+        int index = indexes[player];
+        int value = get(index);
+        if (value != Tablebase.UNKNOWN) {
+            return value;
+        }
+
+        boolean hasMoves = false, canWin = false, canDraw = false;
+        for (int cell = 0; cell < cells.length; cell++) {
+            if (cells[cell] != 0) {
+                continue;
+            }
+            hasMoves = true;
+
+            // В номере позиции с точки зрения игрока его символ - 1, соперника - 2.
+            cells[cell] = (byte) (player + 1);
+            indexes[player] += POWERS[cell];
+            indexes[1 - player] += 2 * POWERS[cell];
+
+            int childValue;
+            if (isWinningMove(cell, player)) {
+                childValue = Tablebase.LOSS;
+                if (get(indexes[1 - player]) == Tablebase.UNKNOWN) {
+                    set(indexes[1 - player], Tablebase.LOSS);
+                }
+            } else {
+                childValue = solve(1 - player);
+            }
+
+            cells[cell] = 0;
+            indexes[player] -= POWERS[cell];
+            indexes[1 - player] -= 2 * POWERS[cell];
+
+            if (childValue == Tablebase.LOSS) {
+                canWin = true;
+            } else if (childValue == Tablebase.DRAW) {
+                canDraw = true;
+            }
+        }
+
+        // Если ходов нет, поле заполнено без выигрышной комбинации.
+        if (canWin) {
+            value = Tablebase.WIN;
+        } else if (canDraw || !hasMoves) {
+            value = Tablebase.DRAW;
+        } else {
+            value = Tablebase.LOSS;
+        }
+        set(index, value);
+        return value;
+    }
+
+    /**
+     * Проверка, образует ли ход игрока в ячейку выигрышную комбинацию.
+     *
+     * @param cell      номер ячейки (символ игрока в ней уже стоит).
+     * @param player    игрок: 0 - первый, 1 - второй.
+     * @return          true, если через ячейку проходит линия из символов игрока.
+     */
+    private boolean isWinningMove(int cell, int player) {
+        for (int line : LINES.getCellLines(cell)) {
+            boolean isFull = true;
+            for (int lineCell : LINES.getLine(line)) {
+                if (cells[lineCell] != player + 1) {
+                    isFull = false;
+                    break;
+                }
+            }
+            if (isFull) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Результат позиции.
+     *
+     * @param index номер позиции.
+     * @return      результат, либо Tablebase.UNKNOWN.
+     */
+    private int get(int index) {
+        return table[index >>> 2] >>> ((index & 3) * 2) & 3;
+    }
+
+    /**
+     * Записать результат позиции.
+     *
+     * @param index номер позиции.
+     * @param value результат.
+     */
+    private void set(int index, int value) {
+        table[index >>> 2] |= (byte) (value << ((index & 3) * 2));
+        solvedCount++;
+    }
+
+    /**
+     * Записать таблицу в файл.
+     *
+     * @param path  путь к файлу.
+     * @throws IOException если файл не удалось записать.
+     */
+    public void write(Path path) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer header = ByteBuffer.allocate(Tablebase.HEADER_SIZE);
+            Tablebase.writeHeader(header, SIZE, WIN_LENGTH);
+            header.flip();
+            ByteBuffer data = ByteBuffer.wrap(table);
+            while (header.hasRemaining() || data.hasRemaining()) {
+                channel.write(new ByteBuffer[]{header, data});
+            }
+        }
+    }
+
+    /**
+     * Геттер.
+     *
+     * @return количество решённых позиций.
+     */
+    public int getSolvedCount() {
+        return solvedCount;
+    }
+
+    /**
+     * Построить таблицы в файлы по умолчанию (см. Tablebase.getDefaultPath).
+     * Без аргументов строятся все таблицы для полей 3х3 и 4х4.
+     * Запуск: java game.ai.TablebaseGenerator [размер длина_комбинации]
+     */
+    public static void main(String[] args) throws IOException {
+        int minSize = args.length > 0 ? Integer.parseInt(args[0]) : 3;
+        int maxSize = args.length > 0 ? minSize : Tablebase.MAX_FIELD_SIZE;
+        for (int size = minSize; size <= maxSize; size++) {
+            int minWin = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+            int maxWin = args.length > 1 ? minWin : size;
+            for (int winLength = minWin; winLength <= maxWin; winLength++) {
+                long start = System.nanoTime();
+                TablebaseGenerator generator = new TablebaseGenerator(size, winLength);
+                int result = generator.generate();
+                Path path = Tablebase.getDefaultPath(size, winLength);
+                generator.write(path);
+                System.out.printf("%dx%d/%d: позиций %d, результат первого игрока %s, %.1f с, %s\n",
+                        size, size, winLength, generator.getSolvedCount(),
+                        result == Tablebase.WIN ? "выигрыш" : result == Tablebase.LOSS ? "проигрыш" : "ничья",
+                        (System.nanoTime() - start) / 1e9, path);
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,174 @@
+package game.ai;
+
+/**
+ * Таблица транспозиций: кеш результатов поиска по хешу позиции.
+ * Хранится в двух массивах long фиксированного размера, поэтому память не растёт по ходу игры
+ * и не создаются объекты на каждую запись. Каждая запись содержит глубину, тип оценки, оценку и лучший ход.
+ * При коллизии запись замещается, если новая глубина не меньше сохранённой
+ * или сохранённая запись осталась от предыдущего поиска.
+ * Таблицу можно использовать из нескольких потоков без блокировок: в массиве ключей хранится
+ * XOR хеша и данных записи, поэтому запись, наполовину перезаписанная другим потоком,
+ * не проходит проверку и считается отсутствующей.
+ */
+public class TranspositionTable {
+
+    /**
+     * Точная оценка.
+     */
+    public static final int EXACT = 0;
+
+    /**
+     * Нижняя граница оценки (было отсечение по beta).
+     */
+    public static final int LOWER_BOUND = 1;
+
+    /**
+     * Верхняя граница оценки (ни один ход не улучшил alpha).
+     */
+    public static final int UPPER_BOUND = 2;
+
+    /**
+     * Значение, возвращаемое probe, если позиции в таблице нет.
+     */
+    public static final long NOT_FOUND = 0;
+
+    /**
+     * Хеши позиций, объединённые операцией XOR с данными записей.
+     */
+    private final long[] keys;
+
+    /**
+     * Упакованные данные записей: оценка (биты 0-31), ход + 1 (32-47), глубина (48-55),
+     * тип оценки (56-57), поколение поиска (58-63).
+     */
+    private final long[] data;
+
+    /**
+     * Маска для получения номера записи из хеша.
+     */
+    private final int INDEX_MASK;
+
+    /**
+     * Номер текущего поиска, нужен для вытеснения устаревших записей.
+     */
+    private int generation;
+
+    /**
+     * Конструктор.
+     *
+     * @param sizeBits  логарифм количества записей по основанию 2 (например, 20 - около миллиона записей).
+     */
+    public TranspositionTable(int sizeBits) {
+        int size = 1 << sizeBits;
+        this.keys = new long[size];
+        this.data = new long[size];
+        this.INDEX_MASK = size - 1;
+    }
+
+    /**
+     * Начать новый поиск: записи предыдущих поисков становятся кандидатами на вытеснение.
+     */
+    public void newSearch() {
+        // Поколения идут по кругу от 1 до 63, чтобы заполненная запись никогда не была равна нулю.
+        generation = generation % 63 + 1;
+    }
+
+    /**
+     * Очистить таблицу.
+     */
+    public void clear() {
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = 0;
+            data[i] = 0;
+        }
+    }
+
+    /**
+     * Найти запись позиции.
+     *
+     * @param key   хеш позиции.
+     * @return      упакованные данные записи для статических геттеров, либо NOT_FOUND.
+     */
+    public long probe(long key) {
+        int index = (int) key & INDEX_MASK;
+        long entry = data[index];
+        return (keys[index] ^ entry) == key ? entry : NOT_FOUND;
+    }
+
+    /**
+     * Сохранить результат поиска позиции.
+     *
+     * @param key   хеш позиции.
+     * @param depth глубина, на которую просмотрена позиция.
+     * @param bound тип оценки.
+     * @param score оценка.
+     * @param move  лучший ход, либо NegamaxSearch.NO_MOVE.
+     */
+    public void store(long key, int depth, int bound, int score, int move) {
+        int index = (int) key & INDEX_MASK;
+        long entry = data[index];
+
+        if (entry != NOT_FOUND && (keys[index] ^ entry) != key
+                && getGeneration(entry) == generation && getDepth(entry) > depth) {
+            return;
+        }
+
+        entry = (score & 0xFFFFFFFFL)
+                | ((long) ((move + 1) & 0xFFFF) << 32)
+                | ((long) (depth & 0xFF) << 48)
+                | ((long) bound << 56)
+                | ((long) generation << 58);
+        data[index] = entry;
+        keys[index] = key ^ entry;
+    }
+
+    /**
+     * Поколение поиска, в котором сделана запись.
+     *
+     * @param entry упакованные данные записи.
+     * @return      номер поколения.
+     */
+    private static int getGeneration(long entry) {
+        return (int) (entry >>> 58);
+    }
+
+    /**
+     * Оценка из записи.
+     *
+     * @param entry упакованные данные записи.
+     * @return      оценка.
+     */
+    public static int getScore(long entry) {
+        return (int) entry;
+    }
+
+    /**
+     * Лучший ход из записи.
+     *
+     * @param entry упакованные данные записи.
+     * @return      номер ячейки, либо NegamaxSearch.NO_MOVE.
+     */
+    public static int getMove(long entry) {
+        return (int) ((entry >>> 32) & 0xFFFF) - 1;
+    }
+
+    /**
+     * Глубина из записи.
+     *
+     * @param entry упакованные данные записи.
+     * @return      глубина.
+     */
+    public static int getDepth(long entry) {
+        return (int) ((entry >>> 48) & 0xFF);
+    }
+
+    /**
+     * Тип оценки из записи.
+     *
+     * @param entry упакованные данные записи.
+     * @return      EXACT, LOWER_BOUND или UPPER_BOUND.
+     */
+    public static int getBound(long entry) {
+        return (int) ((entry >>> 56) & 0x3);
+    }
+}
\ No newline at end of file
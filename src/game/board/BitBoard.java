@@ -0,0 +1,239 @@
+package game.board;
+
+import game.enums.PlayerSymbol;
+
+/**
+ * Битовое представление игрового поля.
+ * Для каждого символа игрока хранится своя битовая маска: бит с номером (row * size + column)
+ * установлен, если в этой ячейке стоит символ игрока (строки и столбцы здесь нумеруются с нуля).
+ * Для полей до 8х8 включительно маска занимает один long, для полей большего размера - массив long.
+ * Геометрия линий берётся из общего для всех полей с такими параметрами LineIndex.
+ */
+public class BitBoard {
+
+    /**
+     * Количество бит в одном элементе маски.
+     */
+    private static final int WORD_SIZE = LineIndex.WORD_SIZE;
+
+    /**
+     * Длина выигрышной комбинации.
+     */
+    private final int WIN_LENGTH;
+
+    /**
+     * Индекс выигрышных линий.
+     */
+    private final LineIndex LINES;
+
+    /**
+     * Количество элементов long в маске одного игрока.
+     */
+    private final int WORDS_COUNT;
+
+    /**
+     * Маски символов игроков. Первый индекс - порядковый номер символа в PlayerSymbol.
+     */
+    private final long[][] bits;
+
+    /**
+     * Конструктор.
+     *
+     * @param size      размер игрового поля.
+     * @param winLength длина выигрышной комбинации.
+     */
+    public BitBoard(int size, int winLength) {
+        this.WIN_LENGTH = winLength;
+        this.LINES = LineIndex.get(size, winLength);
+        this.WORDS_COUNT = LINES.getWordsCount();
+        this.bits = new long[PlayerSymbol.values().length][WORDS_COUNT];
+    }
+
+    /**
+     * Очистить поле.
+     */
+    public void clear() {
+        for (long[] mask : bits) {
+            for (int i = 0; i < WORDS_COUNT; i++) {
+                mask[i] = 0;
+            }
+        }
+    }
+
+    /**
+     * Поставить символ игрока в ячейку.
+     *
+     * @param cell      номер ячейки (row * size + column, с нуля).
+     * @param symbol    символ игрока.
+     */
+    public void set(int cell, PlayerSymbol symbol) {
+        bits[symbol.ordinal()][cell / WORD_SIZE] |= 1L << (cell % WORD_SIZE);
+    }
+
+    /**
+     * Убрать символ из ячейки.
+     *
+     * @param cell номер ячейки.
+     */
+    public void remove(int cell) {
+        long mask = ~(1L << (cell % WORD_SIZE));
+        for (long[] playerBits : bits) {
+            playerBits[cell / WORD_SIZE] &= mask;
+        }
+    }
+
+    /**
+     * Проверка, занята ли ячейка.
+     *
+     * @param cell номер ячейки.
+     * @return     true, если в ячейке стоит символ любого из игроков.
+     */
+    public boolean isOccupied(int cell) {
+        long mask = 1L << (cell % WORD_SIZE);
+        for (long[] playerBits : bits) {
+            if ((playerBits[cell / WORD_SIZE] & mask) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Проверка, заполнено ли поле.
+     *
+     * @return true, если все ячейки заняты.
+     */
+    public boolean isFull() {
+        long[] fullMask = LINES.getFullMask();
+        for (int i = 0; i < WORDS_COUNT; i++) {
+            long occupied = 0;
+            for (long[] playerBits : bits) {
+                occupied |= playerBits[i];
+            }
+            if (occupied != fullMask[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Проверка, присутствует ли на поле выигрышная комбинация игрока.
+     *
+     * @param symbol    символ игрока.
+     * @return          true, если выигрышная комбинация присутствует на поле.
+     */
+    public boolean isWin(PlayerSymbol symbol) {
+        long[] playerBits = bits[symbol.ordinal()];
+
+        if (LINES.isCompact()) {
+            long mask = playerBits[0];
+            if (Long.bitCount(mask) < WIN_LENGTH) {
+                return false;
+            }
+
+            // После сдвигов и побитовых "И" в маске остаются только ячейки,
+            // от которых в данном направлении идёт WIN_LENGTH символов игрока подряд.
+            for (int direction = 0; direction < LINES.getDirectionsCount(); direction++) {
+                int shift = LINES.getShift(direction);
+                long line = mask;
+                for (int i = 1; i < WIN_LENGTH && line != 0; i++) {
+                    line &= mask >>> (shift * i);
+                }
+                if ((line & LINES.getStartMask(direction)) != 0) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        for (int line = 0; line < LINES.getLinesCount(); line++) {
+            if (containsLine(playerBits, LINES.getLineMask(line), -1)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Проверка, образует ли символ игрока в ячейке выигрышную комбинацию.
+     * Сама ячейка считается занятой игроком, проверяются только линии, проходящие через неё.
+     *
+     * @param cell      номер ячейки.
+     * @param symbol    символ игрока.
+     * @return          true, если через ячейку проходит выигрышная комбинация.
+     */
+    public boolean isWinningMove(int cell, PlayerSymbol symbol) {
+        long[] playerBits = bits[symbol.ordinal()];
+        int[] cellLines = LINES.getCellLines(cell);
+
+        if (LINES.isCompact()) {
+            long mask = playerBits[0] | 1L << cell;
+            for (int line : cellLines) {
+                long lineMask = LINES.getCompactLineMask(line);
+                if ((mask & lineMask) == lineMask) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        for (int line : cellLines) {
+            if (containsLine(playerBits, LINES.getLineMask(line), cell)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Количество символов игрока в линии.
+     *
+     * @param line      номер линии в LineIndex.
+     * @param symbol    символ игрока.
+     * @return          количество занятых игроком ячеек линии.
+     */
+    public int countInLine(int line, PlayerSymbol symbol) {
+        long[] playerBits = bits[symbol.ordinal()];
+        if (LINES.isCompact()) {
+            return Long.bitCount(playerBits[0] & LINES.getCompactLineMask(line));
+        }
+
+        long[] lineMask = LINES.getLineMask(line);
+        int counter = 0;
+        for (int i = 0; i < WORDS_COUNT; i++) {
+            counter += Long.bitCount(playerBits[i] & lineMask[i]);
+        }
+        return counter;
+    }
+
+    /**
+     * Проверка, содержит ли маска игрока все ячейки выигрышной комбинации.
+     *
+     * @param playerBits    маска игрока.
+     * @param lineMask      маска выигрышной комбинации.
+     * @param extraCell     ячейка, которая считается занятой игроком, либо -1.
+     * @return              true, если все ячейки комбинации заняты игроком.
+     */
+    private boolean containsLine(long[] playerBits, long[] lineMask, int extraCell) {
+        for (int i = 0; i < WORDS_COUNT; i++) {
+            long mask = playerBits[i];
+            if (extraCell / WORD_SIZE == i && extraCell >= 0) {
+                mask |= 1L << (extraCell % WORD_SIZE);
+            }
+            if ((mask & lineMask[i]) != lineMask[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Геттер.
+     *
+     * @return индекс выигрышных линий.
+     */
+    public LineIndex getLineIndex() {
+        return LINES;
+    }
+}
\ No newline at end of file
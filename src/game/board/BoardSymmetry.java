@@ -0,0 +1,149 @@
+package game.board;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Симметрии квадратного игрового поля: 4 поворота и 4 отражения.
+ * Позиции, переходящие друг в друга при симметрии, равноценны, поэтому поиск, кеши
+ * и дебютная книга могут хранить и просматривать только одну из них - каноническую.
+ * Каноническим считается преобразование, дающее наименьший хеш позиции (см. GameField.getSymmetricHash).
+ * Ячейки нумеруются с нуля построчно: cell = row * size + column.
+ * Таблицы для поля каждого размера строятся один раз и общие для всех полей этого размера (см. get).
+ */
+public class BoardSymmetry {
+
+    /**
+     * Количество симметрий квадрата. Преобразование 0 - тождественное.
+     */
+    public static final int TRANSFORMS_COUNT = 8;
+
+    /**
+     * Построенные симметрии по размеру поля.
+     */
+    private static final Map<Integer, BoardSymmetry> CACHE = new ConcurrentHashMap<>();
+
+    /**
+     * Размер игрового поля.
+     */
+    private final int SIZE;
+
+    /**
+     * Образы ячеек при каждом преобразовании. Первый индекс - номер преобразования, второй - номер ячейки.
+     */
+    private final int[][] FORWARD;
+
+    /**
+     * Прообразы ячеек при каждом преобразовании (обратные преобразования).
+     */
+    private final int[][] BACKWARD;
+
+    /**
+     * Получить симметрии поля заданного размера. Таблицы строятся при первом обращении.
+     *
+     * @param size  размер игрового поля.
+     * @return      симметрии поля.
+     */
+    public static BoardSymmetry get(int size) {
+        return CACHE.computeIfAbsent(size, key -> new BoardSymmetry(size));
+    }
+
+    /**
+     * Конструктор.
+     *
+     * @param size размер игрового поля.
+     */
+    private BoardSymmetry(int size) {
+        this.SIZE = size;
+        this.FORWARD = new int[TRANSFORMS_COUNT][size * size];
+        this.BACKWARD = new int[TRANSFORMS_COUNT][size * size];
+
+        for (int transform = 0; transform < TRANSFORMS_COUNT; transform++) {
+            for (int row = 0; row < size; row++) {
+                for (int column = 0; column < size; column++) {
+                    int cell = row * size + column;
+                    int image = apply(transform, row, column);
+                    FORWARD[transform][cell] = image;
+                    BACKWARD[transform][image] = cell;
+                }
+            }
+        }
+    }
+
+    /**
+     * Применить преобразование к ячейке.
+     *
+     * @param transform номер преобразования.
+     * @param row       номер строки (с нуля).
+     * @param column    номер столбца (с нуля).
+     * @return          номер ячейки-образа.
+     */
+    private int apply(int transform, int row, int column) {
+        int last = SIZE - 1;
+        switch (transform) {
+            case 0:
+                return row * SIZE + column;
+            case 1:
+                // Поворот на 90 градусов по часовой стрелке.
+                return column * SIZE + (last - row);
+            case 2:
+                // Поворот на 180 градусов.
+                return (last - row) * SIZE + (last - column);
+            case 3:
+                // Поворот на 270 градусов по часовой стрелке.
+                return (last - column) * SIZE + row;
+            case 4:
+                // Отражение слева направо.
+                return row * SIZE + (last - column);
+            case 5:
+                // Отражение сверху вниз.
+                return (last - row) * SIZE + column;
+            case 6:
+                // Отражение относительно главной диагонали.
+                return column * SIZE + row;
+            default:
+                // Отражение относительно побочной диагонали.
+                return (last - column) * SIZE + (last - row);
+        }
+    }
+
+    /**
+     * Образ ячейки при преобразовании: перевод хода в систему координат канонической позиции.
+     *
+     * @param cell      номер ячейки.
+     * @param transform номер преобразования.
+     * @return          номер ячейки-образа.
+     */
+    public int toCanonical(int cell, int transform) {
+        return FORWARD[transform][cell];
+    }
+
+    /**
+     * Прообраз ячейки при преобразовании: перевод хода из канонической позиции обратно на реальное поле.
+     *
+     * @param cell      номер ячейки в канонической позиции.
+     * @param transform номер преобразования.
+     * @return          номер ячейки на реальном поле.
+     */
+    public int fromCanonical(int cell, int transform) {
+        return BACKWARD[transform][cell];
+    }
+
+    /**
+     * Проверка, является ли ячейка представителем своего класса эквивалентности
+     * относительно преобразований, не меняющих позицию. Из равноценных ходов достаточно
+     * просматривать только представителей.
+     *
+     * @param cell          номер ячейки.
+     * @param stabilizer    битовая маска преобразований, переводящих позицию в саму себя.
+     * @return              true, если ячейка - наименьшая среди своих образов.
+     */
+    public boolean isRepresentative(int cell, int stabilizer) {
+        for (int transform = 1; transform < TRANSFORMS_COUNT; transform++) {
+            if ((stabilizer & (1 << transform)) != 0 && FORWARD[transform][cell] < cell) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,202 @@
+package game.board;
+
+import java.util.Arrays;
+
+/**
+ * Множество ячеек-кандидатов для хода: свободные ячейки на расстоянии не больше DISTANCE
+ * (по строкам и по столбцам) от какого-нибудь символа. Остальные свободные ячейки на большом поле
+ * почти никогда не влияют на исход, поэтому поиск может перебирать только кандидатов.
+ * Для каждой ячейки хранится количество символов в её окрестности; постановка и удаление символа
+ * обновляют только окрестность ячейки, то есть (2 * DISTANCE + 1)^2 счётчиков.
+ * Кандидаты хранятся плотным массивом, как в FreeCells, так что перебор идёт за O(количество кандидатов).
+ */
+public class CandidateCells {
+
+    /**
+     * Расстояние окрестности по умолчанию.
+     */
+    public static final int DEFAULT_DISTANCE = 2;
+
+    /**
+     * Позиция ячейки, которая не является кандидатом.
+     */
+    private static final int ABSENT = -1;
+
+    /**
+     * Расстояние окрестности.
+     */
+    private final int DISTANCE;
+
+    /**
+     * Окрестности ячеек: номера ячеек на расстоянии не больше DISTANCE, кроме самой ячейки.
+     */
+    private final int[][] NEIGHBOURS;
+
+    /**
+     * Количество символов в окрестности каждой ячейки.
+     */
+    private final int[] stonesNearby;
+
+    /**
+     * Занята ли ячейка символом.
+     */
+    private final boolean[] occupied;
+
+    /**
+     * Кандидаты (первые count элементов).
+     */
+    private final int[] cells;
+
+    /**
+     * Позиция каждой ячейки в массиве cells, либо ABSENT.
+     */
+    private final int[] positions;
+
+    /**
+     * Количество кандидатов.
+     */
+    private int count;
+
+    /**
+     * Конструктор. Поле пустое, кандидатов нет.
+     *
+     * @param fieldSize размер игрового поля.
+     * @param distance  расстояние окрестности.
+     */
+    public CandidateCells(int fieldSize, int distance) {
+        int cellsCount = fieldSize * fieldSize;
+        this.DISTANCE = distance;
+        this.NEIGHBOURS = new int[cellsCount][];
+        this.stonesNearby = new int[cellsCount];
+        this.occupied = new boolean[cellsCount];
+        this.cells = new int[cellsCount];
+        this.positions = new int[cellsCount];
+
+        int[] buffer = new int[(2 * distance + 1) * (2 * distance + 1)];
+        for (int cell = 0; cell < cellsCount; cell++) {
+            int row = cell / fieldSize;
+            int column = cell % fieldSize;
+            int neighboursCount = 0;
+            for (int r = Math.max(0, row - distance); r <= Math.min(fieldSize - 1, row + distance); r++) {
+                for (int c = Math.max(0, column - distance); c <= Math.min(fieldSize - 1, column + distance); c++) {
+                    if (r != row || c != column) {
+                        buffer[neighboursCount++] = r * fieldSize + c;
+                    }
+                }
+            }
+            NEIGHBOURS[cell] = Arrays.copyOf(buffer, neighboursCount);
+        }
+        clear();
+    }
+
+    /**
+     * Очистить поле: символов и кандидатов нет.
+     */
+    public void clear() {
+        for (int cell = 0; cell < cells.length; cell++) {
+            stonesNearby[cell] = 0;
+            occupied[cell] = false;
+            positions[cell] = ABSENT;
+        }
+        count = 0;
+    }
+
+    /**
+     * Учесть символ, поставленный в ячейку.
+     *
+     * @param cell номер ячейки.
+     */
+    public void place(int cell) {
+        occupied[cell] = true;
+        removeCandidate(cell);
+        for (int neighbour : NEIGHBOURS[cell]) {
+            if (stonesNearby[neighbour]++ == 0 && !occupied[neighbour]) {
+                addCandidate(neighbour);
+            }
+        }
+    }
+
+    /**
+     * Учесть символ, удалённый из ячейки.
+     *
+     * @param cell номер ячейки.
+     */
+    public void remove(int cell) {
+        occupied[cell] = false;
+        for (int neighbour : NEIGHBOURS[cell]) {
+            if (--stonesNearby[neighbour] == 0) {
+                removeCandidate(neighbour);
+            }
+        }
+        if (stonesNearby[cell] > 0) {
+            addCandidate(cell);
+        }
+    }
+
+    /**
+     * Добавить ячейку в массив кандидатов.
+     *
+     * @param cell номер ячейки.
+     */
+    private void addCandidate(int cell) {
+        if (positions[cell] != ABSENT) {
+            return;
+        }
+        cells[count] = cell;
+        positions[cell] = count++;
+    }
+
+    /**
+     * Убрать ячейку из массива кандидатов (перестановкой с последним).
+     *
+     * @param cell номер ячейки.
+     */
+    private void removeCandidate(int cell) {
+        int position = positions[cell];
+        if (position == ABSENT) {
+            return;
+        }
+        int last = cells[--count];
+        cells[position] = last;
+        positions[last] = position;
+        positions[cell] = ABSENT;
+    }
+
+    /**
+     * Проверка, является ли ячейка кандидатом.
+     *
+     * @param cell номер ячейки.
+     * @return     true, если ячейка свободна и рядом с ней есть символ.
+     */
+    public boolean contains(int cell) {
+        return positions[cell] != ABSENT;
+    }
+
+    /**
+     * Кандидат по его позиции в множестве. Порядок произвольный и меняется после каждого хода.
+     *
+     * @param index позиция от 0 до getCount() - 1.
+     * @return      номер ячейки.
+     */
+    public int get(int index) {
+        return cells[index];
+    }
+
+    /**
+     * Геттер.
+     *
+     * @return количество кандидатов.
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * Геттер.
+     *
+     * @return расстояние окрестности.
+     */
+    public int getDistance() {
+        return DISTANCE;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,89 @@
+package game.board;
+
+import game.enums.Direction;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Предвычисленные расстояния от каждой ячейки до края поля по каждому направлению.
+ * Позволяют проверять выход за пределы поля заранее, а не ловить ArrayIndexOutOfBoundsException.
+ * Таблица для поля каждого размера строится один раз и общая для всех игроков и поисков (см. get).
+ */
+public class DirectionRanges {
+
+    /**
+     * Построенные таблицы по размеру поля.
+     */
+    private static final Map<Integer, DirectionRanges> CACHE = new ConcurrentHashMap<>();
+
+    /**
+     * Размер игрового поля.
+     */
+    private final int SIZE;
+
+    /**
+     * Количество ячеек от ячейки до края поля (сама ячейка не учитывается).
+     * Первый индекс - порядковый номер направления, второй - номер ячейки (row * size + column, с нуля).
+     */
+    private final int[][] REACH;
+
+    /**
+     * Получить таблицу для поля заданного размера. Таблица строится при первом обращении.
+     *
+     * @param size  размер игрового поля.
+     * @return      расстояния до края поля.
+     */
+    public static DirectionRanges get(int size) {
+        return CACHE.computeIfAbsent(size, key -> new DirectionRanges(size));
+    }
+
+    /**
+     * Конструктор.
+     *
+     * @param size размер игрового поля.
+     */
+    private DirectionRanges(int size) {
+        this.SIZE = size;
+        this.REACH = new int[Direction.values().length][size * size];
+
+        for (Direction direction : Direction.values()) {
+            for (int row = 0; row < size; row++) {
+                for (int column = 0; column < size; column++) {
+                    REACH[direction.ordinal()][row * size + column] =
+                            Math.min(getAxisReach(row, direction.getRowStep()),
+                                    getAxisReach(column, direction.getColumnStep()));
+                }
+            }
+        }
+    }
+
+    /**
+     * Расстояние до края поля вдоль одной координаты.
+     *
+     * @param coordinate    координата (с нуля).
+     * @param step          смещение за один шаг.
+     * @return              количество шагов до края поля.
+     */
+    private int getAxisReach(int coordinate, int step) {
+        if (step > 0) {
+            return SIZE - 1 - coordinate;
+        }
+        if (step < 0) {
+            return coordinate;
+        }
+        return Integer.MAX_VALUE;
+    }
+
+    /**
+     * Количество ячеек от указанной ячейки до края поля в заданном направлении.
+     *
+     * @param row       номер строки (с единицы, как в GameField).
+     * @param column    номер столбца (с единицы, как в GameField).
+     * @param direction направление.
+     * @return          количество ячеек, не считая саму ячейку.
+     */
+    public int getReach(int row, int column, Direction direction) {
+        return REACH[direction.ordinal()][(row - 1) * SIZE + column - 1];
+    }
+}
\ No newline at end of file
@@ -0,0 +1,121 @@
+package game.board;
+
+/**
+ * Множество свободных ячеек поля.
+ * Ячейки хранятся плотным массивом, а для каждой ячейки запоминается её позиция в нём, поэтому
+ * добавление, удаление (перестановкой с последним элементом), проверка заполненности и выбор
+ * случайной свободной ячейки выполняются за O(1), а перебор свободных ячеек - за O(количество свободных).
+ * Порядок ячеек в массиве меняется при удалении и не совпадает с порядком номеров ячеек.
+ */
+public class FreeCells {
+
+    /**
+     * Позиция занятой ячейки.
+     */
+    private static final int OCCUPIED = -1;
+
+    /**
+     * Свободные ячейки (первые count элементов).
+     */
+    private final int[] cells;
+
+    /**
+     * Позиция каждой ячейки в массиве cells, либо OCCUPIED.
+     */
+    private final int[] positions;
+
+    /**
+     * Количество свободных ячеек.
+     */
+    private int count;
+
+    /**
+     * Конструктор. Все ячейки свободны.
+     *
+     * @param cellsCount количество ячеек поля.
+     */
+    public FreeCells(int cellsCount) {
+        this.cells = new int[cellsCount];
+        this.positions = new int[cellsCount];
+        clear();
+    }
+
+    /**
+     * Освободить все ячейки.
+     */
+    public void clear() {
+        for (int cell = 0; cell < cells.length; cell++) {
+            cells[cell] = cell;
+            positions[cell] = cell;
+        }
+        count = cells.length;
+    }
+
+    /**
+     * Отметить ячейку как занятую.
+     *
+     * @param cell номер ячейки.
+     */
+    public void remove(int cell) {
+        int position = positions[cell];
+        if (position == OCCUPIED) {
+            return;
+        }
+        int last = cells[--count];
+        cells[position] = last;
+        positions[last] = position;
+        cells[count] = cell;
+        positions[cell] = OCCUPIED;
+    }
+
+    /**
+     * Отметить ячейку как свободную.
+     *
+     * @param cell номер ячейки.
+     */
+    public void add(int cell) {
+        if (positions[cell] != OCCUPIED) {
+            return;
+        }
+        cells[count] = cell;
+        positions[cell] = count++;
+    }
+
+    /**
+     * Проверка, свободна ли ячейка.
+     *
+     * @param cell номер ячейки.
+     * @return     true, если ячейка свободна.
+     */
+    public boolean contains(int cell) {
+        return positions[cell] != OCCUPIED;
+    }
+
+    /**
+     * Свободная ячейка по её позиции в множестве.
+     *
+     * @param index позиция от 0 до getCount() - 1.
+     * @return      номер ячейки.
+     */
+    public int get(int index) {
+        return cells[index];
+    }
+
+    /**
+     * Геттер.
+     *
+     * @return количество свободных ячеек.
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * Проверка, заполнено ли поле.
+     *
+     * @return true, если свободных ячеек нет.
+     */
+    public boolean isEmpty() {
+        return count == 0;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,316 @@
+package game.board;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Неизменяемый индекс всех выигрышных линий поля: для каждой линии - её ячейки и битовая маска,
+ * для каждой ячейки - номера проходящих через неё линий.
+ * Индекс строится один раз для каждой пары (размер поля, длина комбинации) и кешируется,
+ * поэтому все поля, игроки и оценочные функции с одинаковыми параметрами пользуются одним экземпляром.
+ * Ячейки нумеруются с нуля построчно: cell = row * size + column.
+ */
+public class LineIndex {
+
+    /**
+     * Количество бит в одном элементе маски.
+     */
+    public static final int WORD_SIZE = 64;
+
+    /**
+     * Смещения по строке для четырёх направлений: вправо, вниз, вниз-вправо, вниз-влево.
+     */
+    private static final int[] ROW_STEPS = {0, 1, 1, 1};
+
+    /**
+     * Смещения по столбцу для четырёх направлений: вправо, вниз, вниз-вправо, вниз-влево.
+     */
+    private static final int[] COLUMN_STEPS = {1, 0, 1, -1};
+
+    /**
+     * Построенные индексы по ключу size * 256 + winLength.
+     */
+    private static final Map<Integer, LineIndex> CACHE = new ConcurrentHashMap<>();
+
+    /**
+     * Размер игрового поля.
+     */
+    private final int SIZE;
+
+    /**
+     * Длина выигрышной комбинации.
+     */
+    private final int WIN_LENGTH;
+
+    /**
+     * Количество элементов long в маске поля.
+     */
+    private final int WORDS_COUNT;
+
+    /**
+     * Ячейки каждой линии по порядку от начала.
+     */
+    private final int[][] LINES;
+
+    /**
+     * Маски линий.
+     */
+    private final long[][] LINE_MASKS;
+
+    /**
+     * Маски линий для полей до 8х8 включительно (маска помещается в один long), иначе null.
+     */
+    private final long[] COMPACT_LINE_MASKS;
+
+    /**
+     * Номера линий, проходящих через каждую ячейку.
+     */
+    private final int[][] CELL_LINES;
+
+    /**
+     * Маска, в которой установлены биты всех ячеек поля.
+     */
+    private final long[] FULL_MASK;
+
+    /**
+     * Величина сдвига маски для каждого направления (для полей не больше 8х8).
+     */
+    private final int[] SHIFTS;
+
+    /**
+     * Маски ячеек, с которых в данном направлении может начинаться линия (для полей не больше 8х8).
+     */
+    private final long[] START_MASKS;
+
+    /**
+     * Получить индекс для поля с заданными параметрами. Индекс строится при первом обращении.
+     *
+     * @param size      размер игрового поля.
+     * @param winLength длина выигрышной комбинации.
+     * @return          индекс линий.
+     */
+    public static LineIndex get(int size, int winLength) {
+        return CACHE.computeIfAbsent(size * 256 + winLength, key -> new LineIndex(size, winLength));
+    }
+
+    /**
+     * Конструктор.
+     *
+     * @param size      размер игрового поля.
+     * @param winLength длина выигрышной комбинации.
+     */
+    private LineIndex(int size, int winLength) {
+        this.SIZE = size;
+        this.WIN_LENGTH = winLength;
+        this.WORDS_COUNT = (size * size + WORD_SIZE - 1) / WORD_SIZE;
+
+        FULL_MASK = new long[WORDS_COUNT];
+        for (int cell = 0; cell < size * size; cell++) {
+            FULL_MASK[cell / WORD_SIZE] |= 1L << (cell % WORD_SIZE);
+        }
+
+        int linesCount = 0;
+        for (int direction = 0; direction < ROW_STEPS.length; direction++) {
+            for (int row = 0; row < size; row++) {
+                for (int column = 0; column < size; column++) {
+                    if (isLineInside(row, column, direction)) {
+                        linesCount++;
+                    }
+                }
+            }
+        }
+
+        LINES = new int[linesCount][winLength];
+        LINE_MASKS = new long[linesCount][WORDS_COUNT];
+        int[] cellLinesCounts = new int[size * size];
+        int line = 0;
+        for (int direction = 0; direction < ROW_STEPS.length; direction++) {
+            for (int row = 0; row < size; row++) {
+                for (int column = 0; column < size; column++) {
+                    if (!isLineInside(row, column, direction)) {
+                        continue;
+                    }
+                    for (int i = 0; i < winLength; i++) {
+                        int cell = (row + ROW_STEPS[direction] * i) * size + column + COLUMN_STEPS[direction] * i;
+                        LINES[line][i] = cell;
+                        LINE_MASKS[line][cell / WORD_SIZE] |= 1L << (cell % WORD_SIZE);
+                        cellLinesCounts[cell]++;
+                    }
+                    line++;
+                }
+            }
+        }
+
+        CELL_LINES = new int[size * size][];
+        for (int cell = 0; cell < CELL_LINES.length; cell++) {
+            CELL_LINES[cell] = new int[cellLinesCounts[cell]];
+            cellLinesCounts[cell] = 0;
+        }
+        for (line = 0; line < linesCount; line++) {
+            for (int cell : LINES[line]) {
+                CELL_LINES[cell][cellLinesCounts[cell]++] = line;
+            }
+        }
+
+        if (WORDS_COUNT == 1) {
+            COMPACT_LINE_MASKS = new long[linesCount];
+            for (line = 0; line < linesCount; line++) {
+                COMPACT_LINE_MASKS[line] = LINE_MASKS[line][0];
+            }
+
+            SHIFTS = new int[ROW_STEPS.length];
+            START_MASKS = new long[ROW_STEPS.length];
+            for (int direction = 0; direction < ROW_STEPS.length; direction++) {
+                SHIFTS[direction] = ROW_STEPS[direction] * size + COLUMN_STEPS[direction];
+                for (int row = 0; row < size; row++) {
+                    for (int column = 0; column < size; column++) {
+                        if (isLineInside(row, column, direction)) {
+                            START_MASKS[direction] |= 1L << (row * size + column);
+                        }
+                    }
+                }
+            }
+        } else {
+            COMPACT_LINE_MASKS = null;
+            SHIFTS = null;
+            START_MASKS = null;
+        }
+    }
+
+    /**
+     * Проверка, помещается ли линия, начинающаяся в указанной ячейке, в пределы поля.
+     *
+     * @param row       номер строки (с нуля).
+     * @param column    номер столбца (с нуля).
+     * @param direction номер направления.
+     * @return          true, если линия целиком лежит на поле.
+     */
+    private boolean isLineInside(int row, int column, int direction) {
+        int lastRow = row + ROW_STEPS[direction] * (WIN_LENGTH - 1);
+        int lastColumn = column + COLUMN_STEPS[direction] * (WIN_LENGTH - 1);
+        return lastRow >= 0 && lastRow < SIZE && lastColumn >= 0 && lastColumn < SIZE;
+    }
+
+    /**
+     * Проверка, помещается ли маска поля в один long.
+     *
+     * @return true, если поле не больше 8х8.
+     */
+    public boolean isCompact() {
+        return WORDS_COUNT == 1;
+    }
+
+    /**
+     * Геттер.
+     *
+     * @return количество линий.
+     */
+    public int getLinesCount() {
+        return LINES.length;
+    }
+
+    /**
+     * Ячейки линии. Массив общий, изменять его нельзя.
+     *
+     * @param line  номер линии.
+     * @return      номера ячеек по порядку от начала линии.
+     */
+    public int[] getLine(int line) {
+        return LINES[line];
+    }
+
+    /**
+     * Маска линии. Массив общий, изменять его нельзя.
+     *
+     * @param line  номер линии.
+     * @return      маска из getWordsCount() элементов.
+     */
+    public long[] getLineMask(int line) {
+        return LINE_MASKS[line];
+    }
+
+    /**
+     * Маска линии для поля не больше 8х8.
+     *
+     * @param line  номер линии.
+     * @return      маска.
+     */
+    public long getCompactLineMask(int line) {
+        return COMPACT_LINE_MASKS[line];
+    }
+
+    /**
+     * Линии, проходящие через ячейку. Массив общий, изменять его нельзя.
+     *
+     * @param cell  номер ячейки.
+     * @return      номера линий.
+     */
+    public int[] getCellLines(int cell) {
+        return CELL_LINES[cell];
+    }
+
+    /**
+     * Маска всех ячеек поля. Массив общий, изменять его нельзя.
+     *
+     * @return маска из getWordsCount() элементов.
+     */
+    public long[] getFullMask() {
+        return FULL_MASK;
+    }
+
+    /**
+     * Количество направлений линий (вправо, вниз, вниз-вправо, вниз-влево).
+     *
+     * @return количество направлений.
+     */
+    public int getDirectionsCount() {
+        return ROW_STEPS.length;
+    }
+
+    /**
+     * Сдвиг маски на одну ячейку в направлении (для поля не больше 8х8).
+     *
+     * @param direction номер направления.
+     * @return          величина сдвига в битах.
+     */
+    public int getShift(int direction) {
+        return SHIFTS[direction];
+    }
+
+    /**
+     * Маска ячеек, с которых в направлении может начинаться линия (для поля не больше 8х8).
+     *
+     * @param direction номер направления.
+     * @return          маска.
+     */
+    public long getStartMask(int direction) {
+        return START_MASKS[direction];
+    }
+
+    /**
+     * Геттер.
+     *
+     * @return количество элементов long в маске поля.
+     */
+    public int getWordsCount() {
+        return WORDS_COUNT;
+    }
+
+    /**
+     * Геттер.
+     *
+     * @return размер игрового поля.
+     */
+    public int getSize() {
+        return SIZE;
+    }
+
+    /**
+     * Геттер.
+     *
+     * @return длина выигрышной комбинации.
+     */
+    public int getWinLength() {
+        return WIN_LENGTH;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,263 @@
+package game.board;
+
+import game.enums.PlayerSymbol;
+
+import java.util.Arrays;
+
+/**
+ * Инкрементальный учёт символов в выигрышных линиях.
+ * Для каждой линии из LineIndex хранится количество символов каждого игрока. При постановке
+ * или удалении символа пересчитываются только линии, проходящие через ячейку, а вместе с ними -
+ * оценка позиции и множество "угроз" (линий, где игроку не хватает одного символа, а соперника нет).
+ * Поэтому проверки "можно выиграть одним ходом", "нужно блокировать" и оценка позиции выполняются за O(1).
+ * Счётчики хранятся байтами, а массив угроз растёт по мере надобности: трекер есть у каждого поля,
+ * в том числе у тысяч простаивающих партий сервера, а угроз в позиции обычно единицы.
+ */
+public class ThreatTracker {
+
+    /**
+     * Значение для отсутствующей ячейки.
+     */
+    public static final int NO_CELL = -1;
+
+    /**
+     * Количество игроков.
+     */
+    private static final int PLAYERS_COUNT = PlayerSymbol.values().length;
+
+    /**
+     * Начальная ёмкость массива угроз игрока.
+     */
+    private static final int INITIAL_THREATS_CAPACITY = 4;
+
+    /**
+     * Индекс выигрышных линий.
+     */
+    private final LineIndex LINES;
+
+    /**
+     * Длина выигрышной комбинации.
+     */
+    private final int WIN_LENGTH;
+
+    /**
+     * Количество символов в каждой линии. Первый индекс - порядковый номер символа в PlayerSymbol.
+     */
+    private final byte[][] counts;
+
+    /**
+     * Символ в каждой ячейке: порядковый номер в PlayerSymbol плюс один, 0 - пусто.
+     */
+    private final byte[] cells;
+
+    /**
+     * Линии-угрозы каждого игрока (первые threatsCounts[игрок] элементов).
+     */
+    private final int[][] threats;
+
+    /**
+     * Количество линий-угроз каждого игрока.
+     */
+    private final int[] threatsCounts;
+
+    /**
+     * Оценка позиции с точки зрения игрока X.
+     */
+    private int score;
+
+    /**
+     * Конструктор.
+     *
+     * @param lines индекс выигрышных линий.
+     */
+    public ThreatTracker(LineIndex lines) {
+        this.LINES = lines;
+        this.WIN_LENGTH = lines.getWinLength();
+        this.counts = new byte[PLAYERS_COUNT][lines.getLinesCount()];
+        this.cells = new byte[lines.getSize() * lines.getSize()];
+        this.threats = new int[PLAYERS_COUNT][INITIAL_THREATS_CAPACITY];
+        this.threatsCounts = new int[PLAYERS_COUNT];
+        clear();
+    }
+
+    /**
+     * Очистить поле.
+     */
+    public void clear() {
+        for (int player = 0; player < PLAYERS_COUNT; player++) {
+            Arrays.fill(counts[player], (byte) 0);
+            threatsCounts[player] = 0;
+        }
+        for (int cell = 0; cell < cells.length; cell++) {
+            cells[cell] = 0;
+        }
+        score = 0;
+    }
+
+    /**
+     * Учесть символ, поставленный в свободную ячейку.
+     *
+     * @param cell      номер ячейки.
+     * @param symbol    символ игрока.
+     */
+    public void place(int cell, PlayerSymbol symbol) {
+        cells[cell] = (byte) (symbol.ordinal() + 1);
+        update(cell, symbol.ordinal(), 1);
+    }
+
+    /**
+     * Учесть удаление символа из ячейки.
+     *
+     * @param cell номер ячейки.
+     */
+    public void remove(int cell) {
+        if (cells[cell] == 0) {
+            return;
+        }
+        int player = cells[cell] - 1;
+        cells[cell] = 0;
+        update(cell, player, -1);
+    }
+
+    /**
+     * Пересчитать линии, проходящие через ячейку.
+     *
+     * @param cell      номер ячейки.
+     * @param player    порядковый номер символа игрока.
+     * @param delta     +1 при постановке символа, -1 при удалении.
+     */
+    private void update(int cell, int player, int delta) {
+        for (int line : LINES.getCellLines(cell)) {
+            boolean wasXThreat = isThreat(line, PlayerSymbol.X.ordinal());
+            boolean wasOThreat = isThreat(line, PlayerSymbol.O.ordinal());
+            score -= getContribution(line);
+            counts[player][line] += delta;
+            score += getContribution(line);
+            updateThreat(line, PlayerSymbol.X.ordinal(), wasXThreat);
+            updateThreat(line, PlayerSymbol.O.ordinal(), wasOThreat);
+        }
+    }
+
+    /**
+     * Проверка, является ли линия угрозой игрока: ему не хватает одного символа, а символов соперника нет.
+     *
+     * @param line      номер линии.
+     * @param player    порядковый номер символа игрока.
+     * @return          true, если линия - угроза.
+     */
+    private boolean isThreat(int line, int player) {
+        return counts[player][line] == WIN_LENGTH - 1 && counts[PLAYERS_COUNT - 1 - player][line] == 0;
+    }
+
+    /**
+     * Вклад линии в оценку с точки зрения игрока X: линия, занятая только одним игроком,
+     * даёт ему вес по количеству его символов.
+     *
+     * @param line  номер линии.
+     * @return      вклад линии.
+     */
+    private int getContribution(int line) {
+        int xCounter = counts[PlayerSymbol.X.ordinal()][line];
+        int oCounter = counts[PlayerSymbol.O.ordinal()][line];
+        if (oCounter == 0) {
+            return getLineWeight(xCounter);
+        }
+        return xCounter == 0 ? -getLineWeight(oCounter) : 0;
+    }
+
+    /**
+     * Вес линии, занятой только одним игроком: каждый следующий символ увеличивает его в четыре раза.
+     *
+     * @param count количество символов игрока в линии.
+     * @return      вес линии, 0 для пустой линии.
+     */
+    private static int getLineWeight(int count) {
+        return count == 0 ? 0 : 1 << (2 * (count - 1));
+    }
+
+    /**
+     * Добавить линию в угрозы игрока или убрать её оттуда, если линия перестала или стала угрозой.
+     *
+     * @param line      номер линии.
+     * @param player    порядковый номер символа игрока.
+     * @param wasThreat была ли линия угрозой до изменения.
+     */
+    private void updateThreat(int line, int player, boolean wasThreat) {
+        boolean isThreat = isThreat(line, player);
+        if (isThreat && !wasThreat) {
+            if (threatsCounts[player] == threats[player].length) {
+                threats[player] = Arrays.copyOf(threats[player], threatsCounts[player] * 2);
+            }
+            threats[player][threatsCounts[player]++] = line;
+        } else if (!isThreat && wasThreat) {
+
+            // Угроз обычно единицы: находим линию перебором и удаляем перестановкой с последней.
+            int position = 0;
+            while (threats[player][position] != line) {
+                position++;
+            }
+            threats[player][position] = threats[player][--threatsCounts[player]];
+        }
+    }
+
+    /**
+     * Оценка позиции: сумма весов линий, занятых только одним игроком.
+     *
+     * @param symbol    символ игрока, с чьей точки зрения оценивается позиция.
+     * @return          оценка позиции.
+     */
+    public int getScore(PlayerSymbol symbol) {
+        return symbol == PlayerSymbol.X ? score : -score;
+    }
+
+    /**
+     * Проверка, может ли игрок выиграть одним ходом.
+     *
+     * @param symbol    символ игрока.
+     * @return          true, если у игрока есть линия-угроза.
+     */
+    public boolean hasWinningMove(PlayerSymbol symbol) {
+        return threatsCounts[symbol.ordinal()] > 0;
+    }
+
+    /**
+     * Количество линий, в которых игроку не хватает одного символа.
+     *
+     * @param symbol    символ игрока.
+     * @return          количество линий-угроз.
+     */
+    public int getThreatsCount(PlayerSymbol symbol) {
+        return threatsCounts[symbol.ordinal()];
+    }
+
+    /**
+     * Найти ячейку, ход в которую сразу выигрывает.
+     *
+     * @param symbol    символ игрока.
+     * @return          номер ячейки, либо NO_CELL.
+     */
+    public int findWinningCell(PlayerSymbol symbol) {
+        if (threatsCounts[symbol.ordinal()] == 0) {
+            return NO_CELL;
+        }
+
+        // В линии-угрозе ровно одна свободная ячейка.
+        for (int cell : LINES.getLine(threats[symbol.ordinal()][0])) {
+            if (cells[cell] == 0) {
+                return cell;
+            }
+        }
+        return NO_CELL;
+    }
+
+    /**
+     * Количество символов игрока в линии.
+     *
+     * @param line      номер линии в LineIndex.
+     * @param symbol    символ игрока.
+     * @return          количество символов.
+     */
+    public int getCount(int line, PlayerSymbol symbol) {
+        return counts[symbol.ordinal()][line];
+    }
+}
\ No newline at end of file
@@ -0,0 +1,84 @@
+package game.board;
+
+import game.enums.PlayerSymbol;
+
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Ключи Зобриста для хеширования позиций.
+ * Хеш позиции - это XOR ключей всех занятых ячеек, поэтому при постановке или удалении символа
+ * он пересчитывается одной операцией. Ключи генерируются с фиксированным зерном,
+ * так что хеши одинаковых позиций совпадают между запусками. Ключи для поля каждого размера
+ * строятся один раз и общие для всех полей этого размера (см. get).
+ */
+public class ZobristKeys {
+
+    /**
+     * Зерно генератора ключей.
+     */
+    private static final long SEED = 0x5EED_7AC7_0E5L;
+
+    /**
+     * Построенные ключи по размеру поля.
+     */
+    private static final Map<Integer, ZobristKeys> CACHE = new ConcurrentHashMap<>();
+
+    /**
+     * Ключи ячеек. Первый индекс - номер ячейки, второй - порядковый номер символа в PlayerSymbol.
+     */
+    private final long[][] KEYS;
+
+    /**
+     * Ключ, добавляемый к хешу, когда ходит игрок O.
+     */
+    private final long SIDE_KEY;
+
+    /**
+     * Получить ключи для поля заданного размера. Ключи строятся при первом обращении.
+     *
+     * @param fieldSize размер игрового поля.
+     * @return          ключи Зобриста.
+     */
+    public static ZobristKeys get(int fieldSize) {
+        return CACHE.computeIfAbsent(fieldSize, key -> new ZobristKeys(fieldSize * fieldSize));
+    }
+
+    /**
+     * Конструктор.
+     *
+     * @param cellsCount количество ячеек поля.
+     */
+    private ZobristKeys(int cellsCount) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        this.KEYS = new long[cellsCount][PlayerSymbol.values().length];
+        for (long[] cellKeys : KEYS) {
+            for (int i = 0; i < cellKeys.length; i++) {
+                cellKeys[i] = random.nextLong();
+            }
+        }
+        this.SIDE_KEY = random.nextLong();
+    }
+
+    /**
+     * Ключ символа в ячейке.
+     *
+     * @param cell      номер ячейки (с нуля).
+     * @param symbol    символ игрока.
+     * @return          ключ.
+     */
+    public long get(int cell, PlayerSymbol symbol) {
+        return KEYS[cell][symbol.ordinal()];
+    }
+
+    /**
+     * Ключ игрока, который ходит в позиции.
+     *
+     * @param symbol    символ ходящего игрока.
+     * @return          ключ, либо 0 для игрока X.
+     */
+    public long getSideKey(PlayerSymbol symbol) {
+        return symbol == PlayerSymbol.O ? SIDE_KEY : 0;
+    }
+}
\ No newline at end of file
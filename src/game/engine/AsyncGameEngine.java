@@ -0,0 +1,194 @@
+package game.engine;
+
+import game.GameField;
+import game.ai.MonteCarloTreeSearch;
+import game.enums.MoveResult;
+import game.enums.PlayerSymbol;
+import game.interfaces.AsyncPlayer;
+import game.metrics.Metrics;
+import game.metrics.MetricsReporter;
+import game.players.AsyncPlayerAdapter;
+import game.players.MonteCarloPlayer;
+import game.players.RandomPlayer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Асинхронный игровой движок: партия - цепочка продолжений CompletableFuture, поэтому ни один поток
+ * не ждёт хода игрока, и на небольшом пуле можно одновременно вести много партий.
+ * Если задано ограничение времени на ход, просроченный запрос хода завершается с ошибкой (игрок
+ * прерывает вычисление), а игрок проигрывает партию по времени. Время отсчитывается от запроса хода,
+ * поэтому в него входит и ожидание свободного потока в пуле игроков.
+ */
+public class AsyncGameEngine {
+
+    /**
+     * Значение для отсутствия ограничения по времени на ход.
+     */
+    public static final long NO_TIME_LIMIT = -1;
+
+    /**
+     * Экземпляр игрового поля.
+     */
+    private final GameField FIELD;
+
+    /**
+     * Игроки в порядке хода.
+     */
+    private final AsyncPlayer[] PLAYERS;
+
+    /**
+     * Пул, в котором выполняется логика партии между ходами.
+     */
+    private final ExecutorService EXECUTOR;
+
+    /**
+     * Ограничение по времени на ход в миллисекундах, либо NO_TIME_LIMIT.
+     */
+    private final long MOVE_TIMEOUT_MILLIS;
+
+    /**
+     * Игрок, проигравший по времени или из-за ошибки при выборе хода, либо null.
+     */
+    private volatile AsyncPlayer forfeitedPlayer;
+
+    /**
+     * Конструктор.
+     *
+     * @param field             экземпляр игрового поля.
+     * @param first             игрок, который ходит первым.
+     * @param second            игрок, который ходит вторым.
+     * @param executor          пул, в котором выполняется логика партии между ходами.
+     * @param moveTimeoutMillis ограничение по времени на ход в миллисекундах, либо NO_TIME_LIMIT.
+     */
+    public AsyncGameEngine(GameField field, AsyncPlayer first, AsyncPlayer second, ExecutorService executor,
+                           long moveTimeoutMillis) {
+        this.FIELD = field;
+        this.PLAYERS = new AsyncPlayer[]{first, second};
+        this.EXECUTOR = executor;
+        this.MOVE_TIMEOUT_MILLIS = moveTimeoutMillis;
+    }
+
+    /**
+     * Начать партию с текущей позиции на поле. Некорректный ход запрашивается у игрока повторно.
+     *
+     * @return future с победившим игроком, либо с null, если партия закончилась ничьей.
+     */
+    public CompletableFuture<AsyncPlayer> play() {
+        CompletableFuture<AsyncPlayer> winner = new CompletableFuture<>();
+        requestMove(0, winner);
+        return winner;
+    }
+
+    /**
+     * Запросить ход и продолжить партию, когда он будет готов.
+     *
+     * @param turn      номер хода.
+     * @param winner    future с итогом партии.
+     */
+    private void requestMove(int turn, CompletableFuture<AsyncPlayer> winner) {
+        AsyncPlayer player = PLAYERS[turn % PLAYERS.length];
+        long start = Metrics.ENABLED ? System.nanoTime() : 0;
+        CompletableFuture<Integer> move = player.requestMove();
+        if (MOVE_TIMEOUT_MILLIS != NO_TIME_LIMIT) {
+            move.orTimeout(MOVE_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+        }
+
+        // Продолжение выполняется в пуле движка, а не в потоке, где вычислялся ход.
+        move.whenCompleteAsync((cell, error) -> {
+            if (Metrics.ENABLED) {
+                Metrics.MOVE_LATENCY.record(System.nanoTime() - start);
+            }
+            if (error != null) {
+                forfeitedPlayer = player;
+                finish(winner, PLAYERS[(turn + 1) % PLAYERS.length]);
+                return;
+            }
+
+            MoveResult result = FIELD.placeAndCheck(player.getSymbol(), cell);
+            if (result == MoveResult.INVALID) {
+                if (Metrics.ENABLED) {
+                    Metrics.INVALID_MOVES.increment();
+                }
+                requestMove(turn, winner);
+            } else if (result == MoveResult.WIN) {
+                finish(winner, player);
+            } else if (result == MoveResult.DRAW) {
+                finish(winner, null);
+            } else {
+                requestMove(turn + 1, winner);
+            }
+        }, EXECUTOR);
+    }
+
+    /**
+     * Завершить партию.
+     *
+     * @param winner    future с итогом партии.
+     * @param player    победивший игрок, либо null при ничьей.
+     */
+    private void finish(CompletableFuture<AsyncPlayer> winner, AsyncPlayer player) {
+        if (Metrics.ENABLED) {
+            Metrics.GAMES_FINISHED.increment();
+        }
+        winner.complete(player);
+    }
+
+    /**
+     * Геттер.
+     *
+     * @return игрок, проигравший по времени или из-за ошибки при выборе хода, либо null.
+     */
+    public AsyncPlayer getForfeitedPlayer() {
+        return forfeitedPlayer;
+    }
+
+    /**
+     * Пример: много одновременных партий игрока Монте-Карло против случайного игрока на двух потоках.
+     * Если ограничение времени на ход меньше времени на раздумье, вычисления отменяются.
+     * Запуск: java game.engine.AsyncGameEngine [партий [мс_на_раздумье [мс_на_ход]]]
+     */
+    public static void main(String[] args) throws Exception {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        long thinkMillis = args.length > 1 ? Long.parseLong(args[1]) : 2;
+        long timeout = args.length > 2 ? Long.parseLong(args[2]) : 1000;
+
+        MetricsReporter.startIfEnabled();
+        ExecutorService engineExecutor = Executors.newFixedThreadPool(1);
+        ExecutorService playerExecutor = Executors.newFixedThreadPool(2);
+        long start = System.nanoTime();
+
+        List<AsyncGameEngine> engines = new ArrayList<>();
+        List<CompletableFuture<AsyncPlayer>> results = new ArrayList<>();
+        for (int game = 0; game < games; game++) {
+            GameField field = new GameField(7, 4);
+            AsyncPlayer strong = new AsyncPlayerAdapter((symbol, copy) -> new MonteCarloPlayer(symbol, copy,
+                    MonteCarloTreeSearch.DEFAULT_EXPLORATION, Long.MAX_VALUE, thinkMillis), PlayerSymbol.X, field,
+                    playerExecutor);
+            AsyncPlayer random = new AsyncPlayerAdapter(RandomPlayer::new, PlayerSymbol.O, field, playerExecutor);
+            AsyncGameEngine engine = new AsyncGameEngine(field, strong, random, engineExecutor, timeout);
+            engines.add(engine);
+            results.add(engine.play());
+        }
+
+        int wins = 0, forfeits = 0;
+        for (int game = 0; game < games; game++) {
+            AsyncPlayer winner = results.get(game).get();
+            if (engines.get(game).getForfeitedPlayer() != null) {
+                forfeits++;
+            } else if (winner != null && winner.getSymbol() == PlayerSymbol.X) {
+                wins++;
+            }
+        }
+        System.out.printf("Партий: %d, побед Монте-Карло: %d, поражений по времени: %d, время: %.1f с\n",
+                games, wins, forfeits, (System.nanoTime() - start) / 1e9);
+
+        engineExecutor.shutdown();
+        playerExecutor.shutdown();
+    }
+}
\ No newline at end of file
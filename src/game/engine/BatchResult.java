@@ -0,0 +1,124 @@
+package game.engine;
+
+/**
+ * Итог серии партий между двумя игроками с точки зрения первого из них.
+ */
+public class BatchResult {
+
+    /**
+     * Количество побед первого игрока.
+     */
+    private long wins;
+
+    /**
+     * Количество ничьих.
+     */
+    private long draws;
+
+    /**
+     * Количество поражений первого игрока.
+     */
+    private long losses;
+
+    /**
+     * Длительность серии в наносекундах.
+     */
+    private long elapsedNanos;
+
+    /**
+     * Учесть победу первого игрока.
+     */
+    void addWin() {
+        wins++;
+    }
+
+    /**
+     * Учесть ничью.
+     */
+    void addDraw() {
+        draws++;
+    }
+
+    /**
+     * Учесть поражение первого игрока.
+     */
+    void addLoss() {
+        losses++;
+    }
+
+    /**
+     * Добавить результаты другой серии (например, сыгранной в другом потоке).
+     *
+     * @param other результаты другой серии.
+     */
+    void merge(BatchResult other) {
+        wins += other.wins;
+        draws += other.draws;
+        losses += other.losses;
+    }
+
+    /**
+     * Сеттер.
+     *
+     * @param elapsedNanos длительность серии в наносекундах.
+     */
+    void setElapsedNanos(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Геттер.
+     *
+     * @return количество побед первого игрока.
+     */
+    public long getWins() {
+        return wins;
+    }
+
+    /**
+     * Геттер.
+     *
+     * @return количество ничьих.
+     */
+    public long getDraws() {
+        return draws;
+    }
+
+    /**
+     * Геттер.
+     *
+     * @return количество поражений первого игрока.
+     */
+    public long getLosses() {
+        return losses;
+    }
+
+    /**
+     * Геттер.
+     *
+     * @return общее количество партий.
+     */
+    public long getGames() {
+        return wins + draws + losses;
+    }
+
+    /**
+     * Скорость серии.
+     *
+     * @return количество партий в секунду.
+     */
+    public double getGamesPerSecond() {
+        return elapsedNanos == 0 ? 0 : getGames() * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    /**
+     * Строковое представление итогов серии.
+     *
+     * @return итоги серии.
+     */
+    @Override
+    public String toString() {
+        return String.format("партий: %d, побед: %d, ничьих: %d, поражений: %d, партий/с: %.0f",
+                getGames(), wins, draws, losses, getGamesPerSecond());
+    }
+}
\ No newline at end of file
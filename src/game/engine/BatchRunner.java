@@ -0,0 +1,216 @@
+package game.engine;
+
+import game.GameField;
+import game.enums.PlayerSymbol;
+import game.interfaces.Player;
+import game.interfaces.PlayerFactory;
+import game.metrics.MetricsReporter;
+import game.players.AlphaBetaPlayer;
+import game.players.ComputerPlayer;
+import game.players.MonteCarloPlayer;
+import game.players.TablebasePlayer;
+import game.record.GameRecordWriter;
+import game.record.GameRecorder;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Серия партий без участия человека между двумя типами игроков, например для регрессионной проверки ИИ.
+ * Игроки меняются символами в каждой партии, так что каждый половину партий ходит первым.
+ * Партии делятся между потоками; каждый поток создаёт своё поле и своих игроков один раз
+ * и перед каждой партией только очищает поле.
+ */
+public class BatchRunner {
+
+    /**
+     * Размер игрового поля.
+     */
+    private final int FIELD_SIZE;
+
+    /**
+     * Длина выигрышной комбинации.
+     */
+    private final int WIN_LENGTH;
+
+    /**
+     * Фабрика первого игрока (с его точки зрения считаются результаты).
+     */
+    private final PlayerFactory FIRST;
+
+    /**
+     * Фабрика второго игрока.
+     */
+    private final PlayerFactory SECOND;
+
+    /**
+     * Конструктор.
+     *
+     * @param fieldSize размер игрового поля.
+     * @param winLength длина выигрышной комбинации.
+     * @param first     фабрика первого игрока.
+     * @param second    фабрика второго игрока.
+     */
+    public BatchRunner(int fieldSize, int winLength, PlayerFactory first, PlayerFactory second) {
+        this.FIELD_SIZE = fieldSize;
+        this.WIN_LENGTH = winLength;
+        this.FIRST = first;
+        this.SECOND = second;
+    }
+
+    /**
+     * Сыграть серию партий.
+     *
+     * @param games     количество партий.
+     * @param threads   количество потоков.
+     * @return          итог серии с точки зрения первого игрока.
+     */
+    public BatchResult run(long games, int threads) {
+        return run(games, threads, null);
+    }
+
+    /**
+     * Сыграть серию партий с записью в журнал.
+     *
+     * @param games     количество партий.
+     * @param threads   количество потоков.
+     * @param writer    журнал партий, либо null, если партии записывать не нужно.
+     * @return          итог серии с точки зрения первого игрока.
+     */
+    public BatchResult run(long games, int threads, GameRecordWriter writer) {
+        long start = System.nanoTime();
+        BatchResult result = new BatchResult();
+
+        if (threads <= 1) {
+            result.merge(runPart(0, games, 1, writer));
+        } else {
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            try {
+                List<Future<BatchResult>> parts = new ArrayList<>();
+                for (int thread = 0; thread < threads; thread++) {
+                    int offset = thread;
+                    parts.add(executor.submit(() -> runPart(offset, games, threads, writer)));
+                }
+                for (Future<BatchResult> part : parts) {
+                    result.merge(part.get());
+                }
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            } finally {
+                executor.shutdown();
+            }
+        }
+
+        result.setElapsedNanos(System.nanoTime() - start);
+        return result;
+    }
+
+    /**
+     * Сыграть часть серии в текущем потоке: партии с номерами offset, offset + step, offset + 2 * step...
+     *
+     * @param offset    номер первой партии.
+     * @param games     общее количество партий в серии.
+     * @param step      шаг по номерам партий.
+     * @param writer    журнал партий, либо null.
+     * @return          итог сыгранных партий.
+     */
+    private BatchResult runPart(long offset, long games, int step, GameRecordWriter writer) {
+        GameField field = new GameField(FIELD_SIZE, WIN_LENGTH);
+        Player firstAsX = FIRST.create(PlayerSymbol.X, field);
+        Player firstAsO = FIRST.create(PlayerSymbol.O, field);
+        Player secondAsX = SECOND.create(PlayerSymbol.X, field);
+        Player secondAsO = SECOND.create(PlayerSymbol.O, field);
+        GameEngine firstStarts = new GameEngine(field, firstAsX, secondAsO,
+                writer == null ? null : new GameRecorder(writer, field, firstAsX, secondAsO));
+        GameEngine secondStarts = new GameEngine(field, secondAsX, firstAsO,
+                writer == null ? null : new GameRecorder(writer, field, secondAsX, firstAsO));
+
+        BatchResult result = new BatchResult();
+        try {
+            for (long game = offset; game < games; game += step) {
+                field.initialize();
+
+                // В чётных партиях первым ходит первый игрок, в нечётных - второй.
+                boolean isFirstStarting = game % 2 == 0;
+                Player winner = (isFirstStarting ? firstStarts : secondStarts).play();
+                if (winner == null) {
+                    result.addDraw();
+                } else if (winner == firstAsX || winner == firstAsO) {
+                    result.addWin();
+                } else {
+                    result.addLoss();
+                }
+            }
+        } finally {
+            closePlayers(firstAsX, firstAsO, secondAsX, secondAsO);
+        }
+        return result;
+    }
+
+    /**
+     * Закрыть игроков, которые держат ресурсы (например, пул потоков параллельного поиска).
+     *
+     * @param players игроки.
+     */
+    private static void closePlayers(Player... players) {
+        for (Player player : players) {
+            if (player instanceof AutoCloseable) {
+                try {
+                    ((AutoCloseable) player).close();
+                } catch (Exception e) {
+                    throw new RuntimeException(e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Фабрика игрока по имени для запуска из командной строки.
+     *
+     * @param name  имя: computer, alphabeta, montecarlo или tablebase.
+     * @return      фабрика игрока.
+     */
+    private static PlayerFactory getFactory(String name) {
+        switch (name) {
+            case "computer":
+                return (symbol, field) -> new ComputerPlayer(symbol, field, 0);
+            case "alphabeta":
+                return AlphaBetaPlayer::new;
+            case "montecarlo":
+                return MonteCarloPlayer::new;
+            case "tablebase":
+                return TablebasePlayer::new;
+            default:
+                throw new IllegalArgumentException("Неизвестный игрок: " + name);
+        }
+    }
+
+    /**
+     * Точка старта серии.
+     * Запуск: java game.engine.BatchRunner размер длина_комбинации партий [игрок1 игрок2 [потоки [журнал]]]
+     */
+    public static void main(String[] args) throws IOException {
+        int fieldSize = Integer.parseInt(args[0]);
+        int winLength = Integer.parseInt(args[1]);
+        long games = Long.parseLong(args[2]);
+        String first = args.length > 3 ? args[3] : "computer";
+        String second = args.length > 4 ? args[4] : "computer";
+        int threads = args.length > 5 ? Integer.parseInt(args[5]) : Runtime.getRuntime().availableProcessors();
+
+        MetricsReporter.startIfEnabled();
+        BatchRunner runner = new BatchRunner(fieldSize, winLength, getFactory(first), getFactory(second));
+        System.out.printf("%s против %s, поле %dx%d/%d\n", first, second, fieldSize, fieldSize, winLength);
+        if (args.length > 6) {
+            try (GameRecordWriter writer = new GameRecordWriter(Paths.get(args[6]))) {
+                System.out.println(runner.run(games, threads, writer));
+            }
+        } else {
+            System.out.println(runner.run(games, threads));
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,147 @@
+package game.engine;
+
+import game.GameField;
+import game.enums.MoveResult;
+import game.interfaces.GameListener;
+import game.interfaces.Player;
+import game.metrics.Metrics;
+import game.players.HumanPlayer;
+
+/**
+ * Игровой движок: проводит одну партию между двумя игроками на заданном поле.
+ * Не хранит статического состояния и ничего не выводит в консоль,
+ * всё взаимодействие с внешним миром идёт через GameListener.
+ * Игрок-человек может ошибаться сколько угодно, а остальные игроки после MAX_INVALID_MOVES
+ * некорректных ходов подряд проигрывают партию, чтобы ошибка в выборе хода не зациклила движок.
+ */
+public class GameEngine {
+
+    /**
+     * Сколько некорректных ходов подряд допускается для игрока, который не является человеком.
+     */
+    public static final int MAX_INVALID_MOVES = 3;
+
+    /**
+     * Экземпляр игрового поля.
+     */
+    private final GameField FIELD;
+
+    /**
+     * Игроки в порядке хода.
+     */
+    private final Player[] PLAYERS;
+
+    /**
+     * Наблюдатель за партией, либо null.
+     */
+    private final GameListener LISTENER;
+
+    /**
+     * Игрок, проигравший последнюю партию из-за некорректных ходов, либо null.
+     */
+    private Player forfeitedPlayer;
+
+    /**
+     * Конструктор движка без наблюдателя.
+     *
+     * @param field     экземпляр игрового поля.
+     * @param first     игрок, который ходит первым.
+     * @param second    игрок, который ходит вторым.
+     */
+    public GameEngine(GameField field, Player first, Player second) {
+        this(field, first, second, null);
+    }
+
+    /**
+     * Конструктор.
+     *
+     * @param field     экземпляр игрового поля.
+     * @param first     игрок, который ходит первым.
+     * @param second    игрок, который ходит вторым.
+     * @param listener  наблюдатель за партией, либо null.
+     */
+    public GameEngine(GameField field, Player first, Player second, GameListener listener) {
+        this.FIELD = field;
+        this.PLAYERS = new Player[]{first, second};
+        this.LISTENER = listener;
+    }
+
+    /**
+     * Сыграть партию с текущей позиции на поле. Перед первым ходом игроки готовятся к новой партии
+     * (см. Player.newGame). Некорректный ход запрашивается у игрока повторно, но не больше
+     * MAX_INVALID_MOVES раз, если игрок не человек: после этого он проигрывает (см. getForfeitedPlayer).
+     *
+     * @return победивший игрок, либо null, если партия закончилась ничьей.
+     */
+    public Player play() {
+        forfeitedPlayer = null;
+        for (Player player : PLAYERS) {
+            player.newGame();
+        }
+        for (int turn = 0; ; turn++) {
+            Player player = PLAYERS[turn % PLAYERS.length];
+            if (LISTENER != null) {
+                LISTENER.onTurn(player);
+            }
+
+            // Запрашиваем ход до тех пор, пока игрок не сделает корректный.
+            int move;
+            MoveResult result;
+            int invalidMoves = 0;
+            do {
+                long start = Metrics.ENABLED ? System.nanoTime() : 0;
+                move = player.makeMove();
+                if (Metrics.ENABLED) {
+                    Metrics.MOVE_LATENCY.record(System.nanoTime() - start);
+                }
+                result = FIELD.placeAndCheck(player.getSymbol(), move);
+                if (result == MoveResult.INVALID) {
+                    if (Metrics.ENABLED) {
+                        Metrics.INVALID_MOVES.increment();
+                    }
+                    if (++invalidMoves >= MAX_INVALID_MOVES && !(player instanceof HumanPlayer)) {
+                        return forfeit(player, PLAYERS[(turn + 1) % PLAYERS.length]);
+                    }
+                }
+            } while (result == MoveResult.INVALID);
+
+            if (LISTENER != null) {
+                LISTENER.onMove(player, move, result);
+            }
+
+            if (result == MoveResult.WIN || result == MoveResult.DRAW) {
+                if (Metrics.ENABLED) {
+                    Metrics.GAMES_FINISHED.increment();
+                }
+                return result == MoveResult.WIN ? player : null;
+            }
+        }
+    }
+
+    /**
+     * Закончить партию поражением игрока, который не смог сделать корректный ход.
+     *
+     * @param player    проигравший игрок.
+     * @param opponent  его соперник.
+     * @return          победивший игрок (соперник).
+     */
+    private Player forfeit(Player player, Player opponent) {
+        forfeitedPlayer = player;
+        if (LISTENER != null) {
+            LISTENER.onForfeit(player);
+        }
+        if (Metrics.ENABLED) {
+            Metrics.GAMES_FINISHED.increment();
+        }
+        return opponent;
+    }
+
+    /**
+     * Геттер.
+     *
+     * @return игрок, проигравший последнюю партию из-за некорректных ходов, либо null.
+     */
+    public Player getForfeitedPlayer() {
+        return forfeitedPlayer;
+    }
+}
\ No newline at end of file
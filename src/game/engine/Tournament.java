@@ -0,0 +1,137 @@
+package game.engine;
+
+import game.TicTacToe;
+import game.ai.MonteCarloTreeSearch;
+import game.interfaces.PlayerFactory;
+import game.metrics.MetricsReporter;
+import game.players.AlphaBetaPlayer;
+import game.players.ComputerPlayer;
+import game.players.MonteCarloPlayer;
+import game.players.RandomPlayer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Круговой турнир между игроками. Каждая пара участников играет серию партий
+ * на каждом допустимом поле: размер от MIN_FIELD_SIZE до MAX_FIELD_SIZE, длина комбинации
+ * от MIN_FIELD_SIZE до размера поля. Серии выполняются параллельно в ForkJoinPool:
+ * каждая серия создаёт собственное поле и собственных игроков, поэтому общего состояния у задач нет
+ * и турнир масштабируется по количеству ядер.
+ */
+public class Tournament {
+
+    /**
+     * Имена участников.
+     */
+    private final List<String> NAMES = new ArrayList<>();
+
+    /**
+     * Фабрики участников.
+     */
+    private final List<PlayerFactory> FACTORIES = new ArrayList<>();
+
+    /**
+     * Проверяемые конфигурации: размер поля и длина выигрышной комбинации.
+     */
+    private final List<int[]> CONFIGURATIONS = new ArrayList<>();
+
+    /**
+     * Конструктор турнира на всех допустимых полях.
+     */
+    public Tournament() {
+        this(TicTacToe.MIN_FIELD_SIZE, TicTacToe.MAX_FIELD_SIZE);
+    }
+
+    /**
+     * Конструктор турнира на полях заданных размеров.
+     *
+     * @param minFieldSize  минимальный размер поля (и минимальная длина комбинации).
+     * @param maxFieldSize  максимальный размер поля.
+     */
+    public Tournament(int minFieldSize, int maxFieldSize) {
+        for (int fieldSize = minFieldSize; fieldSize <= maxFieldSize; fieldSize++) {
+            for (int winLength = minFieldSize; winLength <= fieldSize; winLength++) {
+                CONFIGURATIONS.add(new int[]{fieldSize, winLength});
+            }
+        }
+    }
+
+    /**
+     * Добавить участника.
+     *
+     * @param name      имя участника.
+     * @param factory   фабрика игрока.
+     */
+    public void addPlayer(String name, PlayerFactory factory) {
+        NAMES.add(name);
+        FACTORIES.add(factory);
+    }
+
+    /**
+     * Провести турнир.
+     *
+     * @param gamesPerPairing   количество партий каждой пары участников на каждом поле.
+     * @param threads           количество потоков.
+     * @return                  результаты турнира.
+     */
+    public TournamentResult run(long gamesPerPairing, int threads) {
+        long start = System.nanoTime();
+        int playersCount = NAMES.size();
+        BatchResult[][] results = new BatchResult[playersCount][playersCount];
+
+        // Одна задача - серия партий одной пары на одном поле.
+        List<int[]> pairings = new ArrayList<>();
+        List<Callable<BatchResult>> tasks = new ArrayList<>();
+        for (int first = 0; first < playersCount; first++) {
+            for (int second = first + 1; second < playersCount; second++) {
+                results[first][second] = new BatchResult();
+                for (int[] configuration : CONFIGURATIONS) {
+                    BatchRunner runner = new BatchRunner(configuration[0], configuration[1],
+                            FACTORIES.get(first), FACTORIES.get(second));
+                    pairings.add(new int[]{first, second});
+                    tasks.add(() -> runner.run(gamesPerPairing, 1));
+                }
+            }
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            List<Future<BatchResult>> futures = pool.invokeAll(tasks);
+            for (int i = 0; i < futures.size(); i++) {
+                int[] pairing = pairings.get(i);
+                results[pairing[0]][pairing[1]].merge(futures.get(i).get());
+            }
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        } finally {
+            pool.shutdown();
+        }
+
+        return new TournamentResult(new ArrayList<>(NAMES), results, System.nanoTime() - start);
+    }
+
+    /**
+     * Точка старта турнира между всеми встроенными игроками.
+     * Запуск: java game.engine.Tournament [партий_на_пару [потоки]]
+     */
+    public static void main(String[] args) {
+        long games = args.length > 0 ? Long.parseLong(args[0]) : 20;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+
+        MetricsReporter.startIfEnabled();
+
+        // Ограничения поиска подобраны так, чтобы турнир занимал минуты, а не часы.
+        Tournament tournament = new Tournament();
+        tournament.addPlayer("Random", RandomPlayer::new);
+        tournament.addPlayer("SkyNet", (symbol, field) -> new ComputerPlayer(symbol, field, 0));
+        tournament.addPlayer("Deep Thought", (symbol, field) -> new AlphaBetaPlayer(symbol, field, 4, 20_000, 1));
+        tournament.addPlayer("Monte Carlo", (symbol, field) -> new MonteCarloPlayer(symbol, field,
+                MonteCarloTreeSearch.DEFAULT_EXPLORATION, 2_000, MonteCarloPlayer.DEFAULT_MAX_MILLIS));
+
+        System.out.println(tournament.run(games, threads));
+    }
+}
\ No newline at end of file
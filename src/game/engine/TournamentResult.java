@@ -0,0 +1,168 @@
+package game.engine;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Результаты кругового турнира: статистика каждой пары участников и рейтинги Эло.
+ * Рейтинги считаются по итоговым результатам всех партий (модель Брэдли - Терри, к которой
+ * сводится система Эло), поэтому не зависят от порядка, в котором закончились партии.
+ * Каждой паре добавляется одна условная ничья, чтобы рейтинг участника без побед
+ * или без поражений оставался конечным.
+ */
+public class TournamentResult {
+
+    /**
+     * Средний рейтинг участников.
+     */
+    public static final double AVERAGE_RATING = 1500;
+
+    /**
+     * Количество итераций при расчёте рейтингов.
+     */
+    private static final int RATING_ITERATIONS = 1000;
+
+    /**
+     * Имена участников.
+     */
+    private final List<String> NAMES;
+
+    /**
+     * Итоги пар: элемент [i][j] при i < j - результаты участника i против участника j.
+     */
+    private final BatchResult[][] RESULTS;
+
+    /**
+     * Рейтинги Эло участников.
+     */
+    private final double[] RATINGS;
+
+    /**
+     * Длительность турнира в наносекундах.
+     */
+    private final long ELAPSED_NANOS;
+
+    /**
+     * Конструктор.
+     *
+     * @param names         имена участников.
+     * @param results       итоги пар.
+     * @param elapsedNanos  длительность турнира в наносекундах.
+     */
+    TournamentResult(List<String> names, BatchResult[][] results, long elapsedNanos) {
+        this.NAMES = names;
+        this.RESULTS = results;
+        this.ELAPSED_NANOS = elapsedNanos;
+        this.RATINGS = calculateRatings();
+    }
+
+    /**
+     * Расчёт рейтингов итерациями алгоритма Зунделя (MM-алгоритм для модели Брэдли - Терри).
+     * Сила участника gamma = 10^(рейтинг / 400), вероятность победы i над j равна gamma_i / (gamma_i + gamma_j).
+     *
+     * @return рейтинги участников.
+     */
+    private double[] calculateRatings() {
+        int playersCount = NAMES.size();
+        double[][] games = new double[playersCount][playersCount];
+        double[] scores = new double[playersCount];
+
+        for (int i = 0; i < playersCount; i++) {
+            for (int j = i + 1; j < playersCount; j++) {
+                BatchResult result = RESULTS[i][j];
+
+                // Условная ничья в каждой паре.
+                games[i][j] = games[j][i] = result.getGames() + 1;
+                scores[i] += result.getWins() + (result.getDraws() + 1) / 2.0;
+                scores[j] += result.getLosses() + (result.getDraws() + 1) / 2.0;
+            }
+        }
+
+        double[] gammas = new double[playersCount];
+        Arrays.fill(gammas, 1);
+        for (int iteration = 0; iteration < RATING_ITERATIONS; iteration++) {
+            for (int i = 0; i < playersCount; i++) {
+                double denominator = 0;
+                for (int j = 0; j < playersCount; j++) {
+                    if (j != i) {
+                        denominator += games[i][j] / (gammas[i] + gammas[j]);
+                    }
+                }
+                if (denominator > 0) {
+                    gammas[i] = scores[i] / denominator;
+                }
+            }
+        }
+
+        // Переводим силы в рейтинги и сдвигаем их так, чтобы средний был равен AVERAGE_RATING.
+        double[] ratings = new double[playersCount];
+        double sum = 0;
+        for (int i = 0; i < playersCount; i++) {
+            ratings[i] = 400 * Math.log10(gammas[i]);
+            sum += ratings[i];
+        }
+        for (int i = 0; i < playersCount; i++) {
+            ratings[i] += AVERAGE_RATING - sum / playersCount;
+        }
+        return ratings;
+    }
+
+    /**
+     * Результаты пары участников.
+     *
+     * @param first     номер первого участника.
+     * @param second    номер второго участника (больше номера первого).
+     * @return          результаты первого участника против второго.
+     */
+    public BatchResult getResult(int first, int second) {
+        return RESULTS[first][second];
+    }
+
+    /**
+     * Рейтинг участника.
+     *
+     * @param player    номер участника.
+     * @return          рейтинг Эло.
+     */
+    public double getRating(int player) {
+        return RATINGS[player];
+    }
+
+    /**
+     * Геттер.
+     *
+     * @return имена участников.
+     */
+    public List<String> getNames() {
+        return NAMES;
+    }
+
+    /**
+     * Таблица турнира: рейтинги и результаты пар.
+     *
+     * @return таблица в виде текста.
+     */
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        long games = 0;
+
+        builder.append(String.format("%-14s %8s\n", "участник", "Эло"));
+        for (int i = 0; i < NAMES.size(); i++) {
+            builder.append(String.format("%-14s %8.0f\n", NAMES.get(i), RATINGS[i]));
+        }
+
+        builder.append(String.format("\n%-14s %-14s %8s %8s %8s\n", "участник", "соперник", "+", "=", "-"));
+        for (int i = 0; i < NAMES.size(); i++) {
+            for (int j = i + 1; j < NAMES.size(); j++) {
+                BatchResult result = RESULTS[i][j];
+                builder.append(String.format("%-14s %-14s %8d %8d %8d\n", NAMES.get(i), NAMES.get(j),
+                        result.getWins(), result.getDraws(), result.getLosses()));
+                games += result.getGames();
+            }
+        }
+
+        builder.append(String.format("\nпартий: %d, время: %.1f с", games, ELAPSED_NANOS / 1e9));
+        return builder.toString();
+    }
+}
\ No newline at end of file
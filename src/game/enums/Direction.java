@@ -0,0 +1,87 @@
+package game.enums;
+
+/**
+ * Перечисление направлений на игровом поле.
+ * Порядок элементов соответствует порядку, в котором компьютер проверяет направления.
+ */
+public enum Direction {
+
+    /**
+     * Вверх и вправо
+     */
+    UP_RIGHT (-1, 1),
+
+    /**
+     * Вниз и вправо
+     */
+    DOWN_RIGHT (1, 1),
+
+    /**
+     * Вниз и влево
+     */
+    DOWN_LEFT (1, -1),
+
+    /**
+     * Вверх и влево
+     */
+    UP_LEFT (-1, -1),
+
+    /**
+     * Вверх
+     */
+    UP (-1, 0),
+
+    /**
+     * Вниз
+     */
+    DOWN (1, 0),
+
+    /**
+     * Влево
+     */
+    LEFT (0, -1),
+
+    /**
+     * Вправо
+     */
+    RIGHT (0, 1);
+
+    /**
+     * Смещение по строке за один шаг
+     */
+    private final int ROW_STEP;
+
+    /**
+     * Смещение по столбцу за один шаг
+     */
+    private final int COLUMN_STEP;
+
+    /**
+     * Конструктор
+     *
+     * @param rowStep       смещение по строке
+     * @param columnStep    смещение по столбцу
+     */
+    Direction(int rowStep, int columnStep) {
+        this.ROW_STEP = rowStep;
+        this.COLUMN_STEP = columnStep;
+    }
+
+    /**
+     * Геттер
+     *
+     * @return смещение по строке за один шаг
+     */
+    public int getRowStep() {
+        return ROW_STEP;
+    }
+
+    /**
+     * Геттер
+     *
+     * @return смещение по столбцу за один шаг
+     */
+    public int getColumnStep() {
+        return COLUMN_STEP;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,27 @@
+package game.enums;
+
+/**
+ * Перечисление итогов записанной партии
+ */
+public enum GameOutcome {
+
+    /**
+     * Ничья
+     */
+    DRAW,
+
+    /**
+     * Победил игрок, ходивший первым
+     */
+    FIRST_PLAYER_WIN,
+
+    /**
+     * Победил игрок, ходивший вторым
+     */
+    SECOND_PLAYER_WIN,
+
+    /**
+     * Партия прервана до окончания
+     */
+    UNFINISHED
+}
\ No newline at end of file
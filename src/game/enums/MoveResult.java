@@ -0,0 +1,27 @@
+package game.enums;
+
+/**
+ * Перечисление результатов хода
+ */
+public enum MoveResult {
+
+    /**
+     * Ход некорректен, символ не проставлен
+     */
+    INVALID,
+
+    /**
+     * Ход выполнен, игра продолжается
+     */
+    CONTINUE,
+
+    /**
+     * Ход выполнен, игрок победил
+     */
+    WIN,
+
+    /**
+     * Ход выполнен, поле заполнено, ничья
+     */
+    DRAW
+}
\ No newline at end of file
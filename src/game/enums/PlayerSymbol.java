@@ -47,4 +47,19 @@ public enum PlayerSymbol {
     public static PlayerSymbol getOpponentSymbol(PlayerSymbol symbol) {
         return symbol == PlayerSymbol.X ? PlayerSymbol.O : PlayerSymbol.X;
     }
+
+    /**
+     * Получить символ игрока по его символьному значению.
+     *
+     * @param value     символьное значение.
+     * @return          символ игрока, либо null, если такого символа нет.
+     */
+    public static PlayerSymbol fromValue(char value) {
+        for (PlayerSymbol symbol : values()) {
+            if (symbol.VALUE == value) {
+                return symbol;
+            }
+        }
+        return null;
+    }
 }
\ No newline at end of file
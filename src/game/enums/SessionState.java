@@ -0,0 +1,22 @@
+package game.enums;
+
+/**
+ * Перечисление состояний игровой сессии на сервере
+ */
+public enum SessionState {
+
+    /**
+     * Ожидается ход игрока, подключённого по сети
+     */
+    AWAITING_MOVE,
+
+    /**
+     * Ходит компьютер, ход вычисляется в отдельном потоке
+     */
+    COMPUTING,
+
+    /**
+     * Партия окончена или прервана
+     */
+    FINISHED
+}
\ No newline at end of file
@@ -0,0 +1,145 @@
+package game.gomoku;
+
+import game.enums.MoveResult;
+import game.enums.PlayerSymbol;
+import game.interfaces.GomokuPlayer;
+
+import java.util.Random;
+import java.util.Scanner;
+
+/**
+ * Игра "Гомоку": пять в ряд на поле 15х15, 19х19 или на неограниченном поле.
+ * Запуск: java game.gomoku.Gomoku - партия в консоли;
+ * java game.gomoku.Gomoku размер партий [ходов] - серия партий компьютера с самим собой
+ * (размер 0 - неограниченное поле; партия, не закончившаяся за заданное число ходов, прерывается).
+ */
+public class Gomoku {
+
+    /**
+     * Размеры поля, из которых выбирает игрок.
+     */
+    public static final int[] FIELD_SIZES = {15, 19, GomokuField.UNBOUNDED};
+
+    /**
+     * Ограничение количества ходов в серии партий по умолчанию.
+     */
+    public static final int DEFAULT_MAX_MOVES = 1000;
+
+    /**
+     * Провести партию с текущей позиции на поле. Некорректный ход запрашивается у игрока повторно.
+     *
+     * @param field     экземпляр игрового поля.
+     * @param players   игроки в порядке хода.
+     * @param maxMoves  ограничение количества камней на поле.
+     * @param isVerbose выводить ли поле после каждого хода.
+     * @return          результат последнего хода: WIN, DRAW или CONTINUE, если партия прервана по ограничению.
+     */
+    public static MoveResult play(GomokuField field, GomokuPlayer[] players, int maxMoves, boolean isVerbose) {
+        MoveResult result = MoveResult.CONTINUE;
+        while (field.getMovesCount() < maxMoves) {
+            GomokuPlayer player = players[field.getMovesCount() % players.length];
+            do {
+                result = field.placeAndCheck(player.getSymbol(), player.makeMove());
+            } while (result == MoveResult.INVALID);
+
+            if (isVerbose) {
+                field.repaint();
+                long move = field.getMove(field.getMovesCount() - 1);
+                System.out.printf("%s: %s\n", player.getName(), field.formatMove(move));
+            }
+            if (result != MoveResult.CONTINUE) {
+                break;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Точка старта приложения.
+     */
+    public static void main(String[] args) {
+        if (args.length >= 2) {
+            runSelfPlay(Integer.parseInt(args[0]), Integer.parseInt(args[1]),
+                    args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_MAX_MOVES);
+            return;
+        }
+
+        System.out.println("Игра \"Гомоку\" (пять в ряд).");
+        Scanner scanner = new Scanner(System.in);
+        int fieldSize = FIELD_SIZES[choose(scanner,
+                "Выберите поле:\n1 - 15х15.\n2 - 19х19.\n3 - неограниченное.", FIELD_SIZES.length) - 1];
+        GomokuField field = new GomokuField(fieldSize, GomokuField.DEFAULT_WIN_LENGTH);
+        GomokuPlayer first = new GomokuHumanPlayer("Игрок 1", PlayerSymbol.X, field);
+        GomokuPlayer second = choose(scanner,
+                "Выберите режим игры:\n1 - друг против друга.\n2 - против компьютера.", 2) == 1
+                ? new GomokuHumanPlayer("Игрок 2", PlayerSymbol.O, field)
+                : new GomokuComputerPlayer(PlayerSymbol.O, field);
+
+        field.repaint();
+        MoveResult result = play(field, new GomokuPlayer[]{first, second}, Integer.MAX_VALUE, true);
+        if (result == MoveResult.WIN) {
+            GomokuPlayer winner = field.getMovesCount() % 2 == 1 ? first : second;
+            System.out.printf("Конец игры. Побеждает %s.\n", winner.getName());
+        } else {
+            System.out.println("Конец игры. Ничья.");
+        }
+    }
+
+    /**
+     * Выбор пункта меню.
+     *
+     * @param scanner   ввод с консоли.
+     * @param prompt    текст меню.
+     * @param count     количество пунктов.
+     * @return          номер пункта от 1 до count.
+     */
+    private static int choose(Scanner scanner, String prompt, int count) {
+        int choice = 0;
+        do {
+            System.out.println(prompt);
+            try {
+                choice = Integer.parseInt(scanner.nextLine());
+            } catch (NumberFormatException e) {
+                // Игнорируем ошибку парсинга введённой строки в число.
+            }
+        } while (choice < 1 || choice > count);
+        return choice;
+    }
+
+    /**
+     * Серия партий компьютера с самим собой: итоги, средняя длина и скорость.
+     *
+     * @param fieldSize размер игрового поля, либо GomokuField.UNBOUNDED.
+     * @param games     количество партий.
+     * @param maxMoves  ограничение количества ходов в партии.
+     */
+    private static void runSelfPlay(int fieldSize, int games, int maxMoves) {
+        GomokuField field = new GomokuField(fieldSize, GomokuField.DEFAULT_WIN_LENGTH);
+        Random random = new Random(1);
+        GomokuPlayer[] players = {new GomokuComputerPlayer(PlayerSymbol.X, field, random),
+                new GomokuComputerPlayer(PlayerSymbol.O, field, random)};
+
+        long start = System.nanoTime();
+        long moves = 0;
+        int firstWins = 0, secondWins = 0, unfinished = 0;
+        for (int game = 0; game < games; game++) {
+            field.initialize();
+            MoveResult result = play(field, players, maxMoves, false);
+            moves += field.getMovesCount();
+            if (result == MoveResult.WIN) {
+                if (field.getMovesCount() % 2 == 1) {
+                    firstWins++;
+                } else {
+                    secondWins++;
+                }
+            } else if (result == MoveResult.CONTINUE) {
+                unfinished++;
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("Поле %s: партий %d, первый выиграл %d, второй выиграл %d, прервано %d, "
+                        + "средняя длина %.1f, время %.2f с, мкс/ход %.1f\n",
+                fieldSize == GomokuField.UNBOUNDED ? "неограниченное" : fieldSize + "x" + fieldSize, games,
+                firstWins, secondWins, unfinished, (double) moves / games, seconds, seconds * 1e6 / moves);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,183 @@
+package game.gomoku;
+
+import game.enums.Direction;
+import game.enums.PlayerSymbol;
+import game.interfaces.GomokuPlayer;
+
+import java.util.Random;
+
+/**
+ * Игрок-компьютер в гомоку. Рассматриваются только пустые ячейки на расстоянии не больше RADIUS
+ * от поставленных камней, поэтому время хода зависит от количества камней, а не от площади поля.
+ * Если можно выиграть - выигрывает, если соперник выигрывает следующим ходом - закрывает ячейку,
+ * иначе выбирает ячейку с наибольшей суммой оценок линий для себя и для соперника
+ * (из равных - случайную).
+ */
+public class GomokuComputerPlayer implements GomokuPlayer {
+
+    /**
+     * Радиус окрестности камней, в которой ищутся ходы.
+     */
+    public static final int RADIUS = 2;
+
+    /**
+     * Оценка линии с обоими открытыми концами относительно линии с одним открытым концом.
+     */
+    private static final int OPEN_LINE_FACTOR = 4;
+
+    /**
+     * Основание оценки: каждый камень в линии увеличивает оценку во столько раз.
+     */
+    private static final int STONE_FACTOR = 10;
+
+    /**
+     * Символ игрока, Х или О.
+     */
+    private final PlayerSymbol SYMBOL;
+
+    /**
+     * Экземпляр игрового поля, нужен для реализации логики хода.
+     */
+    private final GomokuField FIELD;
+
+    /**
+     * Генератор случайных чисел для выбора из равных ходов.
+     */
+    private final Random RANDOM;
+
+    /**
+     * Уже рассмотренные ячейки текущего хода.
+     */
+    private final StoneMap SEEN = new StoneMap();
+
+    /**
+     * Конструктор.
+     *
+     * @param symbol    символ игрока.
+     * @param field     экземпляр игрового поля.
+     */
+    public GomokuComputerPlayer(PlayerSymbol symbol, GomokuField field) {
+        this(symbol, field, new Random());
+    }
+
+    /**
+     * Конструктор.
+     *
+     * @param symbol    символ игрока.
+     * @param field     экземпляр игрового поля.
+     * @param random    генератор случайных чисел.
+     */
+    public GomokuComputerPlayer(PlayerSymbol symbol, GomokuField field, Random random) {
+        this.SYMBOL = symbol;
+        this.FIELD = field;
+        this.RANDOM = random;
+    }
+
+    /**
+     * Геттер.
+     *
+     * @return символ игрока.
+     */
+    @Override
+    public PlayerSymbol getSymbol() {
+        return SYMBOL;
+    }
+
+    /**
+     * Геттер.
+     *
+     * @return имя игрока.
+     */
+    @Override
+    public String getName() {
+        return "Renju";
+    }
+
+    /**
+     * Сделать ход.
+     *
+     * @return ход.
+     */
+    @Override
+    public long makeMove() {
+        if (FIELD.getMovesCount() == 0) {
+            return FIELD.getCenter();
+        }
+
+        PlayerSymbol opponent = PlayerSymbol.getOpponentSymbol(SYMBOL);
+        long blockMove = GomokuField.INVALID_MOVE;
+        long bestMove = GomokuField.INVALID_MOVE;
+        long bestScore = -1;
+        int bestCount = 0;
+
+        SEEN.clear();
+        for (int i = 0; i < FIELD.getMovesCount(); i++) {
+            long stone = FIELD.getMove(i);
+            for (int row = GomokuField.getRow(stone) - RADIUS; row <= GomokuField.getRow(stone) + RADIUS; row++) {
+                for (int column = GomokuField.getColumn(stone) - RADIUS;
+                     column <= GomokuField.getColumn(stone) + RADIUS; column++) {
+                    long move = GomokuField.toMove(row, column);
+                    if (!FIELD.isFreeCell(row, column) || SEEN.get(move) != StoneMap.EMPTY) {
+                        continue;
+                    }
+                    SEEN.put(move, (byte) 1);
+
+                    if (FIELD.isWinningMove(move, SYMBOL)) {
+                        return move;
+                    }
+                    if (FIELD.isWinningMove(move, opponent)) {
+                        blockMove = move;
+                    }
+
+                    // Из равных по оценке ходов выбираем случайный, не запоминая их все.
+                    long score = getScore(move, SYMBOL) + getScore(move, opponent);
+                    if (score > bestScore) {
+                        bestScore = score;
+                        bestMove = move;
+                        bestCount = 1;
+                    } else if (score == bestScore && RANDOM.nextInt(++bestCount) == 0) {
+                        bestMove = move;
+                    }
+                }
+            }
+        }
+        return blockMove != GomokuField.INVALID_MOVE ? blockMove : bestMove;
+    }
+
+    /**
+     * Оценка камня игрока в ячейке: сумма оценок четырёх линий через неё.
+     * Линия из n камней с открытыми концами стоит STONE_FACTOR^(n-1), с двумя открытыми концами
+     * - в OPEN_LINE_FACTOR раз больше, а закрытая с обеих сторон - ничего.
+     *
+     * @param move      ход.
+     * @param symbol    символ игрока.
+     * @return          оценка.
+     */
+    private long getScore(long move, PlayerSymbol symbol) {
+        long score = 0;
+        for (Direction line : GomokuField.LINES) {
+            int forward = FIELD.countStones(move, line.getRowStep(), line.getColumnStep(), symbol);
+            int backward = FIELD.countStones(move, -line.getRowStep(), -line.getColumnStep(), symbol);
+            int openEnds = (isOpenEnd(move, line, forward + 1) ? 1 : 0)
+                    + (isOpenEnd(move, line, -backward - 1) ? 1 : 0);
+            if (openEnds > 0) {
+                long lineScore = (long) Math.pow(STONE_FACTOR, forward + backward);
+                score += openEnds == 2 ? lineScore * OPEN_LINE_FACTOR : lineScore;
+            }
+        }
+        return score;
+    }
+
+    /**
+     * Проверка, свободна ли ячейка на линии.
+     *
+     * @param move      ход, через который проходит линия.
+     * @param line      направление линии.
+     * @param distance  расстояние от хода вдоль линии (отрицательное - в обратную сторону).
+     * @return          true, если ячейка в пределах поля и пуста.
+     */
+    private boolean isOpenEnd(long move, Direction line, int distance) {
+        return FIELD.isFreeCell(GomokuField.getRow(move) + line.getRowStep() * distance,
+                GomokuField.getColumn(move) + line.getColumnStep() * distance);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,397 @@
+package game.gomoku;
+
+import game.enums.Direction;
+import game.enums.MoveResult;
+import game.enums.PlayerSymbol;
+
+import java.util.Arrays;
+
+/**
+ * Поле для игры в гомоку: квадратное поле заданного размера (15х15, 19х19) или неограниченное.
+ * В отличие от GameField поле не выделяет массивов по площади: камни хранятся в StoneMap,
+ * так что память пропорциональна количеству сделанных ходов. Ход кодируется числом long
+ * (строка в старших 32 битах, столбец в младших), координаты неограниченного поля могут быть любыми,
+ * в том числе отрицательными. Победа проверяется только по четырём линиям через последний камень,
+ * не дальше WIN_LENGTH - 1 ячеек в каждую сторону.
+ */
+public class GomokuField {
+
+    /**
+     * Размер неограниченного поля.
+     */
+    public static final int UNBOUNDED = 0;
+
+    /**
+     * Длина выигрышной комбинации по умолчанию.
+     */
+    public static final int DEFAULT_WIN_LENGTH = 5;
+
+    /**
+     * Значение для некорректного хода.
+     */
+    public static final long INVALID_MOVE = Long.MIN_VALUE;
+
+    /**
+     * Направления четырёх линий через ячейку (противоположные направления получаются сменой знака).
+     */
+    public static final Direction[] LINES = {Direction.RIGHT, Direction.DOWN, Direction.DOWN_RIGHT,
+            Direction.UP_RIGHT};
+
+    /**
+     * Сколько пустых рядов выводить вокруг камней на неограниченном поле.
+     */
+    private static final int VIEW_MARGIN = 2;
+
+    /**
+     * Символ пустой ячейки при выводе.
+     */
+    private static final char EMPTY_CELL = '.';
+
+    /**
+     * Размер игрового поля, либо UNBOUNDED.
+     */
+    private final int FIELD_SIZE;
+
+    /**
+     * Длина выигрышной комбинации.
+     */
+    private final int WIN_LENGTH;
+
+    /**
+     * Камни на поле.
+     */
+    private final StoneMap STONES = new StoneMap();
+
+    /**
+     * Ходы по порядку (для отмены и для перебора камней).
+     */
+    private long[] moves = new long[64];
+
+    /**
+     * Количество сделанных ходов.
+     */
+    private int movesCount;
+
+    /**
+     * Наименьшая строка, на которой ставились камни с начала партии.
+     */
+    private int minRow;
+
+    /**
+     * Наибольшая строка, на которой ставились камни с начала партии.
+     */
+    private int maxRow;
+
+    /**
+     * Наименьший столбец, на котором ставились камни с начала партии.
+     */
+    private int minColumn;
+
+    /**
+     * Наибольший столбец, на котором ставились камни с начала партии.
+     */
+    private int maxColumn;
+
+    /**
+     * Конструктор.
+     *
+     * @param fieldSize размер игрового поля, либо UNBOUNDED.
+     * @param winLength длина выигрышной комбинации.
+     */
+    public GomokuField(int fieldSize, int winLength) {
+        this.FIELD_SIZE = fieldSize;
+        this.WIN_LENGTH = winLength;
+        initialize();
+    }
+
+    /**
+     * Очистить поле.
+     */
+    public void initialize() {
+        STONES.clear();
+        movesCount = 0;
+        minRow = minColumn = Integer.MAX_VALUE;
+        maxRow = maxColumn = Integer.MIN_VALUE;
+    }
+
+    /**
+     * Номер хода по координатам.
+     *
+     * @param row       номер строки.
+     * @param column    номер столбца.
+     * @return          ход.
+     */
+    public static long toMove(int row, int column) {
+        return (long) row << 32 | (column & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Номер строки хода.
+     *
+     * @param move  ход.
+     * @return      номер строки.
+     */
+    public static int getRow(long move) {
+        return (int) (move >> 32);
+    }
+
+    /**
+     * Номер столбца хода.
+     *
+     * @param move  ход.
+     * @return      номер столбца.
+     */
+    public static int getColumn(long move) {
+        return (int) move;
+    }
+
+    /**
+     * Код символа игрока в StoneMap.
+     *
+     * @param symbol    символ игрока.
+     * @return          код, не равный StoneMap.EMPTY.
+     */
+    private static byte toCode(PlayerSymbol symbol) {
+        return (byte) (symbol.ordinal() + 1);
+    }
+
+    /**
+     * Проверка, находится ли ячейка в пределах поля. Для неограниченного поля - всегда true.
+     *
+     * @param row       номер строки.
+     * @param column    номер столбца.
+     * @return          true, если ячейка в пределах поля.
+     */
+    public boolean isInsideField(int row, int column) {
+        return FIELD_SIZE == UNBOUNDED || row >= 1 && row <= FIELD_SIZE && column >= 1 && column <= FIELD_SIZE;
+    }
+
+    /**
+     * Символ в ячейке.
+     *
+     * @param row       номер строки.
+     * @param column    номер столбца.
+     * @return          символ игрока, либо null, если ячейка пуста.
+     */
+    public PlayerSymbol getSymbol(int row, int column) {
+        byte code = STONES.get(toMove(row, column));
+        return code == StoneMap.EMPTY ? null : PlayerSymbol.values()[code - 1];
+    }
+
+    /**
+     * Проверка, можно ли поставить камень в ячейку.
+     *
+     * @param row       номер строки.
+     * @param column    номер столбца.
+     * @return          true, если ячейка в пределах поля и пуста.
+     */
+    public boolean isFreeCell(int row, int column) {
+        return isInsideField(row, column) && STONES.get(toMove(row, column)) == StoneMap.EMPTY;
+    }
+
+    /**
+     * Поставить камень игрока и определить результат хода.
+     *
+     * @param symbol    символ игрока.
+     * @param move      ход (см. toMove).
+     * @return          результат хода, либо MoveResult.INVALID, если ячейка за пределами поля или занята.
+     */
+    public MoveResult placeAndCheck(PlayerSymbol symbol, long move) {
+        int row = getRow(move);
+        int column = getColumn(move);
+        if (move == INVALID_MOVE || !isFreeCell(row, column)) {
+            return MoveResult.INVALID;
+        }
+
+        STONES.put(move, toCode(symbol));
+        if (movesCount == moves.length) {
+            moves = Arrays.copyOf(moves, movesCount * 2);
+        }
+        moves[movesCount++] = move;
+        minRow = Math.min(minRow, row);
+        maxRow = Math.max(maxRow, row);
+        minColumn = Math.min(minColumn, column);
+        maxColumn = Math.max(maxColumn, column);
+
+        if (isWinningMove(move, symbol)) {
+            return MoveResult.WIN;
+        }
+        return isFieldFull() ? MoveResult.DRAW : MoveResult.CONTINUE;
+    }
+
+    /**
+     * Отменить последний ход.
+     */
+    public void undo() {
+        if (movesCount > 0) {
+            STONES.remove(moves[--movesCount]);
+        }
+    }
+
+    /**
+     * Проверка, образует ли камень игрока в ячейке выигрышную комбинацию.
+     * Сама ячейка считается занятой камнем игрока, так что метод подходит и для возможного хода.
+     *
+     * @param move      ход.
+     * @param symbol    символ игрока.
+     * @return          true, если через ячейку проходит выигрышная комбинация.
+     */
+    public boolean isWinningMove(long move, PlayerSymbol symbol) {
+        for (Direction line : LINES) {
+            int length = 1 + countStones(move, line.getRowStep(), line.getColumnStep(), symbol)
+                    + countStones(move, -line.getRowStep(), -line.getColumnStep(), symbol);
+            if (length >= WIN_LENGTH) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Количество камней игрока подряд от ячейки в одном направлении (саму ячейку не считая),
+     * но не больше WIN_LENGTH - 1.
+     *
+     * @param move          ход.
+     * @param rowStep       шаг по строкам.
+     * @param columnStep    шаг по столбцам.
+     * @param symbol        символ игрока.
+     * @return              количество камней.
+     */
+    public int countStones(long move, int rowStep, int columnStep, PlayerSymbol symbol) {
+        byte code = toCode(symbol);
+        int row = getRow(move);
+        int column = getColumn(move);
+        int count = 0;
+        while (count < WIN_LENGTH - 1) {
+            row += rowStep;
+            column += columnStep;
+            if (STONES.get(toMove(row, column)) != code) {
+                break;
+            }
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Проверка, заполнено ли поле. Неограниченное поле не заполняется никогда.
+     *
+     * @return true, если все ячейки заняты.
+     */
+    public boolean isFieldFull() {
+        return FIELD_SIZE != UNBOUNDED && movesCount == (long) FIELD_SIZE * FIELD_SIZE;
+    }
+
+    /**
+     * Геттер.
+     *
+     * @return количество камней на поле.
+     */
+    public int getMovesCount() {
+        return movesCount;
+    }
+
+    /**
+     * Ход партии.
+     *
+     * @param index номер хода (с нуля).
+     * @return      ход.
+     */
+    public long getMove(int index) {
+        return moves[index];
+    }
+
+    /**
+     * Центральная ячейка, с которой принято начинать партию.
+     *
+     * @return ход.
+     */
+    public long getCenter() {
+        return FIELD_SIZE == UNBOUNDED ? toMove(0, 0) : toMove((FIELD_SIZE + 1) / 2, (FIELD_SIZE + 1) / 2);
+    }
+
+    /**
+     * Геттер.
+     *
+     * @return размер игрового поля, либо UNBOUNDED.
+     */
+    public int getFieldSize() {
+        return FIELD_SIZE;
+    }
+
+    /**
+     * Геттер.
+     *
+     * @return длина выигрышной комбинации.
+     */
+    public int getWinLength() {
+        return WIN_LENGTH;
+    }
+
+    /**
+     * Разобрать ход, введённый в консоли.
+     *
+     * @param coordinates координаты в виде строки с разделителем-пробелом, пример - "2 3".
+     * @return            ход, либо INVALID_MOVE, если переданы некорректные координаты.
+     */
+    public long parseMove(String coordinates) {
+        String[] coordinatesValues = coordinates.trim().split("\\s+");
+        if (coordinatesValues.length != 2) {
+            return INVALID_MOVE;
+        }
+
+        int row, column;
+        try {
+            row = Integer.parseInt(coordinatesValues[0]);
+            column = Integer.parseInt(coordinatesValues[1]);
+        } catch (NumberFormatException e) {
+            return INVALID_MOVE;
+        }
+        return isInsideField(row, column) ? toMove(row, column) : INVALID_MOVE;
+    }
+
+    /**
+     * Запись хода для вывода в консоль.
+     *
+     * @param move  ход.
+     * @return      координаты в виде строки с разделителем-пробелом, например - "2 3".
+     */
+    public String formatMove(long move) {
+        return getRow(move) + " " + getColumn(move);
+    }
+
+    /**
+     * Отрисовать поле. Ограниченное поле выводится целиком, неограниченное - прямоугольник
+     * вокруг поставленных камней с отступом VIEW_MARGIN. Строки и столбцы подписаны номерами.
+     */
+    public void repaint() {
+        int firstRow, lastRow, firstColumn, lastColumn;
+        if (FIELD_SIZE != UNBOUNDED) {
+            firstRow = firstColumn = 1;
+            lastRow = lastColumn = FIELD_SIZE;
+        } else if (movesCount == 0) {
+            firstRow = firstColumn = -VIEW_MARGIN;
+            lastRow = lastColumn = VIEW_MARGIN;
+        } else {
+            firstRow = minRow - VIEW_MARGIN;
+            lastRow = maxRow + VIEW_MARGIN;
+            firstColumn = minColumn - VIEW_MARGIN;
+            lastColumn = maxColumn + VIEW_MARGIN;
+        }
+
+        StringBuilder view = new StringBuilder("    ");
+        for (int column = firstColumn; column <= lastColumn; column++) {
+            view.append(String.format("%3d", column));
+        }
+        view.append('\n');
+        for (int row = firstRow; row <= lastRow; row++) {
+            view.append(String.format("%4d", row));
+            for (int column = firstColumn; column <= lastColumn; column++) {
+                PlayerSymbol symbol = getSymbol(row, column);
+                view.append("  ").append(symbol == null ? EMPTY_CELL : symbol.getValue());
+            }
+            view.append('\n');
+        }
+        System.out.print(view);
+    }
+}
\ No newline at end of file
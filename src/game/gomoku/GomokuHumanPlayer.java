@@ -0,0 +1,71 @@
+package game.gomoku;
+
+import game.enums.PlayerSymbol;
+import game.interfaces.GomokuPlayer;
+
+import java.util.Scanner;
+
+/**
+ * Игрок-человек в гомоку.
+ */
+public class GomokuHumanPlayer implements GomokuPlayer {
+
+    /**
+     * Имя игрока.
+     */
+    private final String NAME;
+
+    /**
+     * Символ игрока, Х или О.
+     */
+    private final PlayerSymbol SYMBOL;
+
+    /**
+     * Экземпляр игрового поля, нужен для разбора введённых координат.
+     */
+    private final GomokuField FIELD;
+
+    /**
+     * Конструктор.
+     *
+     * @param name      имя игрока.
+     * @param symbol    символ игрока.
+     * @param field     экземпляр игрового поля.
+     */
+    public GomokuHumanPlayer(String name, PlayerSymbol symbol, GomokuField field) {
+        this.NAME = name;
+        this.SYMBOL = symbol;
+        this.FIELD = field;
+    }
+
+    /**
+     * Геттер.
+     *
+     * @return символ игрока.
+     */
+    @Override
+    public PlayerSymbol getSymbol() {
+        return SYMBOL;
+    }
+
+    /**
+     * Геттер.
+     *
+     * @return имя игрока.
+     */
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    /**
+     * Сделать ход.
+     *
+     * @return ход, либо GomokuField.INVALID_MOVE, если введены некорректные координаты.
+     */
+    @Override
+    public long makeMove() {
+        System.out.printf("%s, введите номер строки и столбца через пробел.\n", NAME);
+        return FIELD.parseMove(new Scanner(System.in).nextLine());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,161 @@
+package game.gomoku;
+
+import java.util.Arrays;
+
+/**
+ * Хэш-таблица камней на поле: ключ - ход (см. GomokuField.toMove), значение - код символа игрока.
+ * Открытая адресация с линейным пробированием на примитивных массивах, так что камень не создаёт объектов,
+ * а память пропорциональна количеству камней, а не площади поля. Таблица заполняется не больше чем
+ * наполовину и удваивается при росте; удаление сдвигает следующие элементы цепочки назад, без "надгробий".
+ */
+public class StoneMap {
+
+    /**
+     * Код пустой ячейки (и свободного слота таблицы).
+     */
+    public static final byte EMPTY = 0;
+
+    /**
+     * Начальная ёмкость таблицы (степень двойки).
+     */
+    private static final int INITIAL_CAPACITY = 64;
+
+    /**
+     * Ключи слотов.
+     */
+    private long[] keys = new long[INITIAL_CAPACITY];
+
+    /**
+     * Значения слотов, EMPTY - слот свободен.
+     */
+    private byte[] values = new byte[INITIAL_CAPACITY];
+
+    /**
+     * Количество камней.
+     */
+    private int size;
+
+    /**
+     * Значение по ключу.
+     *
+     * @param key   ключ.
+     * @return      значение, либо EMPTY, если ключа нет.
+     */
+    public byte get(long key) {
+        int mask = keys.length - 1;
+        for (int slot = getSlot(key, mask); values[slot] != EMPTY; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                return values[slot];
+            }
+        }
+        return EMPTY;
+    }
+
+    /**
+     * Записать значение по ключу.
+     *
+     * @param key   ключ.
+     * @param value значение, не EMPTY.
+     */
+    public void put(long key, byte value) {
+        if ((size + 1) * 2 > keys.length) {
+            resize(keys.length * 2);
+        }
+        int mask = keys.length - 1;
+        int slot = getSlot(key, mask);
+        while (values[slot] != EMPTY) {
+            if (keys[slot] == key) {
+                values[slot] = value;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        size++;
+    }
+
+    /**
+     * Удалить ключ.
+     *
+     * @param key ключ.
+     */
+    public void remove(long key) {
+        int mask = keys.length - 1;
+        int slot = getSlot(key, mask);
+        while (keys[slot] != key) {
+            if (values[slot] == EMPTY) {
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        if (values[slot] == EMPTY) {
+            return;
+        }
+
+        // Сдвигаем назад элементы цепочки, которые без удалённого стали бы недостижимы.
+        int hole = slot;
+        for (slot = (slot + 1) & mask; values[slot] != EMPTY; slot = (slot + 1) & mask) {
+            int home = getSlot(keys[slot], mask);
+            if (((slot - home) & mask) >= ((slot - hole) & mask)) {
+                keys[hole] = keys[slot];
+                values[hole] = values[slot];
+                hole = slot;
+            }
+        }
+        values[hole] = EMPTY;
+        size--;
+    }
+
+    /**
+     * Удалить все ключи. Ёмкость таблицы сохраняется.
+     */
+    public void clear() {
+        Arrays.fill(values, EMPTY);
+        size = 0;
+    }
+
+    /**
+     * Геттер.
+     *
+     * @return количество ключей.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Перенести ключи в таблицу новой ёмкости.
+     *
+     * @param capacity новая ёмкость (степень двойки).
+     */
+    private void resize(int capacity) {
+        long[] oldKeys = keys;
+        byte[] oldValues = values;
+        keys = new long[capacity];
+        values = new byte[capacity];
+        int mask = capacity - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldValues[i] != EMPTY) {
+                int slot = getSlot(oldKeys[i], mask);
+                while (values[slot] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    /**
+     * Начальный слот ключа. Соседние ячейки отличаются в младших битах строки и столбца,
+     * поэтому ключ перемешивается умножением (хэширование Фибоначчи), а слот берётся из старших бит.
+     *
+     * @param key   ключ.
+     * @param mask  ёмкость таблицы минус один.
+     * @return      номер слота.
+     */
+    private static int getSlot(long key, int mask) {
+        return (int) ((key * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,34 @@
+package game.interfaces;
+
+import game.enums.PlayerSymbol;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Игрок с асинхронным выбором хода: ход не ждут в потоке, а получают через CompletableFuture,
+ * поэтому одна небольшая группа потоков может вести много партий сразу
+ */
+public interface AsyncPlayer {
+
+    /**
+     * Геттер
+     *
+     * @return символ игрока
+     */
+    PlayerSymbol getSymbol();
+
+    /**
+     * Геттер
+     *
+     * @return имя игрока
+     */
+    String getName();
+
+    /**
+     * Запросить ход. Отмена или завершение полученного future с ошибкой (например, по orTimeout)
+     * означает, что ход больше не нужен, и игрок должен прекратить его вычисление
+     *
+     * @return future с номером ячейки (см. GameField.toMove), либо GameField.INVALID_MOVE
+     */
+    CompletableFuture<Integer> requestMove();
+}
\ No newline at end of file
@@ -0,0 +1,34 @@
+package game.interfaces;
+
+import game.enums.MoveResult;
+
+/**
+ * Наблюдатель за ходом партии
+ */
+public interface GameListener {
+
+    /**
+     * Вызывается перед тем, как игрок начнёт выбирать ход
+     *
+     * @param player игрок, который ходит
+     */
+    void onTurn(Player player);
+
+    /**
+     * Вызывается после каждого корректного хода
+     *
+     * @param player    игрок, сделавший ход
+     * @param move      номер ячейки (см. GameField.toMove)
+     * @param result    результат хода
+     */
+    void onMove(Player player, int move, MoveResult result);
+
+    /**
+     * Вызывается, если игрок проиграл партию, так и не сделав корректный ход.
+     * По умолчанию ничего не делает
+     *
+     * @param player проигравший игрок
+     */
+    default void onForfeit(Player player) {
+    }
+}
\ No newline at end of file
@@ -0,0 +1,30 @@
+package game.interfaces;
+
+import game.enums.PlayerSymbol;
+
+/**
+ * Игрок в гомоку. Отличается от Player только типом хода: на неограниченном поле ход не помещается в int
+ */
+public interface GomokuPlayer {
+
+    /**
+     * Геттер
+     *
+     * @return символ игрока
+     */
+    PlayerSymbol getSymbol();
+
+    /**
+     * Геттер
+     *
+     * @return имя игрока
+     */
+    String getName();
+
+    /**
+     * Сделать ход
+     *
+     * @return ход (см. GomokuField.toMove), либо GomokuField.INVALID_MOVE
+     */
+    long makeMove();
+}
\ No newline at end of file
@@ -0,0 +1,96 @@
+package game.interfaces;
+
+/**
+ * Метрики игрового цикла и ИИ, видимые через JMX (например, в jconsole) под именем game:type=Metrics
+ */
+public interface MetricsMXBean {
+
+    /**
+     * Количество выбранных ходов
+     *
+     * @return количество вызовов Player.makeMove
+     */
+    long getMoves();
+
+    /**
+     * Среднее время выбора хода
+     *
+     * @return время в микросекундах
+     */
+    double getMoveLatencyMeanMicros();
+
+    /**
+     * Медиана времени выбора хода
+     *
+     * @return время в микросекундах
+     */
+    double getMoveLatencyP50Micros();
+
+    /**
+     * 99-й процентиль времени выбора хода
+     *
+     * @return время в микросекундах
+     */
+    double getMoveLatencyP99Micros();
+
+    /**
+     * Наибольшее время выбора хода
+     *
+     * @return время в микросекундах
+     */
+    double getMoveLatencyMaxMicros();
+
+    /**
+     * Количество позиций, просмотренных поиском
+     *
+     * @return количество позиций
+     */
+    long getNodesSearched();
+
+    /**
+     * Количество случайных доигрываний поиска Монте-Карло
+     *
+     * @return количество доигрываний
+     */
+    long getPlayouts();
+
+    /**
+     * Средняя скорость поиска Монте-Карло
+     *
+     * @return доигрываний в секунду поиска
+     */
+    double getPlayoutsPerSecond();
+
+    /**
+     * Количество проверок выигрышной комбинации
+     *
+     * @return количество проверок
+     */
+    long getWinChecks();
+
+    /**
+     * Количество некорректных ходов, запрошенных повторно
+     *
+     * @return количество ходов
+     */
+    long getInvalidMoves();
+
+    /**
+     * Количество законченных партий
+     *
+     * @return количество партий
+     */
+    long getGamesFinished();
+
+    /**
+     * Скорость игры за последний интервал отчёта
+     *
+     * @return партий в секунду
+     */
+    double getGamesPerSecond();
+
+    /**
+     * Обнулить все счётчики
+     */
+    void reset();
+}
\ No newline at end of file
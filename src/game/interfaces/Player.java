@@ -24,7 +24,14 @@ public interface Player {
     /**
      * Сделать ход
      *
-     * @return координаты в виде строки с разделителем-пробелом, например - "2 3"
+     * @return номер ячейки (см. GameField.toMove), либо GameField.INVALID_MOVE
      */
-    String makeMove();
+    int makeMove();
+
+    /**
+     * Подготовиться к новой партии (вызывается игровым движком перед первым ходом).
+     * По умолчанию ничего не делает
+     */
+    default void newGame() {
+    }
 }
\ No newline at end of file
@@ -0,0 +1,20 @@
+package game.interfaces;
+
+import game.GameField;
+import game.enums.PlayerSymbol;
+
+/**
+ * Фабрика игроков. Нужна, когда игроков одного типа надо создавать
+ * для разных полей и символов, например в серии партий
+ */
+public interface PlayerFactory {
+
+    /**
+     * Создать игрока
+     *
+     * @param symbol    символ игрока
+     * @param field     экземпляр игрового поля
+     * @return          игрок
+     */
+    Player create(PlayerSymbol symbol, GameField field);
+}
\ No newline at end of file
@@ -0,0 +1,152 @@
+package game.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Гистограмма длительностей в наносекундах с логарифмически-линейными корзинами, как в HdrHistogram:
+ * значения до SUB_BUCKETS хранятся точно, а дальше каждая степень двойки делится на SUB_BUCKETS
+ * равных корзин, так что относительная погрешность не больше 1 / SUB_BUCKETS (около 3%).
+ * Все корзины выделяются в конструкторе, запись - одно атомарное увеличение счётчика без создания объектов,
+ * поэтому писать можно из любого количества потоков.
+ */
+public class LatencyHistogram {
+
+    /**
+     * Количество бит точной части значения.
+     */
+    private static final int SUB_BUCKET_BITS = 5;
+
+    /**
+     * Количество корзин на одну степень двойки.
+     */
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    /**
+     * Общее количество корзин: точные значения и по SUB_BUCKETS корзин на степени двойки до 2^62.
+     */
+    private static final int BUCKETS_COUNT = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    /**
+     * Счётчики корзин.
+     */
+    private final AtomicLongArray BUCKETS = new AtomicLongArray(BUCKETS_COUNT);
+
+    /**
+     * Сумма записанных значений.
+     */
+    private final LongAdder SUM = new LongAdder();
+
+    /**
+     * Наибольшее записанное значение.
+     */
+    private final LongAccumulator MAX = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Записать длительность.
+     *
+     * @param nanos длительность в наносекундах (отрицательные считаются нулём).
+     */
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        BUCKETS.incrementAndGet(getBucket(value));
+        SUM.add(value);
+        MAX.accumulate(value);
+    }
+
+    /**
+     * Номер корзины значения.
+     *
+     * @param value неотрицательное значение.
+     * @return      номер корзины.
+     */
+    private static int getBucket(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int shift = Long.SIZE - 1 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return (shift + 1) * SUB_BUCKETS + (int) (value >>> shift & (SUB_BUCKETS - 1));
+    }
+
+    /**
+     * Наибольшее значение, попадающее в корзину.
+     *
+     * @param bucket    номер корзины.
+     * @return          верхняя граница корзины.
+     */
+    private static long getBucketMax(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = bucket / SUB_BUCKETS - 1;
+        long lowest = (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+
+    /**
+     * Количество записанных значений.
+     *
+     * @return количество значений.
+     */
+    public long getCount() {
+        long count = 0;
+        for (int i = 0; i < BUCKETS_COUNT; i++) {
+            count += BUCKETS.get(i);
+        }
+        return count;
+    }
+
+    /**
+     * Среднее значение.
+     *
+     * @return среднее в наносекундах, либо 0, если значений нет.
+     */
+    public double getMean() {
+        long count = getCount();
+        return count == 0 ? 0 : (double) SUM.sum() / count;
+    }
+
+    /**
+     * Геттер.
+     *
+     * @return наибольшее записанное значение в наносекундах.
+     */
+    public long getMax() {
+        return MAX.get();
+    }
+
+    /**
+     * Процентиль: значение, не больше которого заданная доля записанных значений (с точностью до корзины).
+     * При одновременной записи результат приблизительный.
+     *
+     * @param percentile    процентиль от 0 до 100.
+     * @return              значение в наносекундах, либо 0, если значений нет.
+     */
+    public long getPercentile(double percentile) {
+        long count = getCount();
+        if (count == 0) {
+            return 0;
+        }
+        long target = Math.max(1, (long) Math.ceil(count * percentile / 100));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS_COUNT; i++) {
+            seen += BUCKETS.get(i);
+            if (seen >= target) {
+                return Math.min(getBucketMax(i), getMax());
+            }
+        }
+        return getMax();
+    }
+
+    /**
+     * Обнулить гистограмму. Значения, записываемые одновременно со сбросом, могут частично потеряться.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKETS_COUNT; i++) {
+            BUCKETS.set(i, 0);
+        }
+        SUM.reset();
+        MAX.reset();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,97 @@
+package game.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Счётчики горячих участков игрового цикла и ИИ.
+ * Сбор включается системным свойством game.metrics=true. Флаг ENABLED - статическая константа,
+ * поэтому при выключенном сборе JIT выбрасывает проверки вместе с замерами, и накладных расходов нет.
+ * Счётчики - LongAdder, так что запись из многих потоков (BatchRunner, пул сервера) не упирается в одну ячейку.
+ * Показать счётчики можно через JMX (см. MetricsReporter) или текстом (см. format).
+ */
+public final class Metrics {
+
+    /**
+     * Включён ли сбор метрик.
+     */
+    public static final boolean ENABLED = Boolean.getBoolean("game.metrics");
+
+    /**
+     * Время выбора хода игроком (Player.makeMove) в наносекундах.
+     */
+    public static final LatencyHistogram MOVE_LATENCY = new LatencyHistogram();
+
+    /**
+     * Количество позиций, просмотренных поиском.
+     */
+    public static final LongAdder NODES_SEARCHED = new LongAdder();
+
+    /**
+     * Количество случайных доигрываний, выполненных поиском Монте-Карло.
+     */
+    public static final LongAdder PLAYOUTS = new LongAdder();
+
+    /**
+     * Суммарное время поиска Монте-Карло в наносекундах (для скорости доигрываний).
+     */
+    public static final LongAdder PLAYOUT_NANOS = new LongAdder();
+
+    /**
+     * Количество проверок выигрышной комбинации на поле (GameField.isWin и GameField.isWinningMove).
+     */
+    public static final LongAdder WIN_CHECKS = new LongAdder();
+
+    /**
+     * Количество некорректных ходов, запрошенных повторно.
+     */
+    public static final LongAdder INVALID_MOVES = new LongAdder();
+
+    /**
+     * Количество законченных партий.
+     */
+    public static final LongAdder GAMES_FINISHED = new LongAdder();
+
+    /**
+     * Класс-хранилище, экземпляры не создаются.
+     */
+    private Metrics() {
+    }
+
+    /**
+     * Обнулить все счётчики.
+     */
+    public static void reset() {
+        MOVE_LATENCY.reset();
+        NODES_SEARCHED.reset();
+        PLAYOUTS.reset();
+        PLAYOUT_NANOS.reset();
+        WIN_CHECKS.reset();
+        INVALID_MOVES.reset();
+        GAMES_FINISHED.reset();
+    }
+
+    /**
+     * Средняя скорость поиска Монте-Карло.
+     *
+     * @return количество доигрываний в секунду поиска.
+     */
+    public static double getPlayoutsPerSecond() {
+        long nanos = PLAYOUT_NANOS.sum();
+        return nanos == 0 ? 0 : PLAYOUTS.sum() * 1e9 / nanos;
+    }
+
+    /**
+     * Текстовое представление счётчиков.
+     *
+     * @return строка со всеми счётчиками (время хода в микросекундах).
+     */
+    public static String format() {
+        return String.format("ходов: %d, время хода мкс: среднее %.1f, p50 %.1f, p99 %.1f, p99.9 %.1f, макс %.1f; "
+                        + "позиций: %d, доигрываний: %d (%.0f/с), проверок выигрыша: %d, некорректных ходов: %d, "
+                        + "партий: %d",
+                MOVE_LATENCY.getCount(), MOVE_LATENCY.getMean() / 1e3, MOVE_LATENCY.getPercentile(50) / 1e3,
+                MOVE_LATENCY.getPercentile(99) / 1e3, MOVE_LATENCY.getPercentile(99.9) / 1e3,
+                MOVE_LATENCY.getMax() / 1e3, NODES_SEARCHED.sum(), PLAYOUTS.sum(), getPlayoutsPerSecond(),
+                WIN_CHECKS.sum(), INVALID_MOVES.sum(), GAMES_FINISHED.sum());
+    }
+}
\ No newline at end of file
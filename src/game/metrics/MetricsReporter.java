@@ -0,0 +1,230 @@
+package game.metrics;
+
+import game.interfaces.MetricsMXBean;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Публикация метрик: регистрирует MXBean game:type=Metrics и раз в интервал выводит счётчики текстом.
+ * Интервал задаётся системным свойством game.metrics.interval в секундах (0 - не выводить текст).
+ * Отчёт печатается в System.err, чтобы не смешиваться с ходом партии в консоли.
+ */
+public class MetricsReporter implements MetricsMXBean {
+
+    /**
+     * Имя MXBean.
+     */
+    public static final String OBJECT_NAME = "game:type=Metrics";
+
+    /**
+     * Интервал текстового отчёта по умолчанию в секундах.
+     */
+    public static final long DEFAULT_INTERVAL_SECONDS = 10;
+
+    /**
+     * Поток вывода отчёта.
+     */
+    private final PrintStream OUT;
+
+    /**
+     * Количество партий на момент предыдущего отчёта.
+     */
+    private long lastGames;
+
+    /**
+     * Время предыдущего отчёта в наносекундах.
+     */
+    private long lastNanos = System.nanoTime();
+
+    /**
+     * Скорость игры за последний интервал.
+     */
+    private volatile double gamesPerSecond;
+
+    /**
+     * Конструктор.
+     *
+     * @param out поток вывода отчёта.
+     */
+    public MetricsReporter(PrintStream out) {
+        this.OUT = out;
+    }
+
+    /**
+     * Запустить публикацию метрик, если сбор включён (см. Metrics.ENABLED); иначе ничего не делает.
+     * Повторный запуск в том же процессе игнорируется.
+     */
+    public static synchronized void startIfEnabled() {
+        if (!Metrics.ENABLED) {
+            return;
+        }
+        MetricsReporter reporter = new MetricsReporter(System.err);
+        try {
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (ManagementFactory.getPlatformMBeanServer().isRegistered(name)) {
+                return;
+            }
+            ManagementFactory.getPlatformMBeanServer().registerMBean(reporter, name);
+        } catch (JMException e) {
+            throw new IllegalStateException("Не удалось зарегистрировать " + OBJECT_NAME, e);
+        }
+
+        long interval = Long.getLong("game.metrics.interval", DEFAULT_INTERVAL_SECONDS);
+        if (interval > 0) {
+            ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+                Thread thread = new Thread(task, "metrics-reporter");
+                thread.setDaemon(true);
+                return thread;
+            });
+            scheduler.scheduleAtFixedRate(reporter::report, interval, interval, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Вывести отчёт и пересчитать скорость игры за прошедший интервал.
+     */
+    public synchronized void report() {
+        long now = System.nanoTime();
+        long games = Metrics.GAMES_FINISHED.sum();
+        gamesPerSecond = (games - lastGames) * 1e9 / Math.max(1, now - lastNanos);
+        lastGames = games;
+        lastNanos = now;
+        OUT.printf("[metrics] %s, партий/с: %.0f\n", Metrics.format(), gamesPerSecond);
+    }
+
+    /**
+     * Количество выбранных ходов.
+     *
+     * @return количество вызовов Player.makeMove.
+     */
+    @Override
+    public long getMoves() {
+        return Metrics.MOVE_LATENCY.getCount();
+    }
+
+    /**
+     * Среднее время выбора хода.
+     *
+     * @return время в микросекундах.
+     */
+    @Override
+    public double getMoveLatencyMeanMicros() {
+        return Metrics.MOVE_LATENCY.getMean() / 1e3;
+    }
+
+    /**
+     * Медиана времени выбора хода.
+     *
+     * @return время в микросекундах.
+     */
+    @Override
+    public double getMoveLatencyP50Micros() {
+        return Metrics.MOVE_LATENCY.getPercentile(50) / 1e3;
+    }
+
+    /**
+     * 99-й процентиль времени выбора хода.
+     *
+     * @return время в микросекундах.
+     */
+    @Override
+    public double getMoveLatencyP99Micros() {
+        return Metrics.MOVE_LATENCY.getPercentile(99) / 1e3;
+    }
+
+    /**
+     * Наибольшее время выбора хода.
+     *
+     * @return время в микросекундах.
+     */
+    @Override
+    public double getMoveLatencyMaxMicros() {
+        return Metrics.MOVE_LATENCY.getMax() / 1e3;
+    }
+
+    /**
+     * Количество позиций, просмотренных поиском.
+     *
+     * @return количество позиций.
+     */
+    @Override
+    public long getNodesSearched() {
+        return Metrics.NODES_SEARCHED.sum();
+    }
+
+    /**
+     * Количество случайных доигрываний поиска Монте-Карло.
+     *
+     * @return количество доигрываний.
+     */
+    @Override
+    public long getPlayouts() {
+        return Metrics.PLAYOUTS.sum();
+    }
+
+    /**
+     * Средняя скорость поиска Монте-Карло.
+     *
+     * @return доигрываний в секунду поиска.
+     */
+    @Override
+    public double getPlayoutsPerSecond() {
+        return Metrics.getPlayoutsPerSecond();
+    }
+
+    /**
+     * Количество проверок выигрышной комбинации.
+     *
+     * @return количество проверок.
+     */
+    @Override
+    public long getWinChecks() {
+        return Metrics.WIN_CHECKS.sum();
+    }
+
+    /**
+     * Количество некорректных ходов, запрошенных повторно.
+     *
+     * @return количество ходов.
+     */
+    @Override
+    public long getInvalidMoves() {
+        return Metrics.INVALID_MOVES.sum();
+    }
+
+    /**
+     * Количество законченных партий.
+     *
+     * @return количество партий.
+     */
+    @Override
+    public long getGamesFinished() {
+        return Metrics.GAMES_FINISHED.sum();
+    }
+
+    /**
+     * Скорость игры за последний интервал отчёта.
+     *
+     * @return партий в секунду.
+     */
+    @Override
+    public double getGamesPerSecond() {
+        return gamesPerSecond;
+    }
+
+    /**
+     * Обнулить все счётчики.
+     */
+    @Override
+    public synchronized void reset() {
+        Metrics.reset();
+        lastGames = 0;
+        lastNanos = System.nanoTime();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,228 @@
+package game.players;
+
+import game.GameField;
+import game.ai.NegamaxSearch;
+import game.ai.OpeningBook;
+import game.ai.ParallelSearch;
+import game.ai.TranspositionTable;
+import game.enums.PlayerSymbol;
+import game.metrics.Metrics;
+
+/**
+ * Игрок-компьютер, выбирающий ход перебором вариантов (негамакс с альфа-бета отсечением).
+ * Может работать с контролем времени: ограничением на ход и (или) на всю партию.
+ * В этом режиме поиск идёт итеративным углублением и прерывается по истечении отведённого времени.
+ * Пока позиция есть в дебютной книге (см. OpeningBook), ход берётся из книги без поиска.
+ * Игрок с параллельным поиском держит пул потоков, поэтому после партии его нужно закрыть.
+ */
+public class AlphaBetaPlayer extends AbstractPlayer implements AutoCloseable {
+
+    /**
+     * Глубина поиска по умолчанию (в полуходах).
+     */
+    public static final int DEFAULT_DEPTH = 8;
+
+    /**
+     * Ограничение на количество просматриваемых позиций за ход по умолчанию.
+     */
+    public static final long DEFAULT_MAX_NODES = 2_000_000;
+
+    /**
+     * Наименьший размер таблицы транспозиций (логарифм количества записей по основанию 2).
+     */
+    public static final int MIN_TABLE_SIZE_BITS = 12;
+
+    /**
+     * Наибольший размер таблицы транспозиций (логарифм количества записей по основанию 2), около 16 МБ.
+     */
+    public static final int MAX_TABLE_SIZE_BITS = 20;
+
+    /**
+     * Поиск лучшего хода.
+     */
+    private final NegamaxSearch SEARCH;
+
+    /**
+     * Параллельный поиск, либо null, если поиск ведётся в одном потоке.
+     */
+    private final ParallelSearch PARALLEL_SEARCH;
+
+    /**
+     * Дебютная книга (пустая, если для поля с такими параметрами её нет).
+     */
+    private final OpeningBook BOOK;
+
+    /**
+     * Глубина поиска (в полуходах).
+     */
+    private final int DEPTH;
+
+    /**
+     * Ограничение на количество просматриваемых позиций за ход.
+     */
+    private final long MAX_NODES;
+
+    /**
+     * Ограничение по времени на ход в миллисекундах, либо NegamaxSearch.NO_TIME_LIMIT.
+     */
+    private final long MOVE_MILLIS;
+
+    /**
+     * Ограничение по времени на партию в миллисекундах, либо NegamaxSearch.NO_TIME_LIMIT.
+     */
+    private final long GAME_MILLIS;
+
+    /**
+     * Оставшееся время на текущую партию в миллисекундах, либо NegamaxSearch.NO_TIME_LIMIT.
+     */
+    private long remainingGameMillis;
+
+    /**
+     * Экземпляр игрового поля.
+     */
+    private final GameField FIELD;
+
+    /**
+     * Конструктор с параметрами поиска по умолчанию.
+     *
+     * @param symbol    символ игрока.
+     * @param field     экземпляр игрового поля.
+     */
+    public AlphaBetaPlayer(PlayerSymbol symbol, GameField field) {
+        this(symbol, field, DEFAULT_DEPTH, DEFAULT_MAX_NODES);
+    }
+
+    /**
+     * Конструктор.
+     *
+     * @param symbol    символ игрока.
+     * @param field     экземпляр игрового поля.
+     * @param depth     глубина поиска (в полуходах).
+     * @param maxNodes  ограничение на количество просматриваемых позиций за ход.
+     */
+    public AlphaBetaPlayer(PlayerSymbol symbol, GameField field, int depth, long maxNodes) {
+        this(symbol, field, depth, maxNodes, 1);
+    }
+
+    /**
+     * Конструктор.
+     *
+     * @param symbol    символ игрока.
+     * @param field     экземпляр игрового поля.
+     * @param depth     глубина поиска (в полуходах).
+     * @param maxNodes  ограничение на количество просматриваемых позиций за ход.
+     * @param threads   количество потоков поиска, при значении больше 1 ходы корня оцениваются параллельно.
+     */
+    public AlphaBetaPlayer(PlayerSymbol symbol, GameField field, int depth, long maxNodes, int threads) {
+        this(symbol, field, depth, maxNodes, threads, NegamaxSearch.NO_TIME_LIMIT, NegamaxSearch.NO_TIME_LIMIT);
+    }
+
+    /**
+     * Конструктор.
+     *
+     * @param symbol        символ игрока.
+     * @param field         экземпляр игрового поля.
+     * @param depth         максимальная глубина поиска (в полуходах).
+     * @param maxNodes      ограничение на количество просматриваемых позиций за ход.
+     * @param threads       количество потоков поиска. При контроле времени поиск всегда идёт в одном потоке.
+     * @param moveMillis    ограничение по времени на ход в миллисекундах, либо NegamaxSearch.NO_TIME_LIMIT.
+     * @param gameMillis    ограничение по времени на партию в миллисекундах, либо NegamaxSearch.NO_TIME_LIMIT.
+     */
+    public AlphaBetaPlayer(PlayerSymbol symbol, GameField field, int depth, long maxNodes, int threads,
+                           long moveMillis, long gameMillis) {
+        super("Deep Thought", symbol);
+        TranspositionTable table = new TranspositionTable(getTableSizeBits(field, maxNodes));
+        this.SEARCH = new NegamaxSearch(field, table);
+        this.PARALLEL_SEARCH = threads > 1 ? new ParallelSearch(field, table, threads) : null;
+        this.BOOK = OpeningBook.get(field.getFieldSize(), field.getWinLength());
+        this.DEPTH = depth;
+        this.MAX_NODES = maxNodes;
+        this.MOVE_MILLIS = moveMillis;
+        this.GAME_MILLIS = gameMillis;
+        this.remainingGameMillis = gameMillis;
+        this.FIELD = field;
+    }
+
+    /**
+     * Начать отсчёт времени на партию заново.
+     */
+    @Override
+    public void newGame() {
+        remainingGameMillis = GAME_MILLIS;
+    }
+
+    /**
+     * Сделать ход. Компьютер берёт ход из дебютной книги, а если позиции в ней нет,
+     * перебирает варианты на заданную глубину и выбирает лучший.
+     *
+     * @return номер ячейки.
+     */
+    @Override
+    public int makeMove() {
+        int bookMove = BOOK.lookup(FIELD, SYMBOL);
+        if (bookMove != NegamaxSearch.NO_MOVE) {
+            return bookMove;
+        }
+
+        long start = System.nanoTime();
+        long moveMillis = getMoveTimeLimit();
+        int move;
+        if (PARALLEL_SEARCH != null && moveMillis == NegamaxSearch.NO_TIME_LIMIT) {
+            move = PARALLEL_SEARCH.findBestMove(SYMBOL, DEPTH, MAX_NODES);
+            if (Metrics.ENABLED) {
+                Metrics.NODES_SEARCHED.add(PARALLEL_SEARCH.getNodes());
+            }
+        } else {
+            move = SEARCH.findBestMove(SYMBOL, DEPTH, MAX_NODES, moveMillis);
+            if (Metrics.ENABLED) {
+                Metrics.NODES_SEARCHED.add(SEARCH.getNodes());
+            }
+        }
+
+        if (remainingGameMillis != NegamaxSearch.NO_TIME_LIMIT) {
+            remainingGameMillis = Math.max(0, remainingGameMillis - (System.nanoTime() - start) / 1_000_000);
+        }
+        return move;
+    }
+
+    /**
+     * Остановить потоки параллельного поиска, если он есть.
+     */
+    @Override
+    public void close() {
+        if (PARALLEL_SEARCH != null) {
+            PARALLEL_SEARCH.shutdown();
+        }
+    }
+
+    /**
+     * Размер таблицы транспозиций для поля: за ход просматривается не больше maxNodes позиций,
+     * а число различных позиций растёт с количеством ячеек, поэтому на малых полях хватает таблицы
+     * на 2^(количество ячеек) записей (3х3 - 64 КБ, 4х4 - 1 МБ), а на больших берётся наибольшая.
+     *
+     * @param field     экземпляр игрового поля.
+     * @param maxNodes  ограничение на количество просматриваемых позиций за ход.
+     * @return          логарифм количества записей по основанию 2.
+     */
+    private static int getTableSizeBits(GameField field, long maxNodes) {
+        int cellsBits = field.getFieldSize() * field.getFieldSize();
+        int nodesBits = Long.SIZE - Long.numberOfLeadingZeros(maxNodes);
+        return Math.max(MIN_TABLE_SIZE_BITS, Math.min(MAX_TABLE_SIZE_BITS, Math.min(cellsBits, nodesBits)));
+    }
+
+    /**
+     * Время на текущий ход: оставшееся на партию время делится поровну между оставшимися
+     * ходами игрока, но не больше ограничения на ход.
+     *
+     * @return ограничение по времени в миллисекундах, либо NegamaxSearch.NO_TIME_LIMIT.
+     */
+    private long getMoveTimeLimit() {
+        if (remainingGameMillis == NegamaxSearch.NO_TIME_LIMIT) {
+            return MOVE_MILLIS;
+        }
+
+        int emptyCells = FIELD.getFreeCellsCount();
+        long share = Math.max(1, remainingGameMillis / Math.max(1, (emptyCells + 1) / 2));
+        return MOVE_MILLIS == NegamaxSearch.NO_TIME_LIMIT ? share : Math.min(MOVE_MILLIS, share);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,112 @@
+package game.players;
+
+import game.GameField;
+import game.enums.PlayerSymbol;
+import game.interfaces.AsyncPlayer;
+import game.interfaces.Player;
+import game.interfaces.PlayerFactory;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Адаптер синхронного игрока (HumanPlayer, ComputerPlayer и других) к асинхронному контракту.
+ * makeMove выполняется в пуле потоков, результат передаётся через CompletableFuture.
+ * Если future отменён или завершён с ошибкой до того, как ход готов, поток вычисления прерывается:
+ * поиск NegamaxSearch и MonteCarloTreeSearch на это реагирует и быстро останавливается.
+ * Чтение с консоли прервать нельзя, поэтому HumanPlayer после отмены дождётся ввода, а ход будет отброшен.
+ * Синхронный игрок работает с собственной копией игрового поля, которая перед каждым ходом подтягивается
+ * к позиции партии: прерванное вычисление, которое ещё не остановилось, не трогает поле партии,
+ * а следующий ход ждёт его остановки.
+ */
+public class AsyncPlayerAdapter implements AsyncPlayer {
+
+    /**
+     * Синхронный игрок, созданный для копии поля.
+     */
+    private final Player PLAYER;
+
+    /**
+     * Игровое поле партии.
+     */
+    private final GameField FIELD;
+
+    /**
+     * Копия игрового поля, на которой ходы вычисляет синхронный игрок.
+     */
+    private final GameField FIELD_COPY;
+
+    /**
+     * Пул потоков для вычисления ходов.
+     */
+    private final ExecutorService EXECUTOR;
+
+    /**
+     * Конструктор.
+     *
+     * @param factory   фабрика синхронного игрока.
+     * @param symbol    символ игрока.
+     * @param field     игровое поле партии.
+     * @param executor  пул потоков для вычисления ходов.
+     */
+    public AsyncPlayerAdapter(PlayerFactory factory, PlayerSymbol symbol, GameField field,
+                              ExecutorService executor) {
+        this.FIELD = field;
+        this.FIELD_COPY = new GameField(field);
+        this.PLAYER = factory.create(symbol, FIELD_COPY);
+        this.EXECUTOR = executor;
+    }
+
+    /**
+     * Запросить ход.
+     *
+     * @return future с номером ячейки.
+     */
+    @Override
+    public CompletableFuture<Integer> requestMove() {
+        CompletableFuture<Integer> result = new CompletableFuture<>();
+        Future<?> task = EXECUTOR.submit(() -> {
+            // Прерванное вычисление предыдущего хода могло ещё не остановиться: ждём его на копии поля.
+            synchronized (FIELD_COPY) {
+                if (result.isDone()) {
+                    return;
+                }
+                try {
+                    FIELD_COPY.copyPosition(FIELD);
+                    result.complete(PLAYER.makeMove());
+                } catch (RuntimeException e) {
+                    result.completeExceptionally(e);
+                }
+            }
+        });
+
+        // Ход больше не нужен: прерываем вычисление.
+        result.whenComplete((move, error) -> {
+            if (error != null) {
+                task.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Геттер.
+     *
+     * @return символ игрока.
+     */
+    @Override
+    public PlayerSymbol getSymbol() {
+        return PLAYER.getSymbol();
+    }
+
+    /**
+     * Геттер.
+     *
+     * @return имя игрока.
+     */
+    @Override
+    public String getName() {
+        return PLAYER.getName();
+    }
+}
\ No newline at end of file
@@ -1,6 +1,9 @@
 package game.players;
 
 import game.GameField;
+import game.board.DirectionRanges;
+import game.board.ThreatTracker;
+import game.enums.Direction;
 import game.enums.PlayerSymbol;
 
 import java.util.Random;
@@ -16,403 +19,193 @@ public class ComputerPlayer extends AbstractPlayer {
     private final GameField FIELD;
 
     /**
-     * Конструктор.
-     *
-     * @param symbol    символ игрока.
-     * @param field     экземпляр игрового поля.
+     * Расстояния от ячеек поля до его краёв, нужны для проверки направлений.
      */
-    public ComputerPlayer(PlayerSymbol symbol, GameField field) {
-        super("SkyNet", symbol);
-        this.FIELD = field;
-    }
+    private final DirectionRanges RANGES;
 
     /**
-     * Сделать ход. Компьютер принимает решение по следующему алгоритму:
-     * 1. Есть ли возможность выигрыша на данном ходу? Если да - делаем такой ход.
-     * 2. Есть ли возможность выигрыша противника в следующем ходу? Если да - блокируем его ход.
-     * 3. Пытаемся поставить символ рядом с уже существующим символом в том направлении, где ещё возможна победа.
-     * 4. Если не выполнились предыдущие три условия, ставим символ рандомно.
-     *
-     * @return координаты в виде строки с разделителем-пробелом, например - "2 3".
+     * Генератор случайных чисел для случайного хода.
      */
-    @Override
-    public String makeMove() {
-        System.out.printf("Ходит %s...\n", NAME);
-
-        // Искусственная пауза для удобства восприятия процесса хода компьютера.
-        try {
-            Thread.sleep(2000);
-        } catch (InterruptedException e) {
-            throw new RuntimeException(e);
-        }
-
-        // 1. Пытаемся выиграть.
-        String coordinates = tryToWin();
-        if (coordinates != null) {
-            return coordinates;
-        }
-
-        // 2. Пытаемся заблокировать ход соперника.
-        coordinates = tryToBlock();
-        if (coordinates != null) {
-            return coordinates;
-        }
-
-        // 3. Пытаемся продолжить текущую комбинацию.
-        coordinates = tryToContinueCombination();
-        if (coordinates != null) {
-            return coordinates;
-        }
-
-        // 4. Ходим рандомно.
-        return getRandomCoordinates();
-    }
+    private final Random RANDOM;
 
     /**
-     * Попытка развить выигрышную комбинацию от уже существующего символа.
-     *
-     * @return координаты для хода, либо null, если нет вариантов для такого хода.
+     * Пауза перед ходом по умолчанию, в миллисекундах. Нужна для удобства восприятия при игре с человеком.
      */
-    private String tryToContinueCombination() {
-        char[][] field = FIELD.getField();
-
-        for (int row = 1; row <= field.length; row++) {
-            for (int column = 1; column <= field.length; column++) {
-
-                // Проверяем возможность продолжения комбинации только от тех ячеек, где уже стоит наш символ.
-                if (FIELD.getSymbolByCoordinates(row, column) == SYMBOL.getValue()) {
-                    return checkAllDirectionsFromCurrentCell(row, column);
-                }
-            }
-        }
-        return null;
-    }
+    public static final long INTERACTIVE_PAUSE_MILLIS = 2000;
 
     /**
-     * Проверяем по очереди все направления от выбранной ячейки.
-     *
-     * @param row       номер строки.
-     * @param column    номер столбца.
-     * @return          координаты для хода, либо null, если нет вариантов для такого хода.
+     * Пауза перед ходом в миллисекундах, 0 - без паузы.
      */
-    private String checkAllDirectionsFromCurrentCell(int row, int column) {
-        if (checkUpRightDiagonal(row, column)) {
-            return getUpRightDiagonalCoordinates(row, column);
-        }
-
-        if (checkDownRightDiagonal(row, column)) {
-            return getDownRightDiagonalCoordinates(row, column);
-        }
-
-        if (checkDownLeftDiagonal(row, column)) {
-            return getDownLeftDiagonalCoordinates(row, column);
-        }
-
-        if (checkUpLeftDiagonal(row, column)) {
-            return getUpLeftDiagonalCoordinates(row, column);
-        }
-
-        if (checkUpDirection(row, column)) {
-            return getUpDirectionCoordinates(row, column);
-        }
-
-        if (checkDownDirection(row, column)) {
-            return getDownDirectionCoordinates(row, column);
-        }
-
-        if (checkLeftDirection(row, column)) {
-            return getLeftDirectionCoordinates(row, column);
-        }
-
-        if (checkRightDirection(row, column)) {
-            return getRightDirectionCoordinates(row, column);
-        }
-
-        return null;
-    }
+    private final long PAUSE_MILLIS;
 
     /**
-     * Получить координаты для хода по направлению вверх и вправо.
+     * Конструктор.
      *
-     * @param row       номер строки.
-     * @param column    номер столбца.
-     * @return          координаты для хода, либо null, если нет вариантов для такого хода.
+     * @param symbol    символ игрока.
+     * @param field     экземпляр игрового поля.
      */
-    private String getUpRightDiagonalCoordinates(int row, int column) {
-        for (int i = 1; i < FIELD.getWinLength(); i++) {
-            if (FIELD.getSymbolByCoordinates(--row, ++column) == FIELD.getEmptyCell()) {
-                return coordinatesToString(row, column);
-            }
-        }
-        return null;
+    public ComputerPlayer(PlayerSymbol symbol, GameField field) {
+        this(symbol, field, INTERACTIVE_PAUSE_MILLIS);
     }
 
     /**
-     * Получить координаты для хода по направлению вниз и вправо.
+     * Конструктор.
      *
-     * @param row       номер строки.
-     * @param column    номер столбца.
-     * @return          координаты для хода, либо null, если нет вариантов для такого хода.
+     * @param symbol        символ игрока.
+     * @param field         экземпляр игрового поля.
+     * @param pauseMillis   пауза перед ходом в миллисекундах, 0 - без паузы (для игр без участия человека).
      */
-    private String getDownRightDiagonalCoordinates(int row, int column) {
-        for (int i = 1; i < FIELD.getWinLength(); i++) {
-            if (FIELD.getSymbolByCoordinates(++row, ++column) == FIELD.getEmptyCell()) {
-                return coordinatesToString(row, column);
-            }
-        }
-        return null;
+    public ComputerPlayer(PlayerSymbol symbol, GameField field, long pauseMillis) {
+        this(symbol, field, pauseMillis, new Random());
     }
 
     /**
-     * Получить координаты для хода по направлению вниз и влево.
+     * Конструктор с фиксированным зерном генератора случайных чисел, чтобы ходы повторялись
+     * от запуска к запуску (для бенчмарков и воспроизводимых серий партий).
      *
-     * @param row       номер строки.
-     * @param column    номер столбца.
-     * @return          координаты для хода, либо null, если нет вариантов для такого хода.
+     * @param symbol        символ игрока.
+     * @param field         экземпляр игрового поля.
+     * @param pauseMillis   пауза перед ходом в миллисекундах, 0 - без паузы.
+     * @param seed          зерно генератора случайных чисел.
      */
-    private String getDownLeftDiagonalCoordinates(int row, int column) {
-        for (int i = 1; i < FIELD.getWinLength(); i++) {
-            if (FIELD.getSymbolByCoordinates(++row, --column) == FIELD.getEmptyCell()) {
-                return coordinatesToString(row, column);
-            }
-        }
-        return null;
+    public ComputerPlayer(PlayerSymbol symbol, GameField field, long pauseMillis, long seed) {
+        this(symbol, field, pauseMillis, new Random(seed));
     }
 
     /**
-     * Получить координаты для хода по направлению вверх и влево.
+     * Конструктор.
      *
-     * @param row       номер строки.
-     * @param column    номер столбца.
-     * @return          координаты для хода, либо null, если нет вариантов для такого хода.
+     * @param symbol        символ игрока.
+     * @param field         экземпляр игрового поля.
+     * @param pauseMillis   пауза перед ходом в миллисекундах, 0 - без паузы.
+     * @param random        генератор случайных чисел.
      */
-    private String getUpLeftDiagonalCoordinates(int row, int column) {
-        for (int i = 1; i < FIELD.getWinLength(); i++) {
-            if (FIELD.getSymbolByCoordinates(--row, --column) == FIELD.getEmptyCell()) {
-                return coordinatesToString(row, column);
-            }
-        }
-        return null;
+    private ComputerPlayer(PlayerSymbol symbol, GameField field, long pauseMillis, Random random) {
+        super("SkyNet", symbol);
+        this.FIELD = field;
+        this.RANGES = DirectionRanges.get(field.getFieldSize());
+        this.RANDOM = random;
+        this.PAUSE_MILLIS = pauseMillis;
     }
 
     /**
-     * Получить координаты для хода по направлению вверх.
+     * Сделать ход. Компьютер принимает решение по следующему алгоритму:
+     * 1. Есть ли возможность выигрыша на данном ходу? Если да - делаем такой ход.
+     * 2. Есть ли возможность выигрыша противника в следующем ходу? Если да - блокируем его ход.
+     * 3. Пытаемся поставить символ рядом с уже существующим символом в том направлении, где ещё возможна победа.
+     * 4. Если не выполнились предыдущие три условия, ставим символ рандомно.
      *
-     * @param row       номер строки.
-     * @param column    номер столбца.
-     * @return          координаты для хода, либо null, если нет вариантов для такого хода.
+     * @return номер ячейки.
      */
-    private String getUpDirectionCoordinates(int row, int column) {
-        for (int i = 1; i < FIELD.getWinLength(); i++) {
-            if (FIELD.getSymbolByCoordinates(--row, column) == FIELD.getEmptyCell()) {
-                return coordinatesToString(row, column);
+    @Override
+    public int makeMove() {
+        // Искусственная пауза для удобства восприятия процесса хода компьютера.
+        if (PAUSE_MILLIS > 0) {
+            try {
+                Thread.sleep(PAUSE_MILLIS);
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
             }
         }
-        return null;
-    }
 
-    /**
-     * Получить координаты для хода по направлению вниз.
-     *
-     * @param row       номер строки.
-     * @param column    номер столбца.
-     * @return          координаты для хода, либо null, если нет вариантов для такого хода.
-     */
-    private String getDownDirectionCoordinates(int row, int column) {
-        for (int i = 1; i < FIELD.getWinLength(); i++) {
-            if (FIELD.getSymbolByCoordinates(++row, column) == FIELD.getEmptyCell()) {
-                return coordinatesToString(row, column);
-            }
+        // 1. Пытаемся выиграть.
+        int move = tryToWin();
+        if (move != GameField.INVALID_MOVE) {
+            return move;
         }
-        return null;
-    }
 
-    /**
-     * Получить координаты для хода по направлению влево.
-     *
-     * @param row       номер строки.
-     * @param column    номер столбца.
-     * @return          координаты для хода, либо null, если нет вариантов для такого хода.
-     */
-    private String getLeftDirectionCoordinates(int row, int column) {
-        for (int i = 1; i < FIELD.getWinLength(); i++) {
-            if (FIELD.getSymbolByCoordinates(row, --column) == FIELD.getEmptyCell()) {
-                return coordinatesToString(row, column);
-            }
+        // 2. Пытаемся заблокировать ход соперника.
+        move = tryToBlock();
+        if (move != GameField.INVALID_MOVE) {
+            return move;
         }
-        return null;
-    }
 
-    /**
-     * Получить координаты для хода по направлению вправо.
-     *
-     * @param row       номер строки.
-     * @param column    номер столбца.
-     * @return          координаты для хода, либо null, если нет вариантов для такого хода.
-     */
-    private String getRightDirectionCoordinates(int row, int column) {
-        for (int i = 1; i < FIELD.getWinLength(); i++) {
-            if (FIELD.getSymbolByCoordinates(row, ++column) == FIELD.getEmptyCell()) {
-                return coordinatesToString(row, column);
-            }
+        // 3. Пытаемся продолжить текущую комбинацию.
+        move = tryToContinueCombination();
+        if (move != GameField.INVALID_MOVE) {
+            return move;
         }
-        return null;
-    }
 
-    /**
-     * Проверить направление вверх и вправо на возможность построения выигрышной комбинации.
-     *
-     * @param row       номер строки.
-     * @param column    номер столбца.
-     * @return          true, если возможно построить выигрышную комбинацию.
-     */
-    private boolean checkUpRightDiagonal(int row, int column) {
-        for (int i = 1; i < FIELD.getWinLength(); i++) {
-            try {
-                if (FIELD.getSymbolByCoordinates(--row, ++column) == PlayerSymbol.getOpponentSymbol(SYMBOL).getValue()) {
-                    return false;
-                }
-            } catch (Exception e) {
-                return false;
-            }
-        }
-        return true;
+        // 4. Ходим рандомно.
+        return getRandomMove();
     }
 
     /**
-     * Проверить направление вниз и вправо на возможность построения выигрышной комбинации.
+     * Попытка развить выигрышную комбинацию от уже существующего символа.
      *
-     * @param row       номер строки.
-     * @param column    номер столбца.
-     * @return          true, если возможно построить выигрышную комбинацию.
+     * @return номер ячейки для хода, либо GameField.INVALID_MOVE, если нет вариантов для такого хода.
      */
-    private boolean checkDownRightDiagonal(int row, int column) {
-        for (int i = 1; i < FIELD.getWinLength(); i++) {
-            try {
-                if (FIELD.getSymbolByCoordinates(++row, ++column) == PlayerSymbol.getOpponentSymbol(SYMBOL).getValue()) {
-                    return false;
-                }
-            } catch (Exception e) {
-                return false;
-            }
-        }
-        return true;
-    }
+    private int tryToContinueCombination() {
+        char[][] field = FIELD.getField();
 
-    /**
-     * Проверить направление вниз и влево на возможность построения выигрышной комбинации.
-     *
-     * @param row       номер строки.
-     * @param column    номер столбца.
-     * @return          true, если возможно построить выигрышную комбинацию.
-     */
-    private boolean checkDownLeftDiagonal(int row, int column) {
-        for (int i = 1; i < FIELD.getWinLength(); i++) {
-            try {
-                if (FIELD.getSymbolByCoordinates(++row, --column) == PlayerSymbol.getOpponentSymbol(SYMBOL).getValue()) {
-                    return false;
-                }
-            } catch (Exception e) {
-                return false;
-            }
-        }
-        return true;
-    }
+        for (int row = 1; row <= field.length; row++) {
+            for (int column = 1; column <= field.length; column++) {
 
-    /**
-     * Проверить направление вверх и влево на возможность построения выигрышной комбинации.
-     *
-     * @param row       номер строки.
-     * @param column    номер столбца.
-     * @return          true, если возможно построить выигрышную комбинацию.
-     */
-    private boolean checkUpLeftDiagonal(int row, int column) {
-        for (int i = 1; i < FIELD.getWinLength(); i++) {
-            try {
-                if (FIELD.getSymbolByCoordinates(--row, --column) == PlayerSymbol.getOpponentSymbol(SYMBOL).getValue()) {
-                    return false;
+                // Проверяем возможность продолжения комбинации только от тех ячеек, где уже стоит наш символ.
+                if (FIELD.getSymbolByCoordinates(row, column) == SYMBOL.getValue()) {
+                    return checkAllDirectionsFromCurrentCell(row, column);
                 }
-            } catch (Exception e) {
-                return false;
             }
         }
-        return true;
+        return GameField.INVALID_MOVE;
     }
 
     /**
-     * Проверить направление вверх на возможность построения выигрышной комбинации.
+     * Проверяем по очереди все направления от выбранной ячейки.
      *
      * @param row       номер строки.
      * @param column    номер столбца.
-     * @return          true, если возможно построить выигрышную комбинацию.
+     * @return          номер ячейки для хода, либо GameField.INVALID_MOVE, если нет вариантов для такого хода.
      */
-    private boolean checkUpDirection(int row, int column) {
-        for (int i = 1; i < FIELD.getWinLength(); i++) {
-            try {
-                if (FIELD.getSymbolByCoordinates(--row, column) == PlayerSymbol.getOpponentSymbol(SYMBOL).getValue()) {
-                    return false;
-                }
-            } catch (Exception e) {
-                return false;
+    private int checkAllDirectionsFromCurrentCell(int row, int column) {
+        for (Direction direction : Direction.values()) {
+            if (checkDirection(row, column, direction)) {
+                return getDirectionCoordinates(row, column, direction);
             }
         }
-        return true;
+        return GameField.INVALID_MOVE;
     }
 
     /**
-     * Проверить направление вниз на возможность построения выигрышной комбинации.
+     * Получить координаты для хода в заданном направлении.
+     * Вызывается только после checkDirection, поэтому все проверяемые ячейки находятся в пределах поля.
      *
      * @param row       номер строки.
      * @param column    номер столбца.
-     * @return          true, если возможно построить выигрышную комбинацию.
+     * @param direction направление.
+     * @return          номер ячейки для хода, либо GameField.INVALID_MOVE, если нет вариантов для такого хода.
      */
-    private boolean checkDownDirection(int row, int column) {
+    private int getDirectionCoordinates(int row, int column, Direction direction) {
         for (int i = 1; i < FIELD.getWinLength(); i++) {
-            try {
-                if (FIELD.getSymbolByCoordinates(++row, column) == PlayerSymbol.getOpponentSymbol(SYMBOL).getValue()) {
-                    return false;
-                }
-            } catch (Exception e) {
-                return false;
+            row += direction.getRowStep();
+            column += direction.getColumnStep();
+            if (FIELD.getSymbolByCoordinates(row, column) == FIELD.getEmptyCell()) {
+                return FIELD.toMove(row, column);
             }
         }
-        return true;
+        return GameField.INVALID_MOVE;
     }
 
     /**
-     * Проверить направление влево на возможность построения выигрышной комбинации.
+     * Проверить направление на возможность построения выигрышной комбинации.
      *
      * @param row       номер строки.
      * @param column    номер столбца.
+     * @param direction направление.
      * @return          true, если возможно построить выигрышную комбинацию.
      */
-    private boolean checkLeftDirection(int row, int column) {
-        for (int i = 1; i < FIELD.getWinLength(); i++) {
-            try {
-                if (FIELD.getSymbolByCoordinates(row, --column) == PlayerSymbol.getOpponentSymbol(SYMBOL).getValue()) {
-                    return false;
-                }
-            } catch (Exception e) {
-                return false;
-            }
+    private boolean checkDirection(int row, int column, Direction direction) {
+
+        // Если до края поля меньше ячеек, чем нужно для комбинации, направление не подходит.
+        if (RANGES.getReach(row, column, direction) < FIELD.getWinLength() - 1) {
+            return false;
         }
-        return true;
-    }
 
-    /**
-     * Проверить направление вправо на возможность построения выигрышной комбинации.
-     *
-     * @param row       номер строки.
-     * @param column    номер столбца.
-     * @return          true, если возможно построить выигрышную комбинацию.
-     */
-    private boolean checkRightDirection(int row, int column) {
+        char opponentSymbol = PlayerSymbol.getOpponentSymbol(SYMBOL).getValue();
         for (int i = 1; i < FIELD.getWinLength(); i++) {
-            try {
-                if (FIELD.getSymbolByCoordinates(row, ++column) == PlayerSymbol.getOpponentSymbol(SYMBOL).getValue()) {
-                    return false;
-                }
-            } catch (Exception e) {
+            row += direction.getRowStep();
+            column += direction.getColumnStep();
+            if (FIELD.getSymbolByCoordinates(row, column) == opponentSymbol) {
                 return false;
             }
         }
@@ -420,101 +213,38 @@ public class ComputerPlayer extends AbstractPlayer {
     }
 
     /**
-     * Попытка заблокировать ход противника.
+     * Попытка заблокировать ход противника: занять ячейку, ход в которую принёс бы ему победу.
      *
-     * @return координаты для хода, либо null, если нет вариантов для такого хода.
+     * @return номер ячейки для хода, либо GameField.INVALID_MOVE, если нет вариантов для такого хода.
      */
-    private String tryToBlock() {
-        char[][] field = FIELD.getField();
-
-        // Получаем значение символа противника.
-        PlayerSymbol opponentSymbol = PlayerSymbol.getOpponentSymbol(SYMBOL);
-
-        for (int row = 1; row <= field.length; row++) {
-            for (int column = 1; column <= field.length; column++) {
-
-                // Проверяем только незанятые ячейки.
-                if (!FIELD.isCellOccupied(row, column)) {
-
-                    // Ставим в ячейку временный символ противника.
-                    FIELD.setTempSymbol(row, column, opponentSymbol);
-
-                    // Проверяем, достигнет ли противник таким образом победы.
-                    boolean isWin = FIELD.isWin(opponentSymbol.getValue());
-
-                    // Удаляем временный символ противника.
-                    FIELD.removeTempSymbol(row, column);
-
-                    // Если противник может выиграть таким ходом, возвращаем эти координаты для хода.
-                    if (isWin) {
-                        return coordinatesToString(row, column);
-                    }
-                }
-            }
-        }
-        return null;
+    private int tryToBlock() {
+        int cell = FIELD.getThreats().findWinningCell(PlayerSymbol.getOpponentSymbol(SYMBOL));
+        return cell == ThreatTracker.NO_CELL ? GameField.INVALID_MOVE : cell;
     }
 
     /**
-     * Попытка закончить выигрышную комбинацию.
+     * Попытка закончить выигрышную комбинацию. Линии, где до победы не хватает одного символа,
+     * поле отслеживает само, поэтому перебирать ячейки не нужно.
      *
-     * @return координаты для хода, либо null, если нет вариантов для такого хода.
+     * @return номер ячейки для хода, либо GameField.INVALID_MOVE, если нет вариантов для такого хода.
      */
-    private String tryToWin() {
-        char[][] field = FIELD.getField();
-
-        for (int row = 1; row <= field.length; row++) {
-            for (int column = 1; column <= field.length; column++) {
-
-                // Проверяем только незанятые ячейки.
-                if (!FIELD.isCellOccupied(row, column)) {
-
-                    // Ставим в ячейку временный свой символ.
-                    FIELD.setTempSymbol(row, column, SYMBOL);
-
-                    // Проверяем, достигнем ли мы таким образом победы.
-                    boolean isWin = FIELD.isWin(SYMBOL.getValue());
-
-                    // Удаляем временный.
-                    FIELD.removeTempSymbol(row, column);
-
-                    // Если можем выиграть таким ходом, возвращаем эти координаты для хода.
-                    if (isWin) {
-                        return coordinatesToString(row, column);
-                    }
-                }
-            }
-        }
-        return null;
+    private int tryToWin() {
+        int cell = FIELD.getThreats().findWinningCell(SYMBOL);
+        return cell == ThreatTracker.NO_CELL ? GameField.INVALID_MOVE : cell;
     }
 
     /**
-     * Получить случайные координаты для хода.
+     * Получить случайную свободную ячейку для хода.
      *
-     * @return случайные координаты.
+     * @return номер ячейки, либо GameField.INVALID_MOVE, если свободных ячеек нет.
      */
-    private String getRandomCoordinates() {
-        Random random = new Random();
-        int fieldSize = FIELD.getField().length;
-        int row, column;
-
-        // Случайно выбираем координаты до тех пор, пока не будет выбрана свободная ячейка.
-        do {
-            row = random.nextInt(fieldSize) + 1;
-            column = random.nextInt(fieldSize) + 1;
-        } while (FIELD.isCellOccupied(row, column));
-
-        return coordinatesToString(row, column);
-    }
+    private int getRandomMove() {
+        int freeCount = FIELD.getFreeCellsCount();
+        if (freeCount == 0) {
+            return GameField.INVALID_MOVE;
+        }
 
-    /**
-     * Преобразование координат в строковое выражение.
-     *
-     * @param row       номер строки.
-     * @param column    номер столбца.
-     * @return          запись координат в виде строки.
-     */
-    private String coordinatesToString(int row, int column) {
-        return String.format("%d %d", row, column);
+        // Выбираем сразу среди свободных ячеек, без повторных попыток на почти заполненном поле.
+        return FIELD.getFreeCell(RANDOM.nextInt(freeCount));
     }
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package game.players;
 
+import game.GameField;
 import game.enums.PlayerSymbol;
 
 import java.util.Scanner;
@@ -9,24 +10,31 @@ import java.util.Scanner;
  */
 public class HumanPlayer extends AbstractPlayer {
 
+    /**
+     * Экземпляр игрового поля, нужен для разбора введённых координат.
+     */
+    private final GameField FIELD;
+
     /**
      * Конструктор.
      *
      * @param name      имя игрока.
      * @param symbol    символ игрока.
+     * @param field     экземпляр игрового поля.
      */
-    public HumanPlayer(String name, PlayerSymbol symbol) {
+    public HumanPlayer(String name, PlayerSymbol symbol, GameField field) {
         super(name, symbol);
+        this.FIELD = field;
     }
 
     /**
      * Сделать ход.
      *
-     * @return координаты в виде строки с разделителем-пробелом, например - "2 3".
+     * @return номер ячейки, либо GameField.INVALID_MOVE, если введены некорректные координаты.
      */
     @Override
-    public String makeMove() {
+    public int makeMove() {
         System.out.printf("%s, введите номер строки и столбца через пробел.\n", NAME);
-        return new Scanner(System.in).nextLine();
+        return FIELD.parseMove(new Scanner(System.in).nextLine());
     }
 }
\ No newline at end of file
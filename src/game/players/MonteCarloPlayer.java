@@ -0,0 +1,89 @@
+package game.players;
+
+import game.GameField;
+import game.ai.MonteCarloTreeSearch;
+import game.enums.PlayerSymbol;
+import game.metrics.Metrics;
+
+/**
+ * Игрок-компьютер, выбирающий ход поиском Монте-Карло по дереву.
+ * Подходит для больших полей с короткой выигрышной комбинацией, где полный перебор невозможен.
+ */
+public class MonteCarloPlayer extends AbstractPlayer {
+
+    /**
+     * Ограничение на количество итераций за ход по умолчанию.
+     */
+    public static final long DEFAULT_MAX_ITERATIONS = 100_000;
+
+    /**
+     * Ограничение по времени на ход по умолчанию, в миллисекундах.
+     */
+    public static final long DEFAULT_MAX_MILLIS = 1000;
+
+    /**
+     * Поиск лучшего хода.
+     */
+    private final MonteCarloTreeSearch SEARCH;
+
+    /**
+     * Ограничение на количество итераций за ход.
+     */
+    private final long MAX_ITERATIONS;
+
+    /**
+     * Ограничение по времени на ход, в миллисекундах.
+     */
+    private final long MAX_MILLIS;
+
+    /**
+     * Конструктор с параметрами поиска по умолчанию.
+     *
+     * @param symbol    символ игрока.
+     * @param field     экземпляр игрового поля.
+     */
+    public MonteCarloPlayer(PlayerSymbol symbol, GameField field) {
+        this(symbol, field, MonteCarloTreeSearch.DEFAULT_EXPLORATION, DEFAULT_MAX_ITERATIONS, DEFAULT_MAX_MILLIS);
+    }
+
+    /**
+     * Конструктор.
+     *
+     * @param symbol        символ игрока.
+     * @param field         экземпляр игрового поля.
+     * @param exploration   коэффициент исследования в формуле UCB1.
+     * @param maxIterations ограничение на количество итераций за ход.
+     * @param maxMillis     ограничение по времени на ход, в миллисекундах.
+     */
+    public MonteCarloPlayer(PlayerSymbol symbol, GameField field, double exploration,
+                            long maxIterations, long maxMillis) {
+        super("Monte Carlo", symbol);
+        this.SEARCH = new MonteCarloTreeSearch(field, exploration, System.nanoTime());
+        this.MAX_ITERATIONS = maxIterations;
+        this.MAX_MILLIS = maxMillis;
+    }
+
+    /**
+     * Сделать ход.
+     *
+     * @return номер ячейки.
+     */
+    @Override
+    public int makeMove() {
+        int move = SEARCH.findBestMove(SYMBOL, MAX_ITERATIONS, MAX_MILLIS);
+        if (Metrics.ENABLED) {
+            Metrics.PLAYOUTS.add(SEARCH.getPlayouts());
+            Metrics.PLAYOUT_NANOS.add(SEARCH.getElapsedNanos());
+        }
+        return move;
+    }
+
+    /**
+     * Скорость последнего поиска.
+     *
+     * @return количество случайных доигрываний в секунду.
+     */
+    public double getPlayoutsPerSecond() {
+        return SEARCH.getPlayoutsPerSecond();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,57 @@
+package game.players;
+
+import game.GameField;
+import game.enums.PlayerSymbol;
+
+import java.util.SplittableRandom;
+
+/**
+ * Игрок-компьютер, который ходит в случайную свободную ячейку.
+ * Нужен как самый слабый соперник в турнирах и при проверке других игроков.
+ */
+public class RandomPlayer extends AbstractPlayer {
+
+    /**
+     * Экземпляр игрового поля.
+     */
+    private final GameField FIELD;
+
+    /**
+     * Генератор случайных чисел.
+     */
+    private final SplittableRandom random;
+
+    /**
+     * Конструктор.
+     *
+     * @param symbol    символ игрока.
+     * @param field     экземпляр игрового поля.
+     */
+    public RandomPlayer(PlayerSymbol symbol, GameField field) {
+        this(symbol, field, System.nanoTime());
+    }
+
+    /**
+     * Конструктор.
+     *
+     * @param symbol    символ игрока.
+     * @param field     экземпляр игрового поля.
+     * @param seed      зерно генератора случайных чисел.
+     */
+    public RandomPlayer(PlayerSymbol symbol, GameField field, long seed) {
+        super("Random", symbol);
+        this.FIELD = field;
+        this.random = new SplittableRandom(seed);
+    }
+
+    /**
+     * Сделать ход.
+     *
+     * @return номер случайной свободной ячейки, либо GameField.INVALID_MOVE, если свободных ячеек нет.
+     */
+    @Override
+    public int makeMove() {
+        int freeCount = FIELD.getFreeCellsCount();
+        return freeCount == 0 ? GameField.INVALID_MOVE : FIELD.getFreeCell(random.nextInt(freeCount));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,77 @@
+package game.players;
+
+import game.GameField;
+import game.enums.PlayerSymbol;
+import game.interfaces.AsyncPlayer;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Игрок-человек, подключённый к игровому серверу по сети.
+ * Ход не запрашивается у игрока, а приходит из сокета: сервер передаёт его в receive,
+ * после чего забирает через makeMove, как у любого другого игрока.
+ * Асинхронно ход можно запросить заранее через requestMove: future завершится, когда ход придёт.
+ */
+public class RemotePlayer extends AbstractPlayer implements AsyncPlayer {
+
+    /**
+     * Последний полученный и ещё не сделанный ход.
+     */
+    private int pendingMove = GameField.INVALID_MOVE;
+
+    /**
+     * Запрос хода, ожидающий прихода хода из сети, либо null.
+     */
+    private CompletableFuture<Integer> pendingRequest;
+
+    /**
+     * Конструктор.
+     *
+     * @param name      имя игрока.
+     * @param symbol    символ игрока.
+     */
+    public RemotePlayer(String name, PlayerSymbol symbol) {
+        super(name, symbol);
+    }
+
+    /**
+     * Передать игроку ход, полученный из сети.
+     *
+     * @param move номер ячейки, либо GameField.INVALID_MOVE.
+     */
+    public synchronized void receive(int move) {
+        if (pendingRequest != null && !pendingRequest.isDone()) {
+            CompletableFuture<Integer> request = pendingRequest;
+            pendingRequest = null;
+            request.complete(move);
+            return;
+        }
+        pendingMove = move;
+    }
+
+    /**
+     * Сделать ход.
+     *
+     * @return последний полученный ход, либо GameField.INVALID_MOVE, если хода не было.
+     */
+    @Override
+    public synchronized int makeMove() {
+        int move = pendingMove;
+        pendingMove = GameField.INVALID_MOVE;
+        return move;
+    }
+
+    /**
+     * Запросить ход.
+     *
+     * @return future, который завершится, когда ход придёт из сети.
+     */
+    @Override
+    public synchronized CompletableFuture<Integer> requestMove() {
+        if (pendingMove != GameField.INVALID_MOVE) {
+            return CompletableFuture.completedFuture(makeMove());
+        }
+        pendingRequest = new CompletableFuture<>();
+        return pendingRequest;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,95 @@
+package game.players;
+
+import game.GameField;
+import game.ai.Tablebase;
+import game.enums.PlayerSymbol;
+
+/**
+ * Игрок-компьютер, играющий идеально по таблице результатов (см. Tablebase).
+ * Каждый ход - несколько обращений к отображённому в память файлу, без перебора.
+ * Из выигрывающих ходов предпочитается ход, сразу завершающий партию.
+ */
+public class TablebasePlayer extends AbstractPlayer {
+
+    /**
+     * Экземпляр игрового поля.
+     */
+    private final GameField FIELD;
+
+    /**
+     * Таблица результатов.
+     */
+    private final Tablebase TABLEBASE;
+
+    /**
+     * Конструктор с таблицей из файла по умолчанию.
+     *
+     * @param symbol    символ игрока.
+     * @param field     экземпляр игрового поля.
+     */
+    public TablebasePlayer(PlayerSymbol symbol, GameField field) {
+        this(symbol, field, Tablebase.get(field.getFieldSize(), field.getWinLength()));
+    }
+
+    /**
+     * Конструктор.
+     *
+     * @param symbol    символ игрока.
+     * @param field     экземпляр игрового поля.
+     * @param tablebase таблица результатов для поля с такими же параметрами.
+     */
+    public TablebasePlayer(PlayerSymbol symbol, GameField field, Tablebase tablebase) {
+        super("Tablebase", symbol);
+        if (!tablebase.matches(field)) {
+            throw new IllegalArgumentException("Таблица построена для другого поля");
+        }
+        this.FIELD = field;
+        this.TABLEBASE = tablebase;
+    }
+
+    /**
+     * Сделать ход.
+     *
+     * @return номер ячейки, либо GameField.INVALID_MOVE, если свободных ячеек нет.
+     */
+    @Override
+    public int makeMove() {
+        int index = TABLEBASE.getIndex(FIELD, SYMBOL);
+        int bestMove = GameField.INVALID_MOVE;
+        int bestRank = -1;
+
+        for (int i = 0; i < FIELD.getFreeCellsCount(); i++) {
+            int move = FIELD.getFreeCell(i);
+            if (FIELD.isWinningMove(FIELD.getRow(move), FIELD.getColumn(move), SYMBOL)) {
+                return move;
+            }
+
+            // Результат продолжения записан с точки зрения соперника.
+            int rank = getRank(TABLEBASE.probe(TABLEBASE.getChildIndex(index, move)));
+            if (rank > bestRank) {
+                bestRank = rank;
+                bestMove = move;
+            }
+        }
+        return bestMove;
+    }
+
+    /**
+     * Насколько продолжение хорошо для игрока.
+     *
+     * @param opponentValue результат продолжения с точки зрения соперника.
+     * @return              чем больше, тем лучше; недостижимые позиции (начатые не с пустого поля) ниже ничьей.
+     */
+    private static int getRank(int opponentValue) {
+        switch (opponentValue) {
+            case Tablebase.LOSS:
+                return 3;
+            case Tablebase.DRAW:
+                return 2;
+            case Tablebase.UNKNOWN:
+                return 1;
+            default:
+                return 0;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,346 @@
+package game.record;
+
+import game.GameField;
+import game.TicTacToe;
+import game.enums.GameOutcome;
+import game.enums.PlayerSymbol;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Чтение журнала партий (формат см. в GameRecordWriter).
+ * Файл отображается в память окнами по WINDOW_SIZE байт, так что читаются и журналы больше 2 ГБ.
+ * Читатель - курсор: next() переходит к следующей партии, а её данные доступны через геттеры до
+ * следующего вызова next(). Ходы декодируются в переиспользуемый массив, поэтому перебор партий
+ * не создаёт объектов (кроме имён игроков, которые декодируются только по запросу).
+ * Неполная последняя партия (например, если запись была прервана) пропускается. Так же обрабатывается
+ * испорченная партия - с недопустимыми размером поля, длиной комбинации или ходом за пределами поля:
+ * чтение на ней заканчивается.
+ */
+public class GameRecordReader implements AutoCloseable {
+
+    /**
+     * Размер окна отображения в байтах.
+     */
+    private static final long WINDOW_SIZE = 1L << 30;
+
+    /**
+     * Наибольший размер одной партии в байтах (поле 255х255).
+     */
+    private static final int MAX_RECORD_SIZE = 1 << 18;
+
+    /**
+     * Канал файла журнала.
+     */
+    private final FileChannel CHANNEL;
+
+    /**
+     * Размер файла на момент открытия.
+     */
+    private final long FILE_SIZE;
+
+    /**
+     * Текущее окно отображения.
+     */
+    private MappedByteBuffer window;
+
+    /**
+     * Смещение начала окна в файле.
+     */
+    private long windowStart;
+
+    /**
+     * Ходы текущей партии.
+     */
+    private int[] moves = new int[64];
+
+    /**
+     * Количество ходов текущей партии.
+     */
+    private int movesCount;
+
+    /**
+     * Размер поля текущей партии.
+     */
+    private int fieldSize;
+
+    /**
+     * Длина выигрышной комбинации текущей партии.
+     */
+    private int winLength;
+
+    /**
+     * Флаги текущей партии.
+     */
+    private int flags;
+
+    /**
+     * Смещения имён игроков текущей партии в окне.
+     */
+    private final int[] nameOffsets = new int[2];
+
+    /**
+     * Длины имён игроков текущей партии в байтах.
+     */
+    private final int[] nameLengths = new int[2];
+
+    /**
+     * Количество прочитанных партий.
+     */
+    private long gamesCount;
+
+    /**
+     * Конструктор.
+     *
+     * @param path  путь к файлу журнала.
+     * @throws IOException если файл не удалось открыть или он не является журналом партий.
+     */
+    public GameRecordReader(Path path) throws IOException {
+        this.CHANNEL = FileChannel.open(path, StandardOpenOption.READ);
+        this.FILE_SIZE = CHANNEL.size();
+        if (FILE_SIZE < GameRecordWriter.HEADER_SIZE) {
+            CHANNEL.close();
+            throw new IOException("Файл не является журналом партий: " + path);
+        }
+        map(0);
+        if (window.getInt() != GameRecordWriter.MAGIC || window.get() != GameRecordWriter.VERSION) {
+            CHANNEL.close();
+            throw new IOException("Файл не является журналом партий: " + path);
+        }
+    }
+
+    /**
+     * Отобразить в память окно, начинающееся с указанного смещения.
+     *
+     * @param start смещение в файле.
+     * @throws IOException если отображение не удалось.
+     */
+    private void map(long start) throws IOException {
+        windowStart = start;
+        window = CHANNEL.map(FileChannel.MapMode.READ_ONLY, start, Math.min(WINDOW_SIZE, FILE_SIZE - start));
+    }
+
+    /**
+     * Перейти к следующей партии.
+     *
+     * @return true, если партия прочитана; false, если партий больше нет.
+     * @throws IOException если не удалось отобразить файл.
+     */
+    public boolean next() throws IOException {
+        long offset = windowStart + window.position();
+        if (offset >= FILE_SIZE) {
+            return false;
+        }
+
+        // Партия может не поместиться в остаток окна - сдвигаем окно к её началу.
+        if (window.remaining() < MAX_RECORD_SIZE && windowStart + window.limit() < FILE_SIZE) {
+            map(offset);
+        }
+
+        int position = window.position();
+        try {
+            fieldSize = window.get() & 0xFF;
+            winLength = window.get() & 0xFF;
+            if (fieldSize < TicTacToe.MIN_FIELD_SIZE || fieldSize > TicTacToe.MAX_FIELD_SIZE
+                    || winLength < TicTacToe.MIN_FIELD_SIZE || winLength > fieldSize) {
+                throw new IllegalArgumentException("Некорректное поле: " + fieldSize + "/" + winLength);
+            }
+            flags = window.get() & 0xFF;
+            for (int i = 0; i < nameOffsets.length; i++) {
+                nameLengths[i] = window.get() & 0xFF;
+                nameOffsets[i] = window.position();
+                window.position(window.position() + nameLengths[i]);
+            }
+            movesCount = getVarint();
+
+            // Каждый ход занимает хотя бы байт и ходов не больше, чем ячеек; иначе длина испорчена,
+            // и массив под неё не выделяем.
+            if (movesCount < 0 || movesCount > window.remaining() || movesCount > fieldSize * fieldSize) {
+                throw new IllegalArgumentException("Некорректное количество ходов: " + movesCount);
+            }
+            if (moves.length < movesCount) {
+                moves = new int[Math.max(movesCount, moves.length * 2)];
+            }
+            for (int i = 0; i < movesCount; i++) {
+                moves[i] = getVarint();
+                if (moves[i] < 0 || moves[i] >= fieldSize * fieldSize) {
+                    throw new IllegalArgumentException("Ход за пределами поля: " + moves[i]);
+                }
+            }
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+
+            // Запись оборвана на середине или испорчена.
+            window.position(position);
+            return false;
+        }
+        gamesCount++;
+        return true;
+    }
+
+    /**
+     * Прочитать число в формате varint.
+     *
+     * @return число.
+     */
+    private int getVarint() {
+        int value = 0;
+        for (int shift = 0; ; shift += 7) {
+            byte b = window.get();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+    }
+
+    /**
+     * Расставить ходы текущей партии на поле (поле предварительно очищается).
+     * Расстановка останавливается на первом ходе в уже занятую ячейку.
+     *
+     * @param field     поле с теми же размером и длиной комбинации.
+     * @param count     сколько первых ходов расставить.
+     * @return          true, если все ходы расставлены; false, если встретился ход в занятую ячейку.
+     */
+    public boolean replay(GameField field, int count) {
+        field.initialize();
+        PlayerSymbol symbol = getFirstSymbol();
+        for (int i = 0; i < count; i++) {
+            int row = field.getRow(moves[i]);
+            int column = field.getColumn(moves[i]);
+            if (field.isCellOccupied(row, column)) {
+                return false;
+            }
+            field.setTempSymbol(row, column, symbol);
+            symbol = PlayerSymbol.getOpponentSymbol(symbol);
+        }
+        return true;
+    }
+
+    /**
+     * Геттер.
+     *
+     * @return размер поля текущей партии.
+     */
+    public int getFieldSize() {
+        return fieldSize;
+    }
+
+    /**
+     * Геттер.
+     *
+     * @return длина выигрышной комбинации текущей партии.
+     */
+    public int getWinLength() {
+        return winLength;
+    }
+
+    /**
+     * Геттер.
+     *
+     * @return итог текущей партии.
+     */
+    public GameOutcome getOutcome() {
+        return GameOutcome.values()[flags & GameRecordWriter.OUTCOME_MASK];
+    }
+
+    /**
+     * Геттер.
+     *
+     * @return символ игрока, который ходил первым.
+     */
+    public PlayerSymbol getFirstSymbol() {
+        return (flags & GameRecordWriter.FIRST_O_FLAG) != 0 ? PlayerSymbol.O : PlayerSymbol.X;
+    }
+
+    /**
+     * Геттер.
+     *
+     * @return количество ходов текущей партии.
+     */
+    public int getMovesCount() {
+        return movesCount;
+    }
+
+    /**
+     * Ход текущей партии.
+     *
+     * @param index номер хода (с нуля).
+     * @return      номер ячейки (см. GameField.toMove).
+     */
+    public int getMove(int index) {
+        return moves[index];
+    }
+
+    /**
+     * Имя игрока текущей партии.
+     *
+     * @param player    0 - ходивший первым, 1 - вторым.
+     * @return          имя игрока.
+     */
+    public String getPlayerName(int player) {
+        byte[] bytes = new byte[nameLengths[player]];
+        ByteBuffer name = window.duplicate();
+        name.position(nameOffsets[player]);
+        name.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Смещение в файле сразу после последней прочитанной партии. После того как next() вернул false,
+     * это конец последней полной партии, то есть размер неповреждённой части журнала.
+     *
+     * @return смещение в байтах.
+     */
+    public long getOffset() {
+        return windowStart + window.position();
+    }
+
+    /**
+     * Геттер.
+     *
+     * @return количество прочитанных партий.
+     */
+    public long getGamesCount() {
+        return gamesCount;
+    }
+
+    /**
+     * Закрыть файл.
+     *
+     * @throws IOException если закрытие не удалось.
+     */
+    @Override
+    public void close() throws IOException {
+        CHANNEL.close();
+    }
+
+    /**
+     * Просмотр журнала: количество партий, итоги и скорость чтения.
+     * Запуск: java game.record.GameRecordReader файл
+     */
+    public static void main(String[] args) throws IOException {
+        long start = System.nanoTime();
+        long[] outcomes = new long[GameOutcome.values().length];
+        long moves = 0;
+        try (GameRecordReader reader = new GameRecordReader(Paths.get(args[0]))) {
+            while (reader.next()) {
+                outcomes[reader.getOutcome().ordinal()]++;
+                moves += reader.getMovesCount();
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("Партий: %d, ходов: %d, первый выиграл: %d, второй выиграл: %d, ничьих: %d, "
+                            + "прервано: %d\nВремя: %.2f с, партий/с: %.0f\n", reader.getGamesCount(), moves,
+                    outcomes[GameOutcome.FIRST_PLAYER_WIN.ordinal()], outcomes[GameOutcome.SECOND_PLAYER_WIN.ordinal()],
+                    outcomes[GameOutcome.DRAW.ordinal()], outcomes[GameOutcome.UNFINISHED.ordinal()],
+                    seconds, reader.getGamesCount() / seconds);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,216 @@
+package game.record;
+
+import game.enums.GameOutcome;
+import game.enums.PlayerSymbol;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Запись партий в двоичный журнал. Партии только дописываются в конец файла.
+ * Формат файла: заголовок (MAGIC, VERSION), затем партии одна за другой:
+ * размер поля (байт), длина комбинации (байт), флаги (байт: биты 0-1 - GameOutcome, бит 2 - первым ходит O),
+ * имена первого и второго игрока (длина в байтах и UTF-8, не длиннее 255 байт),
+ * количество ходов и номера ячеек (см. GameField.toMove) в формате varint - на полях до 11х11 один байт на ход.
+ * Записи копятся в буфере и сбрасываются в канал целиком, когда буфер заполнен, и при закрытии.
+ * Если запись была прервана (например, процесс упал посреди сброса буфера), в конце файла остаётся
+ * неполная партия; при открытии она отрезается, иначе все дописанные после неё партии оказались бы
+ * за неполной и читатель бы их не увидел.
+ * Писать можно из нескольких потоков: каждая партия записывается целиком.
+ */
+public class GameRecordWriter implements AutoCloseable {
+
+    /**
+     * Сигнатура файла журнала.
+     */
+    static final int MAGIC = 0x54544752;
+
+    /**
+     * Версия формата.
+     */
+    static final byte VERSION = 1;
+
+    /**
+     * Размер заголовка файла в байтах.
+     */
+    static final int HEADER_SIZE = Integer.BYTES + 1;
+
+    /**
+     * Бит флагов "первым ходит O".
+     */
+    static final int FIRST_O_FLAG = 4;
+
+    /**
+     * Маска итога партии во флагах.
+     */
+    static final int OUTCOME_MASK = 3;
+
+    /**
+     * Наибольшая длина имени игрока в байтах.
+     */
+    static final int MAX_NAME_BYTES = 255;
+
+    /**
+     * Размер буфера. Вмещает партию на поле 255х255 (ячейки до 2^21 занимают не больше трёх байт).
+     */
+    private static final int BUFFER_SIZE = 1 << 18;
+
+    /**
+     * Канал файла журнала.
+     */
+    private final FileChannel CHANNEL;
+
+    /**
+     * Буфер записей, ещё не сброшенных в канал.
+     */
+    private final ByteBuffer BUFFER = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+    /**
+     * Количество записанных партий.
+     */
+    private long gamesCount;
+
+    /**
+     * Конструктор. Открывает журнал для дописывания, новый файл создаётся с заголовком.
+     * Существующий журнал просматривается до конца последней полной партии, хвост после неё отрезается.
+     *
+     * @param path  путь к файлу журнала.
+     * @throws IOException если файл не удалось открыть или он не является журналом партий.
+     */
+    public GameRecordWriter(Path path) throws IOException {
+        this.CHANNEL = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        if (CHANNEL.size() == 0) {
+            BUFFER.putInt(MAGIC).put(VERSION);
+            return;
+        }
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        while (header.hasRemaining() && CHANNEL.read(header, header.position()) > 0) {
+            // Читаем заголовок целиком.
+        }
+        if (header.hasRemaining() || header.getInt(0) != MAGIC || header.get(Integer.BYTES) != VERSION) {
+            CHANNEL.close();
+            throw new IOException("Файл не является журналом партий: " + path);
+        }
+
+        // Дописываем сразу после последней полной партии.
+        long validSize;
+        try (GameRecordReader reader = new GameRecordReader(path)) {
+            while (reader.next()) {
+                // Пропускаем полные партии.
+            }
+            validSize = reader.getOffset();
+        } catch (IOException e) {
+            CHANNEL.close();
+            throw e;
+        }
+        if (validSize < CHANNEL.size()) {
+            CHANNEL.truncate(validSize);
+        }
+        CHANNEL.position(validSize);
+    }
+
+    /**
+     * Записать партию.
+     *
+     * @param fieldSize     размер игрового поля.
+     * @param winLength     длина выигрышной комбинации.
+     * @param firstSymbol   символ игрока, который ходил первым.
+     * @param firstName     имя игрока, который ходил первым.
+     * @param secondName    имя игрока, который ходил вторым.
+     * @param outcome       итог партии.
+     * @param moves         ходы по порядку (номера ячеек).
+     * @param movesCount    количество ходов.
+     * @throws IOException  если не удалось записать в файл.
+     */
+    public synchronized void write(int fieldSize, int winLength, PlayerSymbol firstSymbol, String firstName,
+                                   String secondName, GameOutcome outcome, int[] moves, int movesCount)
+            throws IOException {
+        byte[] first = toNameBytes(firstName);
+        byte[] second = toNameBytes(secondName);
+        int maxSize = 5 + first.length + second.length + 5 + movesCount * 5;
+        if (BUFFER.remaining() < maxSize) {
+            flush();
+        }
+
+        BUFFER.put((byte) fieldSize).put((byte) winLength);
+        BUFFER.put((byte) (outcome.ordinal() | (firstSymbol == PlayerSymbol.O ? FIRST_O_FLAG : 0)));
+        BUFFER.put((byte) first.length).put(first);
+        BUFFER.put((byte) second.length).put(second);
+        putVarint(movesCount);
+        for (int i = 0; i < movesCount; i++) {
+            putVarint(moves[i]);
+        }
+        gamesCount++;
+    }
+
+    /**
+     * Имя игрока в UTF-8, обрезанное до MAX_NAME_BYTES байт.
+     *
+     * @param name  имя игрока.
+     * @return      байты имени.
+     */
+    private static byte[] toNameBytes(String name) {
+        byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length <= MAX_NAME_BYTES) {
+            return bytes;
+        }
+        byte[] truncated = new byte[MAX_NAME_BYTES];
+        System.arraycopy(bytes, 0, truncated, 0, MAX_NAME_BYTES);
+        return truncated;
+    }
+
+    /**
+     * Записать неотрицательное число в формате varint: по 7 бит в байте, старший бит - "есть продолжение".
+     *
+     * @param value число.
+     */
+    private void putVarint(int value) {
+        while ((value & ~0x7F) != 0) {
+            BUFFER.put((byte) (value & 0x7F | 0x80));
+            value >>>= 7;
+        }
+        BUFFER.put((byte) value);
+    }
+
+    /**
+     * Сбросить накопленные записи в файл.
+     *
+     * @throws IOException если не удалось записать в файл.
+     */
+    public synchronized void flush() throws IOException {
+        BUFFER.flip();
+        while (BUFFER.hasRemaining()) {
+            CHANNEL.write(BUFFER);
+        }
+        BUFFER.clear();
+    }
+
+    /**
+     * Геттер.
+     *
+     * @return количество партий, записанных этим экземпляром.
+     */
+    public synchronized long getGamesCount() {
+        return gamesCount;
+    }
+
+    /**
+     * Сбросить записи и закрыть файл.
+     *
+     * @throws IOException если не удалось записать в файл.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            CHANNEL.close();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,126 @@
+package game.record;
+
+import game.GameField;
+import game.enums.GameOutcome;
+import game.enums.MoveResult;
+import game.interfaces.GameListener;
+import game.interfaces.Player;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Наблюдатель, который записывает партии движка в журнал. Ходы копятся в массиве,
+ * а после победного хода, ничьей или поражения из-за некорректных ходов партия целиком передаётся в GameRecordWriter,
+ * и наблюдатель готов записывать следующую партию тех же игроков.
+ */
+public class GameRecorder implements GameListener {
+
+    /**
+     * Журнал партий.
+     */
+    private final GameRecordWriter WRITER;
+
+    /**
+     * Экземпляр игрового поля.
+     */
+    private final GameField FIELD;
+
+    /**
+     * Игрок, который ходит первым.
+     */
+    private final Player FIRST;
+
+    /**
+     * Игрок, который ходит вторым.
+     */
+    private final Player SECOND;
+
+    /**
+     * Ходы текущей партии.
+     */
+    private final int[] moves;
+
+    /**
+     * Количество ходов текущей партии.
+     */
+    private int movesCount;
+
+    /**
+     * Конструктор.
+     *
+     * @param writer    журнал партий.
+     * @param field     экземпляр игрового поля.
+     * @param first     игрок, который ходит первым.
+     * @param second    игрок, который ходит вторым.
+     */
+    public GameRecorder(GameRecordWriter writer, GameField field, Player first, Player second) {
+        this.WRITER = writer;
+        this.FIELD = field;
+        this.FIRST = first;
+        this.SECOND = second;
+        this.moves = new int[field.getFieldSize() * field.getFieldSize()];
+    }
+
+    /**
+     * Вызывается перед тем, как игрок начнёт выбирать ход.
+     *
+     * @param player игрок, который ходит.
+     */
+    @Override
+    public void onTurn(Player player) {
+        // До хода записывать нечего.
+    }
+
+    /**
+     * Запомнить ход, а после последнего хода записать партию.
+     *
+     * @param player    игрок, сделавший ход.
+     * @param move      номер ячейки.
+     * @param result    результат хода.
+     * @throws UncheckedIOException если партию не удалось записать.
+     */
+    @Override
+    public void onMove(Player player, int move, MoveResult result) {
+        moves[movesCount++] = move;
+        if (result == MoveResult.WIN) {
+            finish(player == FIRST ? GameOutcome.FIRST_PLAYER_WIN : GameOutcome.SECOND_PLAYER_WIN);
+        } else if (result == MoveResult.DRAW) {
+            finish(GameOutcome.DRAW);
+        }
+    }
+
+    /**
+     * Записать партию, проигранную игроком из-за некорректных ходов, как победу соперника.
+     *
+     * @param player проигравший игрок.
+     * @throws UncheckedIOException если партию не удалось записать.
+     */
+    @Override
+    public void onForfeit(Player player) {
+        finish(player == FIRST ? GameOutcome.SECOND_PLAYER_WIN : GameOutcome.FIRST_PLAYER_WIN);
+    }
+
+    /**
+     * Записать прерванную партию (например, если игрок отключился) и начать новую.
+     */
+    public void abort() {
+        finish(GameOutcome.UNFINISHED);
+    }
+
+    /**
+     * Записать текущую партию и начать новую.
+     *
+     * @param outcome итог партии.
+     */
+    private void finish(GameOutcome outcome) {
+        try {
+            WRITER.write(FIELD.getFieldSize(), FIELD.getWinLength(), FIRST.getSymbol(), FIRST.getName(),
+                    SECOND.getName(), outcome, moves, movesCount);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            movesCount = 0;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,285 @@
+package game.record;
+
+import game.ai.Tablebase;
+import game.enums.GameOutcome;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Статистика по записанным партиям: итоги, средняя длина, результаты по дебютам
+ * и ошибки игроков относительно идеальной игры (для полей, для которых есть Tablebase).
+ * Объём памяти не зависит от количества партий: хранятся только счётчики по дебютам и по игрокам.
+ */
+public class ReplayAnalysis {
+
+    /**
+     * Количество полуходов, по которым определяется дебют.
+     */
+    public static final int OPENING_PLIES = 2;
+
+    /**
+     * Сколько самых частых дебютов выводить.
+     */
+    private static final int TOP_OPENINGS_COUNT = 10;
+
+    /**
+     * Счётчики игрока: количество проверенных ходов.
+     */
+    private static final int CHECKED_MOVES = 0;
+
+    /**
+     * Счётчики игрока: упущенные выигрыши (из выигранной позиции ход в невыигранную).
+     */
+    private static final int MISSED_WINS = 1;
+
+    /**
+     * Счётчики игрока: проигранные ничьи (из ничейной позиции ход в проигранную).
+     */
+    private static final int LOST_DRAWS = 2;
+
+    /**
+     * Счётчики игрока: начало ошибок по номеру полухода.
+     */
+    private static final int BLUNDERS_BY_PLY = 3;
+
+    /**
+     * Количество партий.
+     */
+    private long games;
+
+    /**
+     * Количество пропущенных партий (с ходом в занятую ячейку).
+     */
+    private long rejectedGames;
+
+    /**
+     * Общее количество ходов.
+     */
+    private long moves;
+
+    /**
+     * Количество партий с каждым итогом (индекс - порядковый номер GameOutcome).
+     */
+    private final long[] outcomes = new long[GameOutcome.values().length];
+
+    /**
+     * Итоги партий по дебютам (ключ - см. toOpeningKey).
+     */
+    private final Map<Long, long[]> openings = new HashMap<>();
+
+    /**
+     * Счётчики ошибок по именам игроков.
+     */
+    private final Map<String, long[]> players = new HashMap<>();
+
+    /**
+     * Ключ дебюта: размер поля, длина комбинации и ходы в координатах канонической позиции (ход + 1, 0 - нет хода).
+     *
+     * @param fieldSize         размер игрового поля.
+     * @param winLength         длина выигрышной комбинации.
+     * @param canonicalMoves    ходы дебюта в координатах канонической позиции.
+     * @param count             количество ходов.
+     * @return                  ключ.
+     */
+    static long toOpeningKey(int fieldSize, int winLength, int[] canonicalMoves, int count) {
+        long key = (long) fieldSize << 56 | (long) winLength << 48;
+        for (int i = 0; i < count; i++) {
+            key |= (long) (canonicalMoves[i] + 1) << (8 * i);
+        }
+        return key;
+    }
+
+    /**
+     * Учесть партию.
+     *
+     * @param outcome       итог партии.
+     * @param movesCount    количество ходов.
+     * @param openingKey    ключ дебюта.
+     */
+    void addGame(GameOutcome outcome, int movesCount, long openingKey) {
+        games++;
+        moves += movesCount;
+        outcomes[outcome.ordinal()]++;
+        openings.computeIfAbsent(openingKey, key -> new long[GameOutcome.values().length])[outcome.ordinal()]++;
+    }
+
+    /**
+     * Учесть пропущенную партию (с ходом в занятую ячейку).
+     */
+    void addRejectedGame() {
+        rejectedGames++;
+    }
+
+    /**
+     * Учесть ход игрока, проверенный по таблице результатов.
+     *
+     * @param player    имя игрока.
+     * @param ply       номер полухода (с нуля).
+     * @param before    результат позиции до хода с точки зрения игрока.
+     * @param after     результат позиции после хода с точки зрения соперника.
+     */
+    void addCheckedMove(String player, int ply, int before, int after) {
+        long[] counters = players.computeIfAbsent(player, key -> new long[BLUNDERS_BY_PLY + Tablebase.MAX_FIELD_SIZE
+                * Tablebase.MAX_FIELD_SIZE]);
+        counters[CHECKED_MOVES]++;
+        if (before == Tablebase.WIN && after != Tablebase.LOSS) {
+            counters[MISSED_WINS]++;
+            counters[BLUNDERS_BY_PLY + ply]++;
+        } else if (before == Tablebase.DRAW && after == Tablebase.WIN) {
+            counters[LOST_DRAWS]++;
+            counters[BLUNDERS_BY_PLY + ply]++;
+        }
+    }
+
+    /**
+     * Добавить статистику другой части (например, другого файла).
+     *
+     * @param other статистика другой части.
+     */
+    void merge(ReplayAnalysis other) {
+        games += other.games;
+        rejectedGames += other.rejectedGames;
+        moves += other.moves;
+        add(outcomes, other.outcomes);
+        other.openings.forEach((key, counters) ->
+                add(openings.computeIfAbsent(key, k -> new long[counters.length]), counters));
+        other.players.forEach((name, counters) ->
+                add(players.computeIfAbsent(name, k -> new long[counters.length]), counters));
+    }
+
+    /**
+     * Поэлементно прибавить один массив счётчиков к другому.
+     *
+     * @param target    массив, к которому прибавляется.
+     * @param source    прибавляемый массив.
+     */
+    private static void add(long[] target, long[] source) {
+        for (int i = 0; i < target.length; i++) {
+            target[i] += source[i];
+        }
+    }
+
+    /**
+     * Геттер.
+     *
+     * @return количество партий.
+     */
+    public long getGames() {
+        return games;
+    }
+
+    /**
+     * Геттер.
+     *
+     * @return количество пропущенных партий.
+     */
+    public long getRejectedGames() {
+        return rejectedGames;
+    }
+
+    /**
+     * Средняя длина партии.
+     *
+     * @return среднее количество ходов.
+     */
+    public double getAverageLength() {
+        return games == 0 ? 0 : (double) moves / games;
+    }
+
+    /**
+     * Количество партий с итогом.
+     *
+     * @param outcome   итог партии.
+     * @return          количество партий.
+     */
+    public long getOutcomeCount(GameOutcome outcome) {
+        return outcomes[outcome.ordinal()];
+    }
+
+    /**
+     * Доля побед первого игрока в партиях с дебютом.
+     *
+     * @param openingKey    ключ дебюта.
+     * @return              доля побед, либо 0, если таких партий нет.
+     */
+    public double getFirstPlayerWinRate(long openingKey) {
+        long[] counters = openings.get(openingKey);
+        if (counters == null) {
+            return 0;
+        }
+        return (double) counters[GameOutcome.FIRST_PLAYER_WIN.ordinal()] / sum(counters);
+    }
+
+    /**
+     * Запись дебюта для вывода: поле и ходы по порядку.
+     *
+     * @param key   ключ дебюта.
+     * @return      строковое представление.
+     */
+    private static String formatOpening(long key) {
+        int fieldSize = (int) (key >>> 56);
+        int winLength = (int) (key >>> 48 & 0xFF);
+        StringBuilder opening = new StringBuilder(fieldSize + "x" + fieldSize + "/" + winLength + ":");
+        for (int i = 0; i < OPENING_PLIES; i++) {
+            int move = (int) (key >>> (8 * i) & 0xFF) - 1;
+            if (move >= 0) {
+                opening.append(' ').append(move / fieldSize + 1).append(',').append(move % fieldSize + 1);
+            }
+        }
+        return opening.toString();
+    }
+
+    /**
+     * Строковое представление статистики.
+     *
+     * @return отчёт.
+     */
+    @Override
+    public String toString() {
+        StringBuilder report = new StringBuilder(String.format(
+                "Партий: %d, средняя длина: %.1f, первый выиграл: %d, второй выиграл: %d, ничьих: %d, прервано: %d, "
+                        + "пропущено: %d\n", games, getAverageLength(), getOutcomeCount(GameOutcome.FIRST_PLAYER_WIN),
+                getOutcomeCount(GameOutcome.SECOND_PLAYER_WIN), getOutcomeCount(GameOutcome.DRAW),
+                getOutcomeCount(GameOutcome.UNFINISHED), rejectedGames));
+
+        List<Map.Entry<Long, long[]>> sorted = new ArrayList<>(openings.entrySet());
+        sorted.sort((a, b) -> Long.compare(sum(b.getValue()), sum(a.getValue())));
+        report.append(String.format("Дебюты (первые %d полухода, с точностью до симметрии):\n", OPENING_PLIES));
+        for (int i = 0; i < Math.min(TOP_OPENINGS_COUNT, sorted.size()); i++) {
+            long key = sorted.get(i).getKey();
+            report.append(String.format("  %-20s партий: %10d, побед первого: %5.1f%%\n", formatOpening(key),
+                    sum(sorted.get(i).getValue()), getFirstPlayerWinRate(key) * 100));
+        }
+
+        for (Map.Entry<String, long[]> player : players.entrySet()) {
+            long[] counters = player.getValue();
+            report.append(String.format("%s: проверено ходов %d, упущено выигрышей %d, проиграно ничьих %d, "
+                            + "ошибки по полуходам:", player.getKey(), counters[CHECKED_MOVES],
+                    counters[MISSED_WINS], counters[LOST_DRAWS]));
+            for (int ply = 0; BLUNDERS_BY_PLY + ply < counters.length; ply++) {
+                if (counters[BLUNDERS_BY_PLY + ply] > 0) {
+                    report.append(' ').append(ply + 1).append('=').append(counters[BLUNDERS_BY_PLY + ply]);
+                }
+            }
+            report.append('\n');
+        }
+        return report.toString();
+    }
+
+    /**
+     * Сумма счётчиков.
+     *
+     * @param counters  счётчики.
+     * @return          сумма.
+     */
+    private static long sum(long[] counters) {
+        long total = 0;
+        for (long counter : counters) {
+            total += counter;
+        }
+        return total;
+    }
+}
\ No newline at end of file
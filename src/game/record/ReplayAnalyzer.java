@@ -0,0 +1,195 @@
+package game.record;
+
+import game.GameField;
+import game.ai.Tablebase;
+import game.enums.PlayerSymbol;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Анализ журналов партий: каждая партия заново разыгрывается на GameField, и по ней собирается ReplayAnalysis.
+ * Партии читаются из журнала по одной, так что память не зависит от размера журналов.
+ * Файлы обрабатываются параллельно (один файл - одна задача), статистика частей объединяется в конце.
+ * Если для поля есть таблица результатов (см. Tablebase), каждый ход сравнивается с идеальной игрой.
+ * Партии с ходом в уже занятую ячейку пропускаются и считаются отдельно.
+ */
+public class ReplayAnalyzer {
+
+    /**
+     * Количество потоков.
+     */
+    private final int THREADS;
+
+    /**
+     * Конструктор.
+     *
+     * @param threads количество потоков.
+     */
+    public ReplayAnalyzer(int threads) {
+        this.THREADS = threads;
+    }
+
+    /**
+     * Проанализировать журналы.
+     *
+     * @param files пути к журналам.
+     * @return      общая статистика.
+     * @throws IOException если журнал не удалось прочитать.
+     */
+    public ReplayAnalysis analyze(List<Path> files) throws IOException {
+        ReplayAnalysis result = new ReplayAnalysis();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(THREADS, files.size())));
+        try {
+            List<Future<ReplayAnalysis>> parts = new ArrayList<>();
+            for (Path file : files) {
+                parts.add(executor.submit(() -> analyzeFile(file)));
+            }
+            for (Future<ReplayAnalysis> part : parts) {
+                result.merge(part.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Анализ прерван", e);
+        } catch (Exception e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new RuntimeException(e);
+        } finally {
+            executor.shutdown();
+        }
+        return result;
+    }
+
+    /**
+     * Проанализировать один журнал в текущем потоке.
+     *
+     * @param file  путь к журналу.
+     * @return      статистика журнала.
+     * @throws IOException если журнал не удалось прочитать.
+     */
+    private ReplayAnalysis analyzeFile(Path file) throws IOException {
+        ReplayAnalysis analysis = new ReplayAnalysis();
+        Map<Integer, GameField> fields = new HashMap<>();
+        Map<Integer, Tablebase> tablebases = new HashMap<>();
+        int[] openingMoves = new int[ReplayAnalysis.OPENING_PLIES];
+
+        try (GameRecordReader reader = new GameRecordReader(file)) {
+            while (reader.next()) {
+                int key = reader.getFieldSize() * 256 + reader.getWinLength();
+                GameField field = fields.computeIfAbsent(key,
+                        k -> new GameField(reader.getFieldSize(), reader.getWinLength()));
+                if (!tablebases.containsKey(key)) {
+                    tablebases.put(key, findTablebase(reader.getFieldSize(), reader.getWinLength()));
+                }
+                analyzeGame(reader, field, tablebases.get(key), openingMoves, analysis);
+            }
+        }
+        return analysis;
+    }
+
+    /**
+     * Разыграть текущую партию журнала и учесть её в статистике.
+     *
+     * @param reader        журнал, стоящий на партии.
+     * @param field         поле с параметрами партии.
+     * @param tablebase     таблица результатов, либо null.
+     * @param openingMoves  массив для ходов дебюта.
+     * @param analysis      статистика.
+     */
+    private void analyzeGame(GameRecordReader reader, GameField field, Tablebase tablebase, int[] openingMoves,
+                             ReplayAnalysis analysis) {
+        field.initialize();
+        String[] names = tablebase == null ? null : new String[]{reader.getPlayerName(0), reader.getPlayerName(1)};
+        PlayerSymbol symbol = reader.getFirstSymbol();
+        int openingCount = Math.min(ReplayAnalysis.OPENING_PLIES, reader.getMovesCount());
+        long openingKey = 0;
+
+        for (int ply = 0; ply < reader.getMovesCount(); ply++) {
+            int move = reader.getMove(ply);
+            if (field.isCellOccupied(field.getRow(move), field.getColumn(move))) {
+                analysis.addRejectedGame();
+                return;
+            }
+            if (tablebase != null) {
+                int index = tablebase.getIndex(field, symbol);
+                int before = tablebase.probe(index);
+                int after = tablebase.probe(tablebase.getChildIndex(index, move));
+                if (before != Tablebase.UNKNOWN && after != Tablebase.UNKNOWN) {
+                    analysis.addCheckedMove(names[ply % 2], ply, before, after);
+                }
+            }
+            field.setTempSymbol(field.getRow(move), field.getColumn(move), symbol);
+            symbol = PlayerSymbol.getOpponentSymbol(symbol);
+
+            // Дебют приводится к канонической позиции, чтобы симметричные начала считались одним.
+            if (ply + 1 == openingCount) {
+                openingKey = getOpeningKey(reader, field, openingMoves, openingCount);
+            }
+        }
+        analysis.addGame(reader.getOutcome(), reader.getMovesCount(), openingKey);
+    }
+
+    /**
+     * Ключ дебюта текущей партии.
+     *
+     * @param reader        журнал, стоящий на партии.
+     * @param field         поле после ходов дебюта.
+     * @param openingMoves  массив для ходов дебюта.
+     * @param count         количество ходов дебюта.
+     * @return              ключ дебюта (см. ReplayAnalysis.toOpeningKey).
+     */
+    private long getOpeningKey(GameRecordReader reader, GameField field, int[] openingMoves, int count) {
+
+        // В ключе на ход отводится байт; на полях больше 15х15 дебюты не различаются.
+        if (field.getFieldSize() * field.getFieldSize() > 255) {
+            count = 0;
+        }
+        int transform = field.getCanonicalTransform();
+        for (int i = 0; i < count; i++) {
+            openingMoves[i] = field.getSymmetry().toCanonical(reader.getMove(i), transform);
+        }
+        return ReplayAnalysis.toOpeningKey(field.getFieldSize(), field.getWinLength(), openingMoves, count);
+    }
+
+    /**
+     * Таблица результатов для поля, если её файл есть.
+     *
+     * @param fieldSize размер игрового поля.
+     * @param winLength длина выигрышной комбинации.
+     * @return          таблица, либо null.
+     */
+    private static Tablebase findTablebase(int fieldSize, int winLength) {
+        if (fieldSize > Tablebase.MAX_FIELD_SIZE || !Files.exists(Tablebase.getDefaultPath(fieldSize, winLength))) {
+            return null;
+        }
+        return Tablebase.get(fieldSize, winLength);
+    }
+
+    /**
+     * Точка старта анализа.
+     * Запуск: java game.record.ReplayAnalyzer журнал [журнал...]
+     */
+    public static void main(String[] args) throws IOException {
+        List<Path> files = new ArrayList<>();
+        for (String arg : args) {
+            files.add(Paths.get(arg));
+        }
+
+        long start = System.nanoTime();
+        ReplayAnalysis analysis = new ReplayAnalyzer(Runtime.getRuntime().availableProcessors()).analyze(files);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.print(analysis);
+        System.out.printf("Время: %.2f с, партий/с: %.0f\n", seconds, analysis.getGames() / seconds);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,236 @@
+package game.server;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+
+/**
+ * Подключение клиента к игровому серверу.
+ * Используется только из потока селектора. Буфер чтения маленький и создаётся один раз,
+ * очередь записи создаётся только тогда, когда сокет не принял ответ целиком,
+ * поэтому простаивающее подключение занимает немного памяти.
+ */
+class Connection {
+
+    /**
+     * Максимальная длина строки протокола.
+     */
+    static final int MAX_LINE_LENGTH = 64;
+
+    /**
+     * Сервер, которому принадлежит подключение.
+     */
+    private final GameServer SERVER;
+
+    /**
+     * Канал клиента.
+     */
+    private final SocketChannel CHANNEL;
+
+    /**
+     * Ключ канала в селекторе.
+     */
+    private final SelectionKey KEY;
+
+    /**
+     * Буфер для чтения строк.
+     */
+    private final ByteBuffer READ_BUFFER = ByteBuffer.allocate(MAX_LINE_LENGTH);
+
+    /**
+     * Данные, которые не удалось отправить сразу, либо null.
+     */
+    private ArrayDeque<ByteBuffer> writeQueue;
+
+    /**
+     * Текущая игровая сессия, либо null.
+     */
+    private GameSession session;
+
+    /**
+     * Номер места в сессии (0 - ходит первым, 1 - вторым).
+     */
+    private int seat;
+
+    /**
+     * Отбрасывается ли остаток слишком длинной строки (до ближайшего перевода строки).
+     */
+    private boolean isDiscarding;
+
+    /**
+     * Конструктор.
+     *
+     * @param server    сервер, которому принадлежит подключение.
+     * @param channel   канал клиента.
+     * @param key       ключ канала в селекторе.
+     */
+    Connection(GameServer server, SocketChannel channel, SelectionKey key) {
+        this.SERVER = server;
+        this.CHANNEL = channel;
+        this.KEY = key;
+    }
+
+    /**
+     * Прочитать доступные данные и извлечь из них строку.
+     * Вызывается повторно, пока возвращает строки.
+     *
+     * @param readChannel   true, если нужно сначала прочитать данные из канала.
+     * @return              очередная строка без перевода строки, либо null, если полной строки пока нет.
+     * @throws IOException  если клиент отключился.
+     */
+    String readLine(boolean readChannel) throws IOException {
+        if (readChannel && CHANNEL.read(READ_BUFFER) < 0) {
+            throw new IOException("Клиент отключился");
+        }
+
+        // Пропускаем остаток слишком длинной строки, чтобы не разбирать его как отдельную команду.
+        if (isDiscarding) {
+            int end = indexOfLineEnd();
+            if (end < 0) {
+                READ_BUFFER.clear();
+                return null;
+            }
+            skip(end + 1);
+            isDiscarding = false;
+        }
+
+        // Ищем конец строки среди прочитанных байтов.
+        int end = indexOfLineEnd();
+        if (end >= 0) {
+            int length = end > 0 && READ_BUFFER.get(end - 1) == '\r' ? end - 1 : end;
+            String line = new String(READ_BUFFER.array(), 0, length, StandardCharsets.US_ASCII);
+            skip(end + 1);
+            return line;
+        }
+
+        // Строка длиннее допустимой: отбрасываем её вместе с остатком, который ещё не пришёл.
+        if (!READ_BUFFER.hasRemaining()) {
+            READ_BUFFER.clear();
+            isDiscarding = true;
+            send("ERROR line too long");
+        }
+        return null;
+    }
+
+    /**
+     * Найти перевод строки среди прочитанных байтов.
+     *
+     * @return позиция перевода строки в буфере, либо -1, если его нет.
+     */
+    private int indexOfLineEnd() {
+        for (int i = 0; i < READ_BUFFER.position(); i++) {
+            if (READ_BUFFER.get(i) == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Убрать из начала буфера прочитанные байты, сдвинув оставшиеся в начало.
+     *
+     * @param count количество байтов.
+     */
+    private void skip(int count) {
+        READ_BUFFER.flip();
+        READ_BUFFER.position(count);
+        READ_BUFFER.compact();
+    }
+
+    /**
+     * Отправить строку клиенту. Если сокет не принял её целиком, остаток отправится,
+     * когда канал будет готов к записи. Если клиент уже отключился, подключение закрывается.
+     *
+     * @param line строка без перевода строки.
+     */
+    void send(String line) {
+        if (!isOpen()) {
+            return;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap((line + "\n").getBytes(StandardCharsets.US_ASCII));
+        try {
+            if (writeQueue == null) {
+                CHANNEL.write(buffer);
+                if (!buffer.hasRemaining()) {
+                    return;
+                }
+                writeQueue = new ArrayDeque<>();
+                KEY.interestOps(KEY.interestOps() | SelectionKey.OP_WRITE);
+            }
+            writeQueue.add(buffer);
+        } catch (IOException e) {
+            SERVER.disconnect(this);
+        }
+    }
+
+    /**
+     * Дописать в канал данные из очереди записи.
+     *
+     * @throws IOException если клиент отключился.
+     */
+    void flush() throws IOException {
+        while (writeQueue != null && !writeQueue.isEmpty()) {
+            ByteBuffer buffer = writeQueue.peek();
+            CHANNEL.write(buffer);
+            if (buffer.hasRemaining()) {
+                return;
+            }
+            writeQueue.poll();
+        }
+        writeQueue = null;
+        KEY.interestOps(SelectionKey.OP_READ);
+    }
+
+    /**
+     * Закрыть подключение.
+     */
+    void close() {
+        KEY.cancel();
+        try {
+            CHANNEL.close();
+        } catch (IOException e) {
+            // Канал уже закрыт, игнорируем.
+        }
+    }
+
+    /**
+     * Проверка, открыто ли подключение.
+     *
+     * @return true, если канал открыт.
+     */
+    boolean isOpen() {
+        return CHANNEL.isOpen();
+    }
+
+    /**
+     * Геттер.
+     *
+     * @return текущая игровая сессия, либо null.
+     */
+    GameSession getSession() {
+        return session;
+    }
+
+    /**
+     * Геттер.
+     *
+     * @return номер места в сессии.
+     */
+    int getSeat() {
+        return seat;
+    }
+
+    /**
+     * Сеттер.
+     *
+     * @param session   игровая сессия, либо null.
+     * @param seat      номер места в сессии.
+     */
+    void setSession(GameSession session, int seat) {
+        this.session = session;
+        this.seat = seat;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,51 @@
+package game.server;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Консольный клиент игрового сервера: пересылает введённые строки серверу
+ * и печатает его ответы. Подходит для ручной проверки сервера.
+ * Запуск: java game.server.GameClient [хост [порт]], затем, например, "PLAY 3 3 computer" и ходы "2 2".
+ */
+public class GameClient {
+
+    /**
+     * Точка старта клиента.
+     */
+    public static void main(String[] args) throws IOException {
+        String host = args.length > 0 ? args[0] : "localhost";
+        int port = args.length > 1 ? Integer.parseInt(args[1]) : GameServer.DEFAULT_PORT;
+
+        try (Socket socket = new Socket(host, port)) {
+            BufferedReader input = new BufferedReader(
+                    new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+            PrintWriter output = new PrintWriter(socket.getOutputStream(), true, StandardCharsets.US_ASCII);
+
+            // Ответы сервера печатаем в отдельном потоке, чтобы не ждать ввода с консоли.
+            Thread reader = new Thread(() -> {
+                try {
+                    String line;
+                    while ((line = input.readLine()) != null) {
+                        System.out.println(line);
+                    }
+                } catch (IOException e) {
+                    // Соединение закрыто, завершаем работу.
+                }
+                System.exit(0);
+            });
+            reader.setDaemon(true);
+            reader.start();
+
+            BufferedReader console = new BufferedReader(new InputStreamReader(System.in));
+            String line;
+            while ((line = console.readLine()) != null) {
+                output.println(line.trim());
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,377 @@
+package game.server;
+
+import game.GameField;
+import game.TicTacToe;
+import game.ai.MonteCarloTreeSearch;
+import game.enums.PlayerSymbol;
+import game.interfaces.Player;
+import game.interfaces.PlayerFactory;
+import game.metrics.Metrics;
+import game.metrics.MetricsReporter;
+import game.players.ComputerPlayer;
+import game.players.MonteCarloPlayer;
+import game.players.RandomPlayer;
+import game.players.RemotePlayer;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Сетевой игровой сервер с текстовым построчным протоколом поверх TCP.
+ * Все подключения обслуживает один поток с селектором NIO: подключение без партии - это только канал
+ * и буфер на 64 байта, партия - поле и два игрока, поэтому тысячи простаивающих сессий не требуют потоков.
+ * Ходы компьютера вычисляются в отдельном пуле и возвращаются в поток селектора через очередь.
+ *
+ * Протокол (строки в ASCII, разделитель - перевод строки).
+ * Клиент: "PLAY размер длина_комбинации соперник" (соперник: human, random, computer или montecarlo),
+ * "строка столбец" - ход, "QUIT" - отключиться.
+ * Сервер: "WELCOME", "WAITING" (ждём второго человека), "START размер длина_комбинации символ", "TURN",
+ * "MOVE символ строка столбец", "INVALID", "WIN символ", "DRAW", "ABORTED", "ERROR текст".
+ */
+public class GameServer {
+
+    /**
+     * Порт по умолчанию.
+     */
+    public static final int DEFAULT_PORT = 7777;
+
+    /**
+     * Ограничение на количество итераций за ход для соперника montecarlo.
+     */
+    private static final long MONTE_CARLO_ITERATIONS = 20_000;
+
+    /**
+     * Ограничение по времени на ход для соперника montecarlo, в миллисекундах.
+     */
+    private static final long MONTE_CARLO_MILLIS = 500;
+
+    /**
+     * Серверный канал.
+     */
+    private final ServerSocketChannel SERVER_CHANNEL;
+
+    /**
+     * Селектор, обслуживающий все подключения.
+     */
+    private final Selector SELECTOR;
+
+    /**
+     * Пул для вычисления ходов компьютера.
+     */
+    private final ExecutorService COMPUTER_POOL;
+
+    /**
+     * Задачи, которые нужно выполнить в потоке селектора (готовые ходы компьютера).
+     */
+    private final Queue<Runnable> PENDING_TASKS = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Подключения, ожидающие соперника-человека, по параметрам поля.
+     */
+    private final Map<String, Connection> WAITING = new HashMap<>();
+
+    /**
+     * Фабрики соперников-компьютеров по имени.
+     */
+    private final Map<String, PlayerFactory> COMPUTER_PLAYERS = new HashMap<>();
+
+    /**
+     * Флаг работы сервера.
+     */
+    private volatile boolean isRunning = true;
+
+    /**
+     * Количество открытых подключений.
+     */
+    private volatile int connectionsCount;
+
+    /**
+     * Количество идущих партий.
+     */
+    private volatile int sessionsCount;
+
+    /**
+     * Конструктор.
+     *
+     * @param port              порт (0 - любой свободный).
+     * @param computerThreads   количество потоков для ходов компьютера.
+     * @throws IOException      если не удалось открыть порт.
+     */
+    public GameServer(int port, int computerThreads) throws IOException {
+        this.SELECTOR = Selector.open();
+        this.SERVER_CHANNEL = ServerSocketChannel.open();
+        SERVER_CHANNEL.bind(new InetSocketAddress(port), 1024);
+        SERVER_CHANNEL.configureBlocking(false);
+        SERVER_CHANNEL.register(SELECTOR, SelectionKey.OP_ACCEPT);
+        this.COMPUTER_POOL = Executors.newFixedThreadPool(computerThreads, runnable -> {
+            Thread thread = new Thread(runnable, "computer-player");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        COMPUTER_PLAYERS.put("random", RandomPlayer::new);
+        COMPUTER_PLAYERS.put("computer", (symbol, field) -> new ComputerPlayer(symbol, field, 0));
+        COMPUTER_PLAYERS.put("montecarlo", (symbol, field) -> new MonteCarloPlayer(symbol, field,
+                MonteCarloTreeSearch.DEFAULT_EXPLORATION, MONTE_CARLO_ITERATIONS, MONTE_CARLO_MILLIS));
+    }
+
+    /**
+     * Цикл обработки событий. Работает в вызывающем потоке до вызова stop.
+     *
+     * @throws IOException при ошибке селектора.
+     */
+    public void run() throws IOException {
+        while (isRunning) {
+            SELECTOR.select();
+
+            Runnable task;
+            while ((task = PENDING_TASKS.poll()) != null) {
+                task.run();
+            }
+
+            Iterator<SelectionKey> keys = SELECTOR.selectedKeys().iterator();
+            while (keys.hasNext()) {
+                SelectionKey key = keys.next();
+                keys.remove();
+                if (!key.isValid()) {
+                    continue;
+                }
+                if (key.isAcceptable()) {
+                    try {
+                        accept();
+                    } catch (IOException e) {
+                        // Например, исчерпан лимит открытых файлов: оставшиеся подключения примем позже.
+                        System.err.println("Не удалось принять подключение: " + e.getMessage());
+                    }
+                    continue;
+                }
+
+                Connection connection = (Connection) key.attachment();
+                try {
+                    if (key.isWritable()) {
+                        connection.flush();
+                    }
+                    if (key.isValid() && key.isReadable()) {
+                        String line = connection.readLine(true);
+                        while (line != null && connection.isOpen()) {
+                            handleLine(connection, line);
+                            line = connection.readLine(false);
+                        }
+                    }
+                } catch (IOException e) {
+                    disconnect(connection);
+                }
+            }
+        }
+
+        for (SelectionKey key : SELECTOR.keys()) {
+            if (key.attachment() instanceof Connection) {
+                ((Connection) key.attachment()).close();
+            }
+        }
+        SERVER_CHANNEL.close();
+        SELECTOR.close();
+        COMPUTER_POOL.shutdownNow();
+    }
+
+    /**
+     * Остановить сервер. Можно вызывать из любого потока.
+     */
+    public void stop() {
+        isRunning = false;
+        SELECTOR.wakeup();
+    }
+
+    /**
+     * Принять новые подключения.
+     *
+     * @throws IOException при ошибке серверного канала.
+     */
+    private void accept() throws IOException {
+        SocketChannel channel;
+        while ((channel = SERVER_CHANNEL.accept()) != null) {
+            channel.configureBlocking(false);
+            channel.socket().setTcpNoDelay(true);
+            SelectionKey key = channel.register(SELECTOR, SelectionKey.OP_READ);
+            Connection connection = new Connection(this, channel, key);
+            key.attach(connection);
+            connectionsCount++;
+            connection.send("WELCOME");
+        }
+    }
+
+    /**
+     * Обработать строку от клиента.
+     *
+     * @param connection    подключение клиента.
+     * @param line          строка.
+     */
+    private void handleLine(Connection connection, String line) {
+        if (line.equals("QUIT")) {
+            disconnect(connection);
+        } else if (line.startsWith("PLAY ")) {
+            handlePlay(connection, line);
+        } else if (connection.getSession() != null) {
+            connection.getSession().onLine(connection, line);
+        } else {
+            connection.send("ERROR unknown command");
+        }
+    }
+
+    /**
+     * Обработать запрос новой партии.
+     *
+     * @param connection    подключение клиента.
+     * @param line          строка "PLAY размер длина_комбинации соперник".
+     */
+    private void handlePlay(Connection connection, String line) {
+        if (connection.getSession() != null || WAITING.containsValue(connection)) {
+            connection.send("ERROR game in progress");
+            return;
+        }
+
+        String[] values = line.split(" ");
+        int fieldSize = 0, winLength = 0;
+        if (values.length == 4) {
+            try {
+                fieldSize = Integer.parseInt(values[1]);
+                winLength = Integer.parseInt(values[2]);
+            } catch (NumberFormatException e) {
+                // Некорректные числа отсекаются проверкой ниже.
+            }
+        }
+        if (fieldSize < TicTacToe.MIN_FIELD_SIZE || fieldSize > TicTacToe.MAX_FIELD_SIZE
+                || winLength < TicTacToe.MIN_FIELD_SIZE || winLength > fieldSize) {
+            connection.send("ERROR usage: PLAY size win_length opponent");
+            return;
+        }
+
+        String opponent = values[3];
+        GameField field = new GameField(fieldSize, winLength);
+        if (opponent.equals("human")) {
+
+            // Ждём второго человека с такими же параметрами поля, либо начинаем партию с уже ждущим.
+            Connection waiting = WAITING.remove(fieldSize + " " + winLength);
+            if (waiting == null) {
+                WAITING.put(fieldSize + " " + winLength, connection);
+                connection.send("WAITING");
+                return;
+            }
+            startSession(field, new Player[]{new RemotePlayer("Player 1", PlayerSymbol.X),
+                    new RemotePlayer("Player 2", PlayerSymbol.O)}, new Connection[]{waiting, connection});
+        } else if (COMPUTER_PLAYERS.containsKey(opponent)) {
+            Player computer = COMPUTER_PLAYERS.get(opponent).create(PlayerSymbol.O, field);
+            startSession(field, new Player[]{new RemotePlayer("Player", PlayerSymbol.X), computer},
+                    new Connection[]{connection, null});
+        } else {
+            connection.send("ERROR unknown opponent");
+        }
+    }
+
+    /**
+     * Начать партию.
+     *
+     * @param field         игровое поле.
+     * @param players       игроки в порядке хода.
+     * @param connections   подключения игроков (null для компьютера).
+     */
+    private void startSession(GameField field, Player[] players, Connection[] connections) {
+        sessionsCount++;
+        new GameSession(this, field, players, connections).start();
+    }
+
+    /**
+     * Вычислить ход компьютера в пуле и передать его сессии в потоке селектора.
+     *
+     * @param session   игровая сессия.
+     * @param player    игрок-компьютер.
+     */
+    void submitComputerMove(GameSession session, Player player) {
+        COMPUTER_POOL.execute(() -> {
+            long start = Metrics.ENABLED ? System.nanoTime() : 0;
+            int move = player.makeMove();
+            if (Metrics.ENABLED) {
+                Metrics.MOVE_LATENCY.record(System.nanoTime() - start);
+            }
+            PENDING_TASKS.add(() -> session.onComputerMove(move));
+            SELECTOR.wakeup();
+        });
+    }
+
+    /**
+     * Учесть окончание партии.
+     */
+    void onSessionFinished() {
+        sessionsCount--;
+    }
+
+    /**
+     * Закрыть подключение и прервать его партию. Повторный вызов ничего не делает.
+     *
+     * @param connection подключение клиента.
+     */
+    void disconnect(Connection connection) {
+        if (!connection.isOpen()) {
+            return;
+        }
+        connection.close();
+        connectionsCount--;
+        WAITING.values().remove(connection);
+        if (connection.getSession() != null) {
+            connection.getSession().onDisconnect(connection);
+        }
+    }
+
+    /**
+     * Геттер.
+     *
+     * @return порт, на котором работает сервер.
+     * @throws IOException при ошибке серверного канала.
+     */
+    public int getPort() throws IOException {
+        return ((InetSocketAddress) SERVER_CHANNEL.getLocalAddress()).getPort();
+    }
+
+    /**
+     * Геттер.
+     *
+     * @return количество открытых подключений.
+     */
+    public int getConnectionsCount() {
+        return connectionsCount;
+    }
+
+    /**
+     * Геттер.
+     *
+     * @return количество идущих партий.
+     */
+    public int getSessionsCount() {
+        return sessionsCount;
+    }
+
+    /**
+     * Точка старта сервера.
+     * Запуск: java game.server.GameServer [порт [потоков_для_компьютера]]
+     */
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+
+        MetricsReporter.startIfEnabled();
+        GameServer server = new GameServer(port, threads);
+        System.out.printf("Сервер запущен на порту %d.\n", server.getPort());
+        server.run();
+    }
+}
\ No newline at end of file
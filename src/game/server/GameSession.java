@@ -0,0 +1,193 @@
+package game.server;
+
+import game.GameField;
+import game.enums.MoveResult;
+import game.enums.SessionState;
+import game.interfaces.Player;
+import game.metrics.Metrics;
+import game.players.RemotePlayer;
+
+/**
+ * Партия на игровом сервере - конечный автомат, который переключается событиями:
+ * приходом строки от клиента или готовым ходом компьютера.
+ * Потоки на ожидание хода не тратятся: пока ход не пришёл, сессия - это только поле и два игрока.
+ * Все методы вызываются из потока селектора, кроме makeMove компьютерного игрока,
+ * который выполняется в пуле сервера, пока сессия в состоянии COMPUTING и поле никто не меняет.
+ */
+class GameSession {
+
+    /**
+     * Сервер, которому принадлежит сессия.
+     */
+    private final GameServer SERVER;
+
+    /**
+     * Игровое поле сессии.
+     */
+    private final GameField FIELD;
+
+    /**
+     * Игроки в порядке хода.
+     */
+    private final Player[] PLAYERS;
+
+    /**
+     * Подключения игроков в порядке хода (null для компьютера).
+     */
+    private final Connection[] CONNECTIONS;
+
+    /**
+     * Номер текущего хода.
+     */
+    private int turn;
+
+    /**
+     * Состояние сессии.
+     */
+    private SessionState state;
+
+    /**
+     * Конструктор.
+     *
+     * @param server        сервер, которому принадлежит сессия.
+     * @param field         игровое поле сессии.
+     * @param players       игроки в порядке хода.
+     * @param connections   подключения игроков в порядке хода (null для компьютера).
+     */
+    GameSession(GameServer server, GameField field, Player[] players, Connection[] connections) {
+        this.SERVER = server;
+        this.FIELD = field;
+        this.PLAYERS = players;
+        this.CONNECTIONS = connections;
+    }
+
+    /**
+     * Начать партию: сообщить игрокам параметры и передать ход первому.
+     */
+    void start() {
+        for (int seat = 0; seat < CONNECTIONS.length; seat++) {
+            if (CONNECTIONS[seat] != null) {
+                CONNECTIONS[seat].setSession(this, seat);
+                CONNECTIONS[seat].send(String.format("START %d %d %s", FIELD.getFieldSize(), FIELD.getWinLength(),
+                        PLAYERS[seat].getSymbol()));
+            }
+        }
+        nextTurn();
+    }
+
+    /**
+     * Передать ход текущему игроку.
+     */
+    private void nextTurn() {
+        int seat = turn % PLAYERS.length;
+        if (CONNECTIONS[seat] != null) {
+            state = SessionState.AWAITING_MOVE;
+            CONNECTIONS[seat].send("TURN");
+        } else {
+            state = SessionState.COMPUTING;
+            SERVER.submitComputerMove(this, PLAYERS[seat]);
+        }
+    }
+
+    /**
+     * Обработать строку с ходом от клиента.
+     *
+     * @param connection    подключение клиента.
+     * @param line          координаты в виде строки с разделителем-пробелом, например - "2 3".
+     */
+    void onLine(Connection connection, String line) {
+        int seat = turn % PLAYERS.length;
+        if (state != SessionState.AWAITING_MOVE || CONNECTIONS[seat] != connection) {
+            connection.send("INVALID not your turn");
+            return;
+        }
+
+        RemotePlayer player = (RemotePlayer) PLAYERS[seat];
+        player.receive(FIELD.parseMove(line));
+        if (!applyMove(player.makeMove())) {
+            connection.send("INVALID");
+        }
+    }
+
+    /**
+     * Принять ход компьютера, вычисленный в пуле сервера.
+     *
+     * @param move номер ячейки.
+     */
+    void onComputerMove(int move) {
+        if (state == SessionState.COMPUTING && !applyMove(move)) {
+            finish("ERROR computer made invalid move");
+        }
+    }
+
+    /**
+     * Обработать отключение клиента: партия прерывается.
+     *
+     * @param connection подключение клиента.
+     */
+    void onDisconnect(Connection connection) {
+        if (state != SessionState.FINISHED) {
+            finish("ABORTED");
+        }
+    }
+
+    /**
+     * Сделать ход текущего игрока и сообщить о нём участникам.
+     *
+     * @param move  номер ячейки.
+     * @return      true, если ход корректен.
+     */
+    private boolean applyMove(int move) {
+        Player player = PLAYERS[turn % PLAYERS.length];
+        MoveResult result = FIELD.placeAndCheck(player.getSymbol(), move);
+        if (result == MoveResult.INVALID) {
+            if (Metrics.ENABLED) {
+                Metrics.INVALID_MOVES.increment();
+            }
+            return false;
+        }
+        if (Metrics.ENABLED && result != MoveResult.CONTINUE) {
+            Metrics.GAMES_FINISHED.increment();
+        }
+
+        broadcast(String.format("MOVE %s %s", player.getSymbol(), FIELD.formatMove(move)));
+        if (result == MoveResult.WIN) {
+            finish("WIN " + player.getSymbol());
+        } else if (result == MoveResult.DRAW) {
+            finish("DRAW");
+        } else {
+            turn++;
+            nextTurn();
+        }
+        return true;
+    }
+
+    /**
+     * Закончить партию и освободить подключения для следующей.
+     *
+     * @param message итоговое сообщение участникам.
+     */
+    private void finish(String message) {
+        state = SessionState.FINISHED;
+        for (Connection connection : CONNECTIONS) {
+            if (connection != null) {
+                connection.setSession(null, 0);
+            }
+        }
+        broadcast(message);
+        SERVER.onSessionFinished();
+    }
+
+    /**
+     * Отправить строку всем подключённым участникам.
+     *
+     * @param line строка.
+     */
+    private void broadcast(String line) {
+        for (Connection connection : CONNECTIONS) {
+            if (connection != null) {
+                connection.send(line);
+            }
+        }
+    }
+}
\ No newline at end of file